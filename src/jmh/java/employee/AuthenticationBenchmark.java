@@ -0,0 +1,93 @@
+package employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of authenticating the admin user on each request, with every attempt checked against the BCrypt
+ * hash and with {@link CachingAuthenticationProvider} remembering the user in between.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark
+{
+    /**
+     * The provider checking every attempt against the password hash, as configured by default.
+     */
+    private DaoAuthenticationProvider daoProvider;
+
+    /**
+     * The provider remembering recently authenticated users in front of {@link #daoProvider}.
+     */
+    private CachingAuthenticationProvider cachingProvider;
+
+    /**
+     * Builds both providers over the admin user, and warms the cache with the admin's credentials.
+     */
+    @Setup
+    public void setUp()
+    {
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername("admin")
+                .password(encoder.encode("admin"))
+                .authorities("ADMIN")
+                .build());
+
+        daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setPasswordEncoder(encoder);
+        daoProvider.setUserDetailsService(users);
+
+        cachingProvider = new CachingAuthenticationProvider(daoProvider, users, 1000, Duration.ofHours(1),
+                new SimpleMeterRegistry());
+        cachingProvider.authenticate(credentials());
+    }
+
+    /**
+     * @return The admin user, authenticated against the password hash.
+     */
+    @Benchmark
+    public Authentication uncached()
+    {
+        return daoProvider.authenticate(credentials());
+    }
+
+    /**
+     * @return The admin user, authenticated from the cache.
+     */
+    @Benchmark
+    public Authentication cached()
+    {
+        return cachingProvider.authenticate(credentials());
+    }
+
+    /**
+     * @return The credentials sent by the admin user with each request.
+     */
+    private static Authentication credentials()
+    {
+        return UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin");
+    }
+}
@@ -0,0 +1,69 @@
+package employee;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class builds the employees and request context shared by the benchmarks.
+ */
+final class BenchmarkFixtures
+{
+    /**
+     * Private constructor, as this class only holds static helpers.
+     */
+    private BenchmarkFixtures()
+    {
+    }
+
+    /**
+     * Builds a single active employee with the given ID.
+     *
+     * @param id The ID of the employee.
+     * @return The employee.
+     */
+    static Employee employee(long id)
+    {
+        Employee employee = new Employee("First" + id, (char) ('A' + id % 26), "Last" + id,
+                LocalDate.of(1960, 1, 1).plusDays(id % 15000), LocalDate.of(2000, 1, 1).plusDays(id % 8000));
+        employee.setId(id);
+
+        return employee;
+    }
+
+    /**
+     * Builds a list of active employees with consecutive IDs starting at 1.
+     *
+     * @param count The number of employees to build.
+     * @return The employees.
+     */
+    static List<Employee> employees(int count)
+    {
+        List<Employee> employees = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++)
+        {
+            employees.add(employee(id));
+        }
+
+        return employees;
+    }
+
+    /**
+     * Binds a request for the employee collection to the calling thread, as links are built relative to the request
+     * being served.
+     *
+     * @return The bound request.
+     */
+    static MockHttpServletRequest bindRequest()
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Employee#equals(Object)} and {@link Employee#hashCode()}, which box their fields on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeEqualityBenchmark
+{
+    /**
+     * An employee.
+     */
+    private Employee employee;
+
+    /**
+     * A distinct employee equal to {@link #employee}.
+     */
+    private Employee sameEmployee;
+
+    /**
+     * An employee differing from {@link #employee} only in their last name.
+     */
+    private Employee otherEmployee;
+
+    /**
+     * A set of employees to look {@link #employee} up in.
+     */
+    private Set<Employee> employees;
+
+    /**
+     * Builds the employees to compare.
+     */
+    @Setup
+    public void setUp()
+    {
+        employee = BenchmarkFixtures.employee(42);
+        sameEmployee = BenchmarkFixtures.employee(42);
+        otherEmployee = BenchmarkFixtures.employee(42);
+        otherEmployee.setLastName("Other");
+        employees = new HashSet<>(BenchmarkFixtures.employees(10_000));
+    }
+
+    /**
+     * @return The hash code of an employee.
+     */
+    @Benchmark
+    public int hashCodeOf()
+    {
+        return employee.hashCode();
+    }
+
+    /**
+     * @return Whether two distinct but equal employees are equal.
+     */
+    @Benchmark
+    public boolean equalsSame()
+    {
+        return employee.equals(sameEmployee);
+    }
+
+    /**
+     * @return Whether two employees differing in the last field compared are equal.
+     */
+    @Benchmark
+    public boolean equalsOther()
+    {
+        return employee.equals(otherEmployee);
+    }
+
+    /**
+     * @return Whether an equal employee is found in a set of employees.
+     */
+    @Benchmark
+    public boolean setContains()
+    {
+        return employees.contains(sameEmployee);
+    }
+}
@@ -0,0 +1,102 @@
+package employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of wrapping employees into entity models, building links either through a
+ * {@code linkTo(methodOn(...))} proxy per link or by concatenation onto a collection URI resolved once per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeModelAssemblerBenchmark
+{
+    /**
+     * Whether links are built by concatenation rather than through {@code linkTo(methodOn(...))}.
+     */
+    @Param({"false", "true"})
+    public boolean precomputed;
+
+    /**
+     * The assembler under measurement.
+     */
+    private EmployeeModelAssembler assembler;
+
+    /**
+     * A single employee to wrap.
+     */
+    private Employee employee;
+
+    /**
+     * A full default-sized page of employees to wrap.
+     */
+    private EmployeePage<Employee> page;
+
+    /**
+     * Builds the assembler and employees.
+     */
+    @Setup
+    public void setUp()
+    {
+        assembler = new EmployeeModelAssembler(precomputed, "");
+        employee = BenchmarkFixtures.employee(42);
+        page = EmployeePage.forward(BenchmarkFixtures.employees(EmployeePage.DEFAULT_LIMIT), null, false);
+    }
+
+    /**
+     * Binds a fresh request to the benchmark thread before every call, as each call stands for a request of its own.
+     */
+    @Setup(Level.Invocation)
+    public void bindRequest()
+    {
+        BenchmarkFixtures.bindRequest();
+    }
+
+    /**
+     * Unbinds the request from the benchmark thread.
+     */
+    @TearDown(Level.Invocation)
+    public void unbindRequest()
+    {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * @return A single employee wrapped with their self and collection links, as served by
+     * {@code GET /employees/{id}}.
+     */
+    @Benchmark
+    public EntityModel<Employee> toModel()
+    {
+        return assembler.toModel(employee);
+    }
+
+    /**
+     * @return A default-sized page of employees wrapped as a collection model, as served by {@code GET /employees}.
+     */
+    @Benchmark
+    public CollectionModel<EntityModel<Employee>> toCollectionModel()
+    {
+        return assembler.toCollectionModel(page, null, null);
+    }
+}
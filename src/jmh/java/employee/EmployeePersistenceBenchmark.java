@@ -0,0 +1,176 @@
+package employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures reading the employee listing end to end against embedded H2 at growing table sizes: the original load
+ * everything and filter in memory approach, the keyset page query, and the whole {@code GET /employees} handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class EmployeePersistenceBenchmark
+{
+    /**
+     * The number of employees in the table.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * One in this many seeded employees is inactive.
+     */
+    private static final int INACTIVE_EVERY = 10;
+
+    /**
+     * The number of rows inserted per JDBC batch while seeding.
+     */
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    /**
+     * The running application.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * The repository under measurement.
+     */
+    private EmployeeRepository repository;
+
+    /**
+     * The controller under measurement.
+     */
+    private EmployeeController controller;
+
+    /**
+     * Starts the application on its own in-memory DB and seeds it with the configured number of employees.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        context = new SpringApplicationBuilder(EmployeeApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--employee.cache.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + rows + ";DB_CLOSE_DELAY=-1");
+        repository = context.getBean(EmployeeRepository.class);
+        controller = context.getBean(EmployeeController.class);
+
+        seed(context.getBean(JdbcTemplate.class), rows);
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    /**
+     * @return Every active employee, loaded as every employee and filtered in memory, as the listing originally did.
+     */
+    @Benchmark
+    public List<Employee> findAllThenFilter()
+    {
+        return repository.findAll().stream()
+                .filter(employee -> !employee.getStatus().equals(Status.INACTIVE))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The first default-sized page of active employees, filtered and limited in SQL.
+     */
+    @Benchmark
+    public List<Employee> keysetFirstPage()
+    {
+        return repository.findByStatusOrderByIdAsc(Status.ACTIVE, PageRequest.of(0, EmployeePage.DEFAULT_LIMIT + 1));
+    }
+
+    /**
+     * @return The first page of the employee listing, as served by {@code GET /employees}.
+     */
+    @Benchmark
+    public ResponseEntity<RepresentationModel<?>> controllerAll()
+    {
+        MockHttpServletRequest request = BenchmarkFixtures.bindRequest();
+        try
+        {
+            return controller.all(null, null, null, new ServletWebRequest(request, new MockHttpServletResponse()));
+        }
+        finally
+        {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**
+     * Inserts the given number of employees directly through JDBC batches, well above the IDs of the employees
+     * preloaded at startup.
+     *
+     * @param jdbcTemplate The template used to insert the employees.
+     * @param count        The number of employees to insert.
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int count)
+    {
+        String sql = "insert into employee (id, first_name, middle_initial, last_name, date_of_birth, "
+                + "date_of_employment, status, version, updated_at) values (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (long id = 1_000; id < 1_000 + count; id++)
+        {
+            Status status = id % INACTIVE_EVERY == 0 ? Status.INACTIVE : Status.ACTIVE;
+            batch.add(new Object[]{id, "First" + id, String.valueOf((char) ('A' + id % 26)), "Last" + id,
+                    Date.valueOf(LocalDate.of(1960, 1, 1).plusDays(id % 15000)),
+                    Date.valueOf(LocalDate.of(2000, 1, 1).plusDays(id % 8000)), status.ordinal(), now});
+
+            if (batch.size() == SEED_BATCH_SIZE)
+            {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty())
+        {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package employee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a page of employees whole against reading only the fields asked for with {@code fields=}, first
+ * the query alone and then the query along with building and writing the page as HAL JSON. The size of each page
+ * once written is printed at the start of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EmployeeProjectionBenchmark
+{
+    /**
+     * The fields read, or {@code all} to read whole employees as {@code GET /employees} does without {@code fields=}.
+     */
+    @Param({"all", "id,firstName,lastName"})
+    public String fields;
+
+    /**
+     * The number of employees in the page.
+     */
+    @Param({"100", "1000"})
+    public int size;
+
+    /**
+     * The number of employees in the table.
+     */
+    private static final int ROWS = 100_000;
+
+    /**
+     * The running application.
+     */
+    private ConfigurableApplicationContext context;
+
+    /**
+     * The repository under measurement.
+     */
+    private EmployeeRepository repository;
+
+    /**
+     * The assembler building pages.
+     */
+    private EmployeeModelAssembler assembler;
+
+    /**
+     * The mapper writing pages as HAL JSON.
+     */
+    private ObjectMapper mapper;
+
+    /**
+     * The fields read, or null to read whole employees.
+     */
+    private EmployeeFields selected;
+
+    /**
+     * Starts the application on its own in-memory DB, seeds it and prints the size of the page once written.
+     *
+     * @throws Exception If serialization fails.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        context = new SpringApplicationBuilder(EmployeeApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--employee.cache.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:projection-" + fields.hashCode() + "-" + size
+                        + ";DB_CLOSE_DELAY=-1");
+        repository = context.getBean(EmployeeRepository.class);
+        assembler = context.getBean(EmployeeModelAssembler.class);
+        mapper = EmployeeSerializationBenchmark.halObjectMapper();
+        selected = fields.equals("all") ? null : EmployeeFields.parse(fields);
+
+        EmployeePersistenceBenchmark.seed(context.getBean(JdbcTemplate.class), ROWS);
+
+        System.out.println(fields + " page of " + size + " employees: " + queryAndWrite().length + " bytes");
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    /**
+     * @return The first page of active employees, whole or with only the fields read.
+     */
+    @Benchmark
+    public List<?> query()
+    {
+        return selected == null
+                ? repository.findByStatusOrderByIdAsc(Status.ACTIVE, PageRequest.of(0, size + 1))
+                : repository.findProjectedByStatus(selected, Status.ACTIVE, null, null, size + 1);
+    }
+
+    /**
+     * @return The first page of active employees, read, built and written as HAL JSON.
+     * @throws Exception If serialization fails.
+     */
+    @Benchmark
+    public byte[] queryAndWrite() throws Exception
+    {
+        BenchmarkFixtures.bindRequest();
+        try
+        {
+            if (selected == null)
+            {
+                return mapper.writeValueAsBytes(assembler.toCollectionModel(EmployeePage.forward(
+                        repository.findByStatusOrderByIdAsc(Status.ACTIVE, PageRequest.of(0, size + 1)), size,
+                        false), null, null));
+            }
+
+            return mapper.writeValueAsBytes(assembler.toProjectedCollectionModel(EmployeePage.forward(
+                    repository.findProjectedByStatus(selected, Status.ACTIVE, null, null, size + 1),
+                    EmployeeProjection::getId, size, false), null, null, selected));
+        }
+        finally
+        {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package employee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serving a page of employees from an {@link EmployeeRoster} in memory against building and writing the same
+ * page from {@link Employee} objects, and the cost of a change to the roster. The heap taken per employee by the
+ * roster and by the same employees as objects, as Hibernate would load them but without its persistence context, is
+ * printed at the start of each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EmployeeRosterBenchmark
+{
+    /**
+     * The first names employees are given.
+     */
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica"};
+
+    /**
+     * The last names employees are given.
+     */
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez"};
+
+    /**
+     * The number of employees held.
+     */
+    @Param({"1000000"})
+    public int rows;
+
+    /**
+     * The mapper writing HAL JSON.
+     */
+    private ObjectMapper mapper;
+
+    /**
+     * The assembler linking pages, with a configured base URL so no request needs to be bound.
+     */
+    private EmployeeModelAssembler assembler;
+
+    /**
+     * The table of distinct names the roster was made with.
+     */
+    private EmployeeRoster.Names names;
+
+    /**
+     * The roster of every employee.
+     */
+    private EmployeeRoster roster;
+
+    /**
+     * The same employees as objects, ordered by ID.
+     */
+    private List<Employee> employees;
+
+    /**
+     * The source of the pages read and the employees changed.
+     */
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * Builds the roster and the employees as objects, printing the heap each takes per employee.
+     */
+    @Setup
+    public void setUp()
+    {
+        mapper = EmployeeSerializationBenchmark.halObjectMapper();
+        assembler = new EmployeeModelAssembler(true, "http://localhost:8080");
+
+        long before = usedHeap();
+        names = new EmployeeRoster.Names();
+        EmployeeRoster.Builder builder = new EmployeeRoster.Builder(names);
+        for (long id = 1; id <= rows; id++)
+        {
+            Employee employee = loaded(id);
+            builder.add(id, employee.getFirstName(), employee.getMiddleInitial(), employee.getLastName(),
+                    employee.getDateOfBirth(), employee.getDateOfEmployment(), employee.getStatus(),
+                    employee.getVersion(), employee.getUpdatedAt());
+        }
+        roster = builder.build();
+        long rosterBytes = usedHeap() - before;
+
+        before = usedHeap();
+        employees = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++)
+        {
+            employees.add(loaded(id));
+        }
+        long employeeBytes = usedHeap() - before;
+
+        System.out.printf("Heap per employee at %d employees: roster %.1f bytes, employee objects %.1f bytes%n", rows,
+                (double) rosterBytes / rows, (double) employeeBytes / rows);
+    }
+
+    /**
+     * @return A default-sized page of active employees from a random point, served from the roster as HAL JSON.
+     * @throws Exception If serialization fails.
+     */
+    @Benchmark
+    public byte[] rosterPage() throws Exception
+    {
+        Long after = random.nextLong(rows);
+        return mapper.writeValueAsBytes(assembler.toRosterPage(roster.page(null, after, null), after, null));
+    }
+
+    /**
+     * @return The same page, built from employee objects and written as HAL JSON, as it is when read from the DB.
+     * @throws Exception If serialization fails.
+     */
+    @Benchmark
+    public byte[] employeePage() throws Exception
+    {
+        Long after = random.nextLong(rows);
+        List<Employee> found = new ArrayList<>(EmployeePage.DEFAULT_LIMIT + 1);
+        for (int i = after.intValue(); i < rows && found.size() <= EmployeePage.DEFAULT_LIMIT; i++)
+        {
+            if (employees.get(i).getStatus() == Status.ACTIVE)
+            {
+                found.add(employees.get(i));
+            }
+        }
+
+        return mapper.writeValueAsBytes(assembler.toCollectionModel(EmployeePage.forward(found, null, true), after,
+                null));
+    }
+
+    /**
+     * @return The roster with a random employee renamed, as a write through the API makes it.
+     */
+    @Benchmark
+    public EmployeeRoster put()
+    {
+        Employee employee = employees.get(random.nextInt(rows));
+        employee.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        employee.setVersion(employee.getVersion() + 1);
+        roster = roster.put(names, employee, Instant.now());
+
+        return roster;
+    }
+
+    /**
+     * Builds an employee as they would be read from the DB, with names repeated across employees but each read into
+     * a string of its own, and a tenth of them inactive.
+     *
+     * @param id The ID of the employee.
+     * @return The employee.
+     */
+    private static Employee loaded(long id)
+    {
+        SplittableRandom values = new SplittableRandom(id);
+        Employee employee = new Employee(new String(FIRST_NAMES[values.nextInt(FIRST_NAMES.length)]),
+                (char) ('A' + values.nextInt(26)), new String(LAST_NAMES[values.nextInt(LAST_NAMES.length)]),
+                LocalDate.of(1950, 1, 1).plusDays(values.nextInt(18000)),
+                LocalDate.of(1990, 1, 1).plusDays(values.nextInt(12000)));
+        employee.setId(id);
+        employee.setStatus(values.nextInt(10) == 0 ? Status.INACTIVE : Status.ACTIVE);
+        employee.setCreatedAt(Instant.ofEpochSecond(1_600_000_000L + id));
+        employee.setUpdatedAt(Instant.ofEpochSecond(1_600_000_000L + id));
+
+        return employee;
+    }
+
+    /**
+     * @return The heap in use once garbage has been collected, in bytes.
+     */
+    private static long usedHeap()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,105 @@
+package employee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of serializing employee entity models to HAL JSON, as done for every response body.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark
+{
+    /**
+     * An object mapper configured for HAL the same way the application configures it.
+     */
+    private ObjectMapper halMapper;
+
+    /**
+     * A single employee wrapped with their links.
+     */
+    private EntityModel<Employee> entityModel;
+
+    /**
+     * A default-sized page of employees wrapped with their links.
+     */
+    private CollectionModel<EntityModel<Employee>> collectionModel;
+
+    /**
+     * Builds the HAL object mapper and the models to serialize.
+     */
+    @Setup
+    public void setUp()
+    {
+        halMapper = halObjectMapper();
+
+        BenchmarkFixtures.bindRequest();
+        EmployeeModelAssembler assembler = new EmployeeModelAssembler(true, "");
+        entityModel = assembler.toModel(BenchmarkFixtures.employee(42));
+        collectionModel = assembler.toCollectionModel(
+                EmployeePage.forward(BenchmarkFixtures.employees(EmployeePage.DEFAULT_LIMIT), null, false), null, null);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * @return A single employee serialized as HAL JSON.
+     * @throws Exception If serialization fails.
+     */
+    @Benchmark
+    public byte[] entityModel() throws Exception
+    {
+        return halMapper.writeValueAsBytes(entityModel);
+    }
+
+    /**
+     * @return A default-sized page of employees serialized as HAL JSON.
+     * @throws Exception If serialization fails.
+     */
+    @Benchmark
+    public byte[] collectionModel() throws Exception
+    {
+        return halMapper.writeValueAsBytes(collectionModel);
+    }
+
+    /**
+     * Builds an object mapper that writes HAL with the same relation names and date handling as the application.
+     *
+     * @return The HAL object mapper.
+     */
+    static ObjectMapper halObjectMapper()
+    {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        return mapper;
+    }
+}
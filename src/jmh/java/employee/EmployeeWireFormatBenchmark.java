@@ -0,0 +1,99 @@
+package employee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of writing a page of employees, and prints the size of the page, in each format employees can be
+ * served in. {@code compact-json} is the binary formats' representation written as JSON text, to tell the savings of
+ * the binary encoding apart from those of leaving out links and writing dates as numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeWireFormatBenchmark
+{
+    /**
+     * The format written.
+     */
+    @Param({"hal-json", "compact-json", "smile", "cbor"})
+    public String format;
+
+    /**
+     * The number of employees in the page.
+     */
+    @Param({"100", "1000"})
+    public int size;
+
+    /**
+     * The mapper writing the format.
+     */
+    private ObjectMapper mapper;
+
+    /**
+     * The page of employees wrapped with their links.
+     */
+    private CollectionModel<EntityModel<Employee>> collectionModel;
+
+    /**
+     * Builds the mapper and the page to write, and prints the size of the page once written.
+     *
+     * @throws Exception If serialization fails.
+     */
+    @Setup
+    public void setUp() throws Exception
+    {
+        switch (format)
+        {
+            case "compact-json":
+                mapper = EmployeeWireFormatConfiguration.binaryObjectMapper(Jackson2ObjectMapperBuilder.json());
+                break;
+            case "smile":
+                mapper = EmployeeWireFormatConfiguration.binaryObjectMapper(Jackson2ObjectMapperBuilder.smile());
+                break;
+            case "cbor":
+                mapper = EmployeeWireFormatConfiguration.binaryObjectMapper(Jackson2ObjectMapperBuilder.cbor());
+                break;
+            default:
+                mapper = EmployeeSerializationBenchmark.halObjectMapper();
+        }
+
+        BenchmarkFixtures.bindRequest();
+        EmployeeModelAssembler assembler = new EmployeeModelAssembler(true, "");
+        collectionModel = assembler.toCollectionModel(
+                EmployeePage.forward(BenchmarkFixtures.employees(size + 1), size, false), null, null);
+        RequestContextHolder.resetRequestAttributes();
+
+        System.out.println(format + " payload for " + size + " employees: "
+                + mapper.writeValueAsBytes(collectionModel).length + " bytes");
+    }
+
+    /**
+     * @return The page of employees written in the format.
+     * @throws Exception If serialization fails.
+     */
+    @Benchmark
+    public byte[] collectionModel() throws Exception
+    {
+        return mapper.writeValueAsBytes(collectionModel);
+    }
+}
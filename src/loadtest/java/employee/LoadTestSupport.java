@@ -0,0 +1,73 @@
+package employee;
+
+import java.time.Duration;
+
+/**
+ * This class holds what the load tests have in common: reading their arguments and summarising latencies.
+ */
+final class LoadTestSupport
+{
+    /**
+     * Constructor, unused as this class only has static methods.
+     */
+    private LoadTestSupport()
+    {
+    }
+
+    /**
+     * @param args     The arguments, as {@code name=value} pairs.
+     * @param name     The name of the argument.
+     * @param fallback The value to use if the argument is not given.
+     * @return The value of the argument.
+     */
+    static String argument(String[] args, String name, String fallback)
+    {
+        for (String arg : args)
+        {
+            if (arg.startsWith(name + "="))
+            {
+                return arg.substring(name.length() + 1);
+            }
+        }
+
+        return fallback;
+    }
+
+    /**
+     * @param value A duration such as {@code 500ms}, {@code 30s} or {@code 2m}.
+     * @return The duration.
+     */
+    static Duration duration(String value)
+    {
+        if (value.endsWith("ms"))
+        {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m"))
+        {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+
+        return Duration.ofSeconds(Long.parseLong(value.replace("s", "")));
+    }
+
+    /**
+     * @param sorted The latencies, in nanoseconds, in ascending order. There must be at least one.
+     * @return The median, 90th and 99th percentiles and the maximum of the latencies, in milliseconds.
+     */
+    static String latencies(long[] sorted)
+    {
+        return String.format("p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms", percentile(sorted, 0.5),
+                percentile(sorted, 0.9), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    /**
+     * @param sorted   The latencies, in nanoseconds, in ascending order.
+     * @param fraction The percentile, between 0 and 1.
+     * @return The latency at the percentile, in milliseconds.
+     */
+    private static double percentile(long[] sorted, double fraction)
+    {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,435 @@
+package employee;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * This class replays the requests in {@code TestCurls.txt} against a running server from many users at once, and
+ * reports the throughput and latency percentiles of each. Every curl command in the file is a scenario, named after
+ * the comment above it, so new examples added to the file are load tested too. Commands following a stream, or with a
+ * {@code <placeholder>} to fill in by hand, are skipped.
+ * <p>
+ * Each user sends one request at a time, going through the scenarios in the order of the file, from a different
+ * starting point for each user. Users wait for each response before sending the next request, so the latencies
+ * measured leave out the time requests would have queued for under a fixed arrival rate. A user turned away with a
+ * 503 waits as long as its Retry-After header asks before sending another request. Latencies are only reported for
+ * requests that were not turned away, which are counted among the status codes.
+ * <p>
+ * Arguments, all optional: {@code url=http://localhost:8080 file=TestCurls.txt users=16 duration=60s warmup=10s
+ * include=<regex> exclude=<regex>}, where the regular expressions are matched against the names of the scenarios.
+ */
+public class ScenarioLoadTest
+{
+    /**
+     * The host and port the commands in the file are written against, replaced by the URL of the server tested.
+     */
+    private static final String FILE_SERVER = "localhost:8080";
+
+    /**
+     * The status code of a request turned away by the server, to be retried later.
+     */
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    /**
+     * The scenarios replayed.
+     */
+    private final List<Scenario> scenarios;
+
+    /**
+     * The client sending every request.
+     */
+    private final HttpClient client;
+
+    /**
+     * The number of requests that failed without a response.
+     */
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param scenarios The scenarios replayed.
+     */
+    private ScenarioLoadTest(List<Scenario> scenarios)
+    {
+        this.scenarios = scenarios;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    /**
+     * Runs the load test and prints its results.
+     *
+     * @param args The arguments, as {@code name=value} pairs.
+     * @throws IOException If the file of commands cannot be read.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        URI url = URI.create(LoadTestSupport.argument(args, "url", "http://localhost:8080"));
+        Path file = Path.of(LoadTestSupport.argument(args, "file", "TestCurls.txt"));
+        int users = Integer.parseInt(LoadTestSupport.argument(args, "users", "16"));
+        Duration duration = LoadTestSupport.duration(LoadTestSupport.argument(args, "duration", "60s"));
+        Duration warmup = LoadTestSupport.duration(LoadTestSupport.argument(args, "warmup", "10s"));
+        Pattern include = Pattern.compile(LoadTestSupport.argument(args, "include", ".*"));
+        Pattern exclude = Pattern.compile(LoadTestSupport.argument(args, "exclude", "(?!)"));
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Scenario scenario : parse(Files.readAllLines(file, StandardCharsets.UTF_8), url))
+        {
+            if (include.matcher(scenario.name).find() && !exclude.matcher(scenario.name).find())
+            {
+                scenarios.add(scenario);
+            }
+        }
+        if (scenarios.isEmpty())
+        {
+            throw new IllegalArgumentException("No scenarios to replay in " + file);
+        }
+
+        ScenarioLoadTest test = new ScenarioLoadTest(scenarios);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = 0; i < users; i++)
+            {
+                int first = i % scenarios.size();
+                executor.submit(() -> test.runUser(first, measureFrom, end));
+            }
+        }
+
+        test.report(users, duration);
+    }
+
+    /**
+     * Reads the scenarios from the lines of a file of curl commands. A command carries on over the following lines
+     * while a quoted argument is still open, and ends at a pipe.
+     *
+     * @param lines The lines of the file.
+     * @param url   The base URL of the server tested.
+     * @return The scenarios, in the order of the file.
+     */
+    private static List<Scenario> parse(List<String> lines, URI url)
+    {
+        List<Scenario> scenarios = new ArrayList<>();
+        String name = null;
+
+        for (int i = 0; i < lines.size(); i++)
+        {
+            String line = lines.get(i).trim();
+            if (line.startsWith("//"))
+            {
+                name = line.substring(2).trim();
+                continue;
+            }
+            if (!line.startsWith("curl "))
+            {
+                continue;
+            }
+
+            StringBuilder command = new StringBuilder(line);
+            while (quoteOpen(command) && i + 1 < lines.size())
+            {
+                command.append('\n').append(lines.get(++i));
+            }
+
+            String scenarioName = name == null ? line : name;
+            Scenario scenario = toScenario(scenarioName, tokenize(command), url);
+            if (scenario == null)
+            {
+                System.out.println("skipped: " + scenarioName);
+            }
+            else
+            {
+                scenarios.add(scenario);
+            }
+            name = null;
+        }
+
+        return scenarios;
+    }
+
+    /**
+     * @param command A command, or the start of one.
+     * @return Whether the command has a single quote still open.
+     */
+    private static boolean quoteOpen(CharSequence command)
+    {
+        return command.chars().filter(c -> c == '\'').count() % 2 != 0;
+    }
+
+    /**
+     * Splits a command into its arguments as a shell would, keeping single-quoted text whole and stopping at a pipe.
+     *
+     * @param command The command.
+     * @return The arguments, starting with {@code curl}.
+     */
+    private static List<String> tokenize(CharSequence command)
+    {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = null;
+        boolean quoted = false;
+
+        for (int i = 0; i < command.length(); i++)
+        {
+            char c = command.charAt(i);
+            if (c == '\'')
+            {
+                quoted = !quoted;
+                token = token == null ? new StringBuilder() : token;
+            }
+            else if (quoted || !Character.isWhitespace(c) && c != '|')
+            {
+                token = token == null ? new StringBuilder() : token;
+                token.append(c);
+            }
+            else
+            {
+                if (token != null)
+                {
+                    tokens.add(token.toString());
+                    token = null;
+                }
+                if (c == '|')
+                {
+                    return tokens;
+                }
+            }
+        }
+        if (token != null)
+        {
+            tokens.add(token.toString());
+        }
+
+        return tokens;
+    }
+
+    /**
+     * @param name   The name of the scenario.
+     * @param tokens The arguments of the curl command.
+     * @param url    The base URL of the server tested.
+     * @return The request the command sends, or null if it cannot be replayed.
+     */
+    private static Scenario toScenario(String name, List<String> tokens, URI url)
+    {
+        String method = null;
+        String target = null;
+        String body = null;
+        List<String> headers = new ArrayList<>();
+
+        for (int i = 1; i < tokens.size(); i++)
+        {
+            String token = tokens.get(i);
+            switch (token)
+            {
+                case "-X":
+                    method = tokens.get(++i);
+                    break;
+                case "-H":
+                    String[] header = tokens.get(++i).split(":", 2);
+                    headers.add(header[0].trim());
+                    headers.add(header[1].trim());
+                    break;
+                case "-d":
+                    body = tokens.get(++i);
+                    break;
+                case "--user":
+                    headers.add("Authorization");
+                    headers.add("Basic " + Base64.getEncoder().encodeToString(
+                            tokens.get(++i).getBytes(StandardCharsets.UTF_8)));
+                    break;
+                case "-N":
+                    // A stream never completes, so it has no latency to measure.
+                    return null;
+                default:
+                    if (!token.startsWith("-"))
+                    {
+                        target = token;
+                    }
+            }
+        }
+
+        if (target == null || target.contains("<") || headers.stream().anyMatch(header -> header.contains("<")))
+        {
+            return null;
+        }
+
+        String path = target.replaceFirst("^(https?://)?" + Pattern.quote(FILE_SERVER), "");
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        HttpRequest.Builder request = HttpRequest.newBuilder(url.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method != null ? method : body != null ? "POST" : "GET", publisher);
+        if (!headers.isEmpty())
+        {
+            request.headers(headers.toArray(new String[0]));
+        }
+
+        return new Scenario(name, request.build());
+    }
+
+    /**
+     * Sends requests as one user until the test ends.
+     *
+     * @param first       The index of the first scenario the user replays.
+     * @param measureFrom When the warm-up ends and latencies start being recorded.
+     * @param end         When the test ends.
+     */
+    private void runUser(int first, long measureFrom, long end)
+    {
+        for (int i = first; System.nanoTime() < end; i = (i + 1) % scenarios.size())
+        {
+            Scenario scenario = scenarios.get(i);
+            long sent = System.nanoTime();
+            try
+            {
+                HttpResponse<Void> response = client.send(scenario.request, HttpResponse.BodyHandlers.discarding());
+                long received = System.nanoTime();
+
+                if (sent >= measureFrom && received <= end)
+                {
+                    scenario.record(response.statusCode(), received - sent);
+                }
+                if (response.statusCode() == SERVICE_UNAVAILABLE)
+                {
+                    long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                    Thread.sleep(Math.max(0, Math.min(retryAfter * 1_000_000_000L, end - received) / 1_000_000));
+                }
+            }
+            catch (IOException e)
+            {
+                errors.incrementAndGet();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Prints the throughput, latency percentiles and status codes of each scenario, then of all of them together.
+     *
+     * @param users    The number of users.
+     * @param duration How long requests were measured for.
+     */
+    private void report(int users, Duration duration)
+    {
+        List<Long> all = new ArrayList<>();
+        for (Scenario scenario : scenarios)
+        {
+            long[] sorted = scenario.sortedLatencies();
+            Arrays.stream(sorted).forEach(all::add);
+
+            System.out.printf("%s%n  served=%d throughput=%.1f/s statuses=%s%n", scenario.name, sorted.length,
+                    sorted.length / (double) duration.toSeconds(), scenario.statusCounts());
+            if (sorted.length > 0)
+            {
+                System.out.println("  latency " + LoadTestSupport.latencies(sorted));
+            }
+        }
+
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%nusers=%d scenarios=%d served=%d throughput=%.1f/s errors=%d%n", users,
+                scenarios.size(), sorted.length, sorted.length / (double) duration.toSeconds(), errors.get());
+        if (sorted.length > 0)
+        {
+            System.out.println("latency " + LoadTestSupport.latencies(sorted));
+        }
+    }
+
+    /**
+     * A request replayed from the file, with the results recorded for it.
+     */
+    private static final class Scenario
+    {
+        /**
+         * The name of the scenario, from the comment above its command.
+         */
+        private final String name;
+
+        /**
+         * The request sent.
+         */
+        private final HttpRequest request;
+
+        /**
+         * The latencies, in nanoseconds, of the responses received after the warm-up.
+         */
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The number of responses received after the warm-up, by status code.
+         */
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor.
+         *
+         * @param name    The name of the scenario.
+         * @param request The request sent.
+         */
+        private Scenario(String name, HttpRequest request)
+        {
+            this.name = name;
+            this.request = request;
+        }
+
+        /**
+         * @param status  The status code of a response.
+         * @param latency The time taken to receive it, in nanoseconds.
+         */
+        private void record(int status, long latency)
+        {
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+            if (status != SERVICE_UNAVAILABLE)
+            {
+                latencies.add(latency);
+            }
+        }
+
+        /**
+         * @return The latencies recorded, in ascending order.
+         */
+        private long[] sortedLatencies()
+        {
+            return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        /**
+         * @return The number of responses recorded, by status code.
+         */
+        private Map<Integer, Long> statusCounts()
+        {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+
+            return counts;
+        }
+    }
+}
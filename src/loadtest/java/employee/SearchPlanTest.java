@@ -0,0 +1,206 @@
+package employee;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * This class checks that every kind of search made by /employees/search is answered from the index declared for it on
+ * {@link Employee}, rather than by scanning or sorting the table. It starts the application in this JVM over generated
+ * employees, runs each search through the same criteria as the endpoint with H2 recording the SQL it is sent, then has
+ * H2 EXPLAIN that same SQL and checks the plan reads the expected index. Sorting by each of
+ * {@link EmployeeSpecifications#SORTABLE} in ascending order is checked too, and must be read in order from the index;
+ * H2 only reads indexes forwards, so it sorts descending orders itself.
+ * <p>
+ * Arguments: {@code rows=20000 -- <application arguments>}. The check fails if any plan does not use its index.
+ */
+public class SearchPlanTest
+{
+    /**
+     * The size of the page every search is made for.
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Constructor, unused as this class only has static methods.
+     */
+    private SearchPlanTest()
+    {
+    }
+
+    /**
+     * Starts the application, checks the plan of every kind of search, and stops it again.
+     *
+     * @param args The arguments of the check, then those of the application after {@code --}.
+     * @throws Exception If a search cannot be made or explained.
+     */
+    public static void main(String[] args) throws Exception
+    {
+        int separator = Arrays.asList(args).indexOf("--");
+        String[] options = separator < 0 ? args : Arrays.copyOfRange(args, 0, separator);
+        String[] applicationArgs = separator < 0 ? new String[0] : Arrays.copyOfRange(args, separator + 1, args.length);
+        int rows = Integer.parseInt(LoadTestSupport.argument(options, "rows", "20000"));
+
+        String[] startArgs = Stream.concat(Stream.of("--server.port=0", "--employee.seed.generate=" + rows),
+                Arrays.stream(applicationArgs)).toArray(String[]::new);
+
+        LocalDate from = LocalDate.of(2015, 1, 1);
+        LocalDate to = LocalDate.of(2016, 1, 1);
+        List<Search> searches = new ArrayList<>(List.of(
+                new Search("last name", EmployeeSpecifications.hasLastName("Smith"), Sort.by("id"),
+                        "IDX_EMPLOYEE_STATUS_LAST_NAME", "Smith"),
+                new Search("first name prefix", EmployeeSpecifications.firstNameStartsWith("Jo"), Sort.by("id"),
+                        "IDX_EMPLOYEE_STATUS_FIRST_NAME", "Jo%", "\\"),
+                new Search("employed between", EmployeeSpecifications.employedBetween(from, to), Sort.by("id"),
+                        "IDX_EMPLOYEE_STATUS_DATE_OF_EMPLOYMENT", from, to),
+                new Search("born from", EmployeeSpecifications.bornBetween(from.minusYears(30), null), Sort.by("id"),
+                        "IDX_EMPLOYEE_STATUS_DATE_OF_BIRTH", from.minusYears(30))));
+        for (String property : EmployeeSpecifications.SORTABLE)
+        {
+            searches.add(new Search("sorted by " + property, null, Sort.by(property),
+                    "IDX_EMPLOYEE_STATUS_" + property.replaceAll("([A-Z])", "_$1").toUpperCase(Locale.ROOT)));
+        }
+
+        int failures = 0;
+        try (ConfigurableApplicationContext context = SpringApplication.run(EmployeeApplication.class, startArgs))
+        {
+            EmployeeRepository repository = context.getBean(EmployeeRepository.class);
+            DataSource dataSource = context.getBean(DataSource.class);
+
+            for (Search search : searches)
+            {
+                String plan = search.explain(repository, dataSource);
+                boolean indexed = plan.contains(search.index) && (search.criterion != null
+                        || plan.contains("index sorted"));
+                if (!indexed)
+                {
+                    failures++;
+                }
+
+                System.out.printf("%s %s: %s%n", indexed ? "ok  " : "FAIL", search.name,
+                        plan.replaceAll("\\s+", " "));
+            }
+        }
+
+        if (failures > 0)
+        {
+            System.out.printf("%d of %d searches do not use their index%n", failures, searches.size());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * A kind of search made by the endpoint, with the index it should be answered from.
+     */
+    private static final class Search
+    {
+        /**
+         * The name the search is reported by.
+         */
+        private final String name;
+
+        /**
+         * The criterion searched by along with the status, or null to search by status alone.
+         */
+        private final Specification<Employee> criterion;
+
+        /**
+         * The order of the matches.
+         */
+        private final Sort sort;
+
+        /**
+         * The name of the index the search should be answered from.
+         */
+        private final String index;
+
+        /**
+         * The values bound to the criterion, in the order Hibernate binds them.
+         */
+        private final Object[] values;
+
+        /**
+         * Constructor.
+         *
+         * @param name      The name the search is reported by.
+         * @param criterion The criterion searched by along with the status, or null to search by status alone.
+         * @param sort      The order of the matches.
+         * @param index     The name of the index the search should be answered from.
+         * @param values    The values bound to the criterion, in the order Hibernate binds them.
+         */
+        private Search(String name, Specification<Employee> criterion, Sort sort, String index, Object... values)
+        {
+            this.name = name;
+            this.criterion = criterion;
+            this.sort = sort;
+            this.index = index;
+            this.values = values;
+        }
+
+        /**
+         * Makes the search as the endpoint does, then has the DB explain the SQL it was sent for it. Turning the
+         * query statistics of H2 back on clears those of the searches before.
+         *
+         * @param repository The class responsible for access to perform operations to the DB containing employees.
+         * @param dataSource The DB containing employees.
+         * @return The plan of the search.
+         * @throws Exception If the search cannot be explained.
+         */
+        private String explain(EmployeeRepository repository, DataSource dataSource) throws Exception
+        {
+            try (Connection connection = dataSource.getConnection())
+            {
+                connection.createStatement().execute("set query_statistics false");
+                connection.createStatement().execute("set query_statistics true");
+            }
+            repository.findAll(Specification.where(EmployeeSpecifications.hasStatus(Status.ACTIVE)).and(criterion),
+                    PageRequest.of(0, PAGE_SIZE, EmployeeSpecifications.indexed(sort, criterion == null)));
+
+            // The page is the only statement reading employees in order; a count of the matches may follow it.
+            String sql;
+            try (Connection connection = dataSource.getConnection();
+                 ResultSet statements = connection.createStatement().executeQuery("select sql_statement from"
+                         + " information_schema.query_statistics where lower(sql_statement) like '%from employee%'"
+                         + " and lower(sql_statement) like '%order by%'"))
+            {
+                if (!statements.next())
+                {
+                    throw new IllegalStateException("No search of employees was recorded for " + name);
+                }
+                sql = statements.getString(1);
+            }
+
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement explain = connection.prepareStatement("explain " + sql))
+            {
+                // The status is bound first, then the criterion, then the size of the page.
+                int parameter = 1;
+                explain.setObject(parameter++, Status.ACTIVE.ordinal());
+                for (Object value : values)
+                {
+                    explain.setObject(parameter++, value);
+                }
+                explain.setObject(parameter, PAGE_SIZE);
+
+                try (ResultSet plan = explain.executeQuery())
+                {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package employee;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class drives the server with many slow clients at once. Each client keeps a connection open and repeatedly
+ * creates an employee, trickling the request body out over a fixed time, as a client on a poor network would. While a
+ * body is being read the server holds the thread handling the request, so the number of requests completed shows how
+ * many the server can have in flight at once.
+ * <p>
+ * Arguments, all optional: {@code url=http://localhost:8080 clients=10000 duration=60s warmup=10s body=2s chunks=4}.
+ */
+public class SlowClientLoadTest
+{
+    /**
+     * The body of each request, creating an employee.
+     */
+    private static final byte[] BODY = ("{\"firstName\":\"Slow\",\"middleInitial\":\"C\",\"lastName\":\"Client\","
+            + "\"dateOfBirth\":\"01-01-1990\",\"dateOfEmployment\":\"01-01-2020\"}")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The host and port of the server.
+     */
+    private final InetSocketAddress address;
+
+    /**
+     * The head of each request, up to the body.
+     */
+    private final byte[] head;
+
+    /**
+     * How long each client takes to send the body of a request.
+     */
+    private final Duration bodyTime;
+
+    /**
+     * The number of parts each body is sent in.
+     */
+    private final int chunks;
+
+    /**
+     * The latencies, in nanoseconds, of the requests completed after the warm-up.
+     */
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of requests that failed or were answered with anything other than 201 Created.
+     */
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param url      The base URL of the server.
+     * @param bodyTime How long each client takes to send the body of a request.
+     * @param chunks   The number of parts each body is sent in.
+     */
+    private SlowClientLoadTest(URI url, Duration bodyTime, int chunks)
+    {
+        this.address = new InetSocketAddress(url.getHost(), url.getPort());
+        this.head = ("POST /employees HTTP/1.1\r\nHost: " + url.getHost() + ":" + url.getPort() + "\r\n"
+                + "Content-Type: application/json\r\nContent-Length: " + BODY.length + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        this.bodyTime = bodyTime;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Runs the load test and prints its results.
+     *
+     * @param args The arguments, as {@code name=value} pairs.
+     * @throws InterruptedException If interrupted while waiting for the clients.
+     */
+    public static void main(String[] args) throws InterruptedException
+    {
+        URI url = URI.create(LoadTestSupport.argument(args, "url", "http://localhost:8080"));
+        int clients = Integer.parseInt(LoadTestSupport.argument(args, "clients", "10000"));
+        Duration duration = LoadTestSupport.duration(LoadTestSupport.argument(args, "duration", "60s"));
+        Duration warmup = LoadTestSupport.duration(LoadTestSupport.argument(args, "warmup", "10s"));
+        Duration bodyTime = LoadTestSupport.duration(LoadTestSupport.argument(args, "body", "2s"));
+        int chunks = Integer.parseInt(LoadTestSupport.argument(args, "chunks", "4"));
+
+        SlowClientLoadTest test = new SlowClientLoadTest(url, bodyTime, chunks);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        // Virtual threads let a single process hold every client's connection open at once.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = 0; i < clients; i++)
+            {
+                long stagger = start + warmup.toNanos() * i / clients / 2;
+                executor.submit(() -> test.runClient(stagger, measureFrom, end));
+            }
+        }
+
+        test.report(clients, duration);
+    }
+
+    /**
+     * Sends requests over one connection until the test ends, reconnecting after a failure.
+     *
+     * @param startAt     When the client starts, so clients connect gradually rather than all at once.
+     * @param measureFrom When the warm-up ends and latencies start being recorded.
+     * @param end         When the test ends.
+     */
+    private void runClient(long startAt, long measureFrom, long end)
+    {
+        sleepUntil(startAt);
+
+        while (System.nanoTime() < end)
+        {
+            try (Socket socket = new Socket())
+            {
+                socket.connect(address, 30_000);
+                socket.setSoTimeout(60_000);
+                OutputStream out = socket.getOutputStream();
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+
+                while (System.nanoTime() < end)
+                {
+                    long sent = System.nanoTime();
+                    int status = exchange(out, in);
+                    long received = System.nanoTime();
+
+                    if (status != 201)
+                    {
+                        errors.incrementAndGet();
+                    }
+                    else if (sent >= measureFrom && received <= end)
+                    {
+                        latencies.add(received - sent);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Sends one request, trickling its body out, and reads the response.
+     *
+     * @param out The stream to the server.
+     * @param in  The stream from the server.
+     * @return The status code of the response.
+     * @throws IOException If the connection fails.
+     */
+    private int exchange(OutputStream out, InputStream in) throws IOException
+    {
+        out.write(head);
+        out.flush();
+
+        int chunkSize = (BODY.length + chunks - 1) / chunks;
+        long pause = bodyTime.toNanos() / chunks;
+        for (int offset = 0; offset < BODY.length; offset += chunkSize)
+        {
+            sleepUntil(System.nanoTime() + pause);
+            out.write(BODY, offset, Math.min(chunkSize, BODY.length - offset));
+            out.flush();
+        }
+
+        return readResponse(in);
+    }
+
+    /**
+     * Reads a response, discarding its body, so the next request can be sent on the same connection.
+     *
+     * @param in The stream from the server.
+     * @return The status code of the response.
+     * @throws IOException If the connection fails or the response cannot be read.
+     */
+    private static int readResponse(InputStream in) throws IOException
+    {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.split(" ")[1]);
+        long contentLength = -1;
+        boolean chunked = false;
+
+        for (String header = readLine(in); !header.isEmpty(); header = readLine(in))
+        {
+            String lower = header.toLowerCase();
+            if (lower.startsWith("content-length:"))
+            {
+                contentLength = Long.parseLong(lower.substring(15).trim());
+            }
+            else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked"))
+            {
+                chunked = true;
+            }
+        }
+
+        if (chunked)
+        {
+            for (long size = Long.parseLong(readLine(in).trim(), 16); size > 0;
+                 size = Long.parseLong(readLine(in).trim(), 16))
+            {
+                skip(in, size);
+                readLine(in);
+            }
+            readLine(in);
+        }
+        else if (contentLength > 0)
+        {
+            skip(in, contentLength);
+        }
+
+        return status;
+    }
+
+    /**
+     * @param in The stream to read from.
+     * @return The next line, without its line ending.
+     * @throws IOException If the connection fails or is closed.
+     */
+    private static String readLine(InputStream in) throws IOException
+    {
+        StringBuilder line = new StringBuilder();
+        for (int c = in.read(); c != '\n'; c = in.read())
+        {
+            if (c < 0)
+            {
+                throw new IOException("Connection closed");
+            }
+            if (c != '\r')
+            {
+                line.append((char) c);
+            }
+        }
+
+        return line.toString();
+    }
+
+    /**
+     * @param in    The stream to read from.
+     * @param bytes The number of bytes to discard.
+     * @throws IOException If the connection fails or is closed.
+     */
+    private static void skip(InputStream in, long bytes) throws IOException
+    {
+        for (long remaining = bytes; remaining > 0; remaining--)
+        {
+            if (in.read() < 0)
+            {
+                throw new IOException("Connection closed");
+            }
+        }
+    }
+
+    /**
+     * Prints the throughput and latency percentiles of the requests completed after the warm-up.
+     *
+     * @param clients  The number of clients.
+     * @param duration How long requests were measured for.
+     */
+    private void report(int clients, Duration duration)
+    {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+
+        System.out.printf("clients=%d completed=%d throughput=%.1f/s errors=%d%n", clients, sorted.length,
+                sorted.length / (double) duration.toSeconds(), errors.get());
+        if (sorted.length > 0)
+        {
+            System.out.println("latency " + LoadTestSupport.latencies(sorted));
+        }
+    }
+
+    /**
+     * @param time The value of {@link System#nanoTime()} to sleep until.
+     */
+    private static void sleepUntil(long time)
+    {
+        long remaining = time - System.nanoTime();
+        if (remaining > 0)
+        {
+            try
+            {
+                Thread.sleep(Duration.ofNanos(remaining));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package employee;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures how long the application takes from launching its JVM to answering its first request for the
+ * employee collection, which is what an autoscaled instance is waiting on. Given an archive, it first makes a training
+ * run that requests each of the training paths and dumps the classes loaded into an AppCDS archive at exit, then times
+ * every run with the archive. Each run's output is kept in a log next to the jar.
+ * <p>
+ * Arguments: {@code jar=<application jar> archive=<AppCDS archive, or empty for none> url=http://localhost:8080
+ * runs=3 training=/employees,/employees/1,/employees/stats jvm=<comma separated JVM options> baseline=false
+ * max=<budget, or 0s for none> -- <application arguments>}. With {@code baseline=true} the runs are also timed without
+ * the archive. The test fails if the median time to first request exceeds the budget.
+ */
+public class StartupTimeTest
+{
+    /**
+     * How long a run is given to answer its first request, or to exit once stopped.
+     */
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    /**
+     * The application jar launched.
+     */
+    private final Path jar;
+
+    /**
+     * The base URL the application serves.
+     */
+    private final URI url;
+
+    /**
+     * The JVM options every run is launched with.
+     */
+    private final List<String> jvmOptions;
+
+    /**
+     * The arguments passed to the application.
+     */
+    private final List<String> applicationArgs;
+
+    /**
+     * The client polling the application.
+     */
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    /**
+     * The number of runs launched so far, numbering their logs.
+     */
+    private int launched;
+
+    /**
+     * Constructor.
+     *
+     * @param jar             The application jar launched.
+     * @param url             The base URL the application serves.
+     * @param jvmOptions      The JVM options every run is launched with.
+     * @param applicationArgs The arguments passed to the application.
+     */
+    private StartupTimeTest(Path jar, URI url, List<String> jvmOptions, List<String> applicationArgs)
+    {
+        this.jar = jar;
+        this.url = url;
+        this.jvmOptions = jvmOptions;
+        this.applicationArgs = applicationArgs;
+    }
+
+    /**
+     * Makes the training run, if given an archive, then times each run and prints the results.
+     *
+     * @param args The arguments, as {@code name=value} pairs, then {@code --} and the application arguments.
+     * @throws Exception If a run fails to start, to answer or to stop.
+     */
+    public static void main(String[] args) throws Exception
+    {
+        int separator = Arrays.asList(args).indexOf("--");
+        String[] options = separator < 0 ? args : Arrays.copyOfRange(args, 0, separator);
+        List<String> applicationArgs = separator < 0
+                ? List.of()
+                : Arrays.asList(args).subList(separator + 1, args.length);
+
+        Path jar = Path.of(LoadTestSupport.argument(options, "jar", ""));
+        String archive = LoadTestSupport.argument(options, "archive", "");
+        URI url = URI.create(LoadTestSupport.argument(options, "url", "http://localhost:8080"));
+        int runs = Integer.parseInt(LoadTestSupport.argument(options, "runs", "3"));
+        String training = LoadTestSupport.argument(options, "training", "/employees,/employees/1,/employees/stats");
+        String jvm = LoadTestSupport.argument(options, "jvm", "");
+        boolean baseline = Boolean.parseBoolean(LoadTestSupport.argument(options, "baseline", "false"));
+        Duration max = LoadTestSupport.duration(LoadTestSupport.argument(options, "max", "0s"));
+
+        if (!Files.isRegularFile(jar))
+        {
+            throw new IllegalArgumentException("No application jar at " + jar.toAbsolutePath());
+        }
+
+        StartupTimeTest test = new StartupTimeTest(jar, url,
+                jvm.isEmpty() ? List.of() : Arrays.asList(jvm.split(",")), applicationArgs);
+        List<String> archiveOptions = List.of();
+
+        if (!archive.isEmpty())
+        {
+            // The archive is always made again, as one made from another build of the jar would not be used.
+            Path archivePath = Path.of(archive).toAbsolutePath();
+            Files.deleteIfExists(archivePath);
+            long firstRequest = test.run(List.of("-XX:ArchiveClassesAtExit=" + archivePath),
+                    Arrays.asList(training.split(",")));
+            if (!Files.isRegularFile(archivePath))
+            {
+                throw new IllegalStateException("The training run did not dump an archive to " + archivePath);
+            }
+
+            System.out.printf("training run: first request after %d ms, archive of %d MB at %s%n", firstRequest,
+                    Files.size(archivePath) >> 20, archivePath);
+            archiveOptions = List.of("-XX:SharedArchiveFile=" + archivePath);
+        }
+
+        if (baseline)
+        {
+            System.out.println("without archive: " + test.summary(test.time(runs, List.of())));
+        }
+
+        long[] times = test.time(runs, archiveOptions);
+        System.out.println((archive.isEmpty() ? "without archive: " : "with archive: ") + test.summary(times));
+
+        long median = times[times.length / 2];
+        System.out.println("time-to-first-request=" + median + "ms");
+        if (!max.isZero() && median > max.toMillis())
+        {
+            System.out.println("Time to first request of " + median + " ms exceeds the budget of " + max.toMillis()
+                    + " ms");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param runs       The number of runs.
+     * @param jvmOptions The JVM options each run is launched with, on top of those given.
+     * @return The time each run took to answer its first request, in milliseconds, in ascending order.
+     * @throws Exception If a run fails to start, to answer or to stop.
+     */
+    private long[] time(int runs, List<String> jvmOptions) throws Exception
+    {
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++)
+        {
+            times[i] = run(jvmOptions, List.of());
+        }
+        Arrays.sort(times);
+
+        return times;
+    }
+
+    /**
+     * @param sorted The times to first request, in milliseconds, in ascending order. There must be at least one.
+     * @return The times and their median.
+     */
+    private String summary(long[] sorted)
+    {
+        return Arrays.toString(sorted) + " ms, median " + sorted[sorted.length / 2] + " ms";
+    }
+
+    /**
+     * Launches the application, waits for it to answer a request for the employee collection, requests each of the
+     * given paths, then stops it and waits for it to exit.
+     *
+     * @param extraOptions The JVM options to launch with, on top of those given.
+     * @param paths        The paths to request once the application has answered.
+     * @return The time from launching the application to its first answer, in milliseconds.
+     * @throws Exception If the application fails to start, to answer or to stop.
+     */
+    private long run(List<String> extraOptions, List<String> paths) throws Exception
+    {
+        if (answers("/employees") >= 0)
+        {
+            throw new IllegalStateException("Something is already serving " + url);
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(extraOptions);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.addAll(applicationArgs);
+
+        Path log = jar.toAbsolutePath().resolveSibling("startup-" + ++launched + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+
+        try
+        {
+            long deadline = start + TIMEOUT.toNanos();
+            while (answers("/employees") != 200)
+            {
+                if (!process.isAlive() || System.nanoTime() > deadline)
+                {
+                    throw new IllegalStateException("The application did not answer, see " + log);
+                }
+                Thread.sleep(10);
+            }
+            long firstRequest = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            for (String path : paths)
+            {
+                answers(path);
+            }
+
+            return firstRequest;
+        }
+        finally
+        {
+            // Stopping the JVM normally, rather than killing it, lets it dump the archive on the way out.
+            process.destroy();
+            if (!process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS))
+            {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * @param path The path to request.
+     * @return The status code of the response, or -1 if nothing is listening.
+     * @throws IOException          If the request fails other than by being refused.
+     * @throws InterruptedException If interrupted while waiting for the response.
+     */
+    private int answers(String path) throws IOException, InterruptedException
+    {
+        try
+        {
+            return client.send(HttpRequest.newBuilder(url.resolve(path)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+        catch (ConnectException e)
+        {
+            return -1;
+        }
+    }
+}
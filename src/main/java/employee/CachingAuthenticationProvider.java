@@ -0,0 +1,224 @@
+package employee;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * This class remembers the users the provider it wraps has recently authenticated, so a user sending the same
+ * credentials again within a short time is not put through the deliberately slow password hash on every request.
+ * <p>
+ * Credentials are never held in memory: entries are keyed by a SHA-256 hash of the username and password, salted with
+ * a secret chosen at random when the server starts. Each entry records the stored password hash of the user at the
+ * time they were authenticated, and is discarded as soon as that no longer matches, so changing a user's password or
+ * disabling them takes effect on their next request. Only successful attempts are remembered, so a wrong password is
+ * always checked in full.
+ */
+class CachingAuthenticationProvider implements AuthenticationProvider
+{
+    /**
+     * The name the cache metrics are published under.
+     */
+    private static final String CACHE_NAME = "authentications";
+
+    /**
+     * The provider performing the authentication on a miss.
+     */
+    private final AuthenticationProvider delegate;
+
+    /**
+     * The service the current details of users are loaded from, to check cached entries are still valid.
+     */
+    private final UserDetailsService userDetailsService;
+
+    /**
+     * The users recently authenticated, by the salted hash of the credentials they gave.
+     */
+    private final Cache<String, CachedAuthentication> cache;
+
+    /**
+     * The secret salting the hash of credentials, so cache keys cannot be used to guess them.
+     */
+    private final byte[] salt = new byte[16];
+
+    /**
+     * The number of cached entries discarded because the user's credentials or account changed.
+     */
+    private final Counter stale;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate           The provider performing the authentication on a miss.
+     * @param userDetailsService The service the current details of users are loaded from.
+     * @param maximumSize        The largest number of authentications the cache will hold.
+     * @param ttl                How long an authentication is remembered for.
+     * @param meterRegistry      The registry to publish hit, miss, eviction and staleness metrics to.
+     */
+    CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                  long maximumSize, Duration ttl, MeterRegistry meterRegistry)
+    {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.stale = Counter.builder("employee.authentication.cache.stale")
+                .description("Cached authentications discarded because the user's credentials or account changed")
+                .register(meterRegistry);
+
+        new SecureRandom().nextBytes(salt);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Authenticates the user from the cache if they gave the same credentials recently and their account is
+     * unchanged, or through the wrapped provider otherwise.
+     *
+     * @param authentication The credentials given by the user.
+     * @return The authenticated user, or null if the wrapped provider cannot decide.
+     * @throws AuthenticationException If the credentials are not valid.
+     */
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException
+    {
+        if (!(authentication.getCredentials() instanceof String))
+        {
+            return delegate.authenticate(authentication);
+        }
+
+        String username = authentication.getName();
+        String key = key(username, (String) authentication.getCredentials());
+        CachedAuthentication cached = cache.getIfPresent(key);
+        UserDetails user = currentDetails(username);
+
+        if (cached != null)
+        {
+            if (cached.isValidFor(user))
+            {
+                UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(user,
+                        authentication.getCredentials(), user.getAuthorities());
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+
+            cache.invalidate(key);
+            stale.increment();
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+
+        // The password hash is read before the check, so a change made during it leaves the entry already stale.
+        if (result != null && result.isAuthenticated() && user != null)
+        {
+            cache.put(key, new CachedAuthentication(user.getPassword()));
+        }
+
+        return result;
+    }
+
+    /**
+     * @param authentication The type of credentials given by the user.
+     * @return Whether the wrapped provider supports the given type of credentials.
+     */
+    @Override
+    public boolean supports(Class<?> authentication)
+    {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * @param username The name of the user.
+     * @return The current details of the user, or null if there is no such user.
+     */
+    private UserDetails currentDetails(String username)
+    {
+        try
+        {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        catch (UsernameNotFoundException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Hashes a username and password with the secret salt, so the cache never holds the password itself.
+     *
+     * @param username The name the user gave.
+     * @param password The password the user gave.
+     * @return The salted hash of the credentials.
+     */
+    private String key(String username, String password)
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            // The separator keeps "ab" + "c" and "a" + "bc" from hashing alike.
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(digest.digest());
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A user recently authenticated, along with the stored password hash they were authenticated against.
+     */
+    private static final class CachedAuthentication
+    {
+        /**
+         * The stored password hash of the user when they were authenticated.
+         */
+        private final String passwordHash;
+
+        /**
+         * Constructor.
+         *
+         * @param passwordHash The stored password hash of the user when they were authenticated.
+         */
+        private CachedAuthentication(String passwordHash)
+        {
+            this.passwordHash = passwordHash;
+        }
+
+        /**
+         * @param user The current details of the user, or null if they no longer exist.
+         * @return Whether the user still exists with the same password hash and a usable account.
+         */
+        private boolean isValidFor(UserDetails user)
+        {
+            return user != null
+                    && passwordHash.equals(user.getPassword())
+                    && user.isEnabled()
+                    && user.isAccountNonLocked()
+                    && user.isAccountNonExpired()
+                    && user.isCredentialsNonExpired();
+        }
+    }
+}
@@ -1,24 +1,52 @@
 package employee;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Objects;
 
 /**
- * This class represents an employee and all their related aspects.
+ * This class represents an employee and all their related aspects. Every read of current employees filters on status,
+ * so each of their indexes leads with it, followed by the column searched or sorted on. Incremental syncs read every
+ * employee, whatever their status, in the order they were last modified.
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_employee_status_id", columnList = "status, id"),
+        @Index(name = "idx_employee_status_last_name", columnList = "status, lastName"),
+        @Index(name = "idx_employee_status_first_name", columnList = "status, firstName"),
+        @Index(name = "idx_employee_status_date_of_employment", columnList = "status, dateOfEmployment"),
+        @Index(name = "idx_employee_status_date_of_birth", columnList = "status, dateOfBirth"),
+        @Index(name = "idx_employee_updated_at_id", columnList = "updatedAt, id")
+})
 class Employee
 {
     /**
-     * The unique identifier assigned to the employee.
+     * The number of IDs handed out per round trip to the employee sequence.
+     */
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * The unique identifier assigned to the employee. IDs are drawn from a pooled sequence so a block of them can be
+     * handed out per round trip, which also keeps Hibernate's JDBC insert batching enabled.
      */
     private @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_sequence")
+    @SequenceGenerator(name = "employee_sequence", sequenceName = "employee_sequence",
+            allocationSize = ID_ALLOCATION_SIZE)
     Long id;
 
     /**
@@ -53,6 +81,26 @@ class Employee
      */
     private Status status;
 
+    /**
+     * The number of times the employee has been updated, used to detect concurrent updates and as their ETag.
+     */
+    @Version
+    @JsonIgnore
+    private long version;
+
+    /**
+     * The time the employee was created.
+     */
+    @JsonIgnore
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    /**
+     * The last time the employee was created or updated.
+     */
+    @JsonIgnore
+    private Instant updatedAt;
+
     /**
      * Default, empty constructor.
      */
@@ -80,6 +128,25 @@ class Employee
         this.status = Status.ACTIVE;
     }
 
+    /**
+     * Copies an employee as they are now, unmanaged by the DB, so what they were is kept once they are changed.
+     *
+     * @param employee The employee to copy.
+     */
+    Employee(Employee employee)
+    {
+        this.id = employee.id;
+        this.firstName = employee.firstName;
+        this.middleInitial = employee.middleInitial;
+        this.lastName = employee.lastName;
+        this.dateOfBirth = employee.dateOfBirth;
+        this.dateOfEmployment = employee.dateOfEmployment;
+        this.status = employee.status;
+        this.version = employee.version;
+        this.createdAt = employee.createdAt;
+        this.updatedAt = employee.updatedAt;
+    }
+
     /**
      * @return The unique identifier assigned to the employee.
      */
@@ -206,6 +273,81 @@ class Employee
         this.status = status;
     }
 
+    /**
+     * @return The number of times the employee has been updated.
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Sets the version the employee is expected to be at, so that saving them fails if they have since been updated.
+     *
+     * @param version The version the employee is expected to be at.
+     */
+    public void setVersion(long version)
+    {
+        this.version = version;
+    }
+
+    /**
+     * @return The time the employee was created, or null if they have not been saved yet.
+     */
+    public Instant getCreatedAt()
+    {
+        return createdAt;
+    }
+
+    /**
+     * @param createdAt The time the employee was created, as read from the DB.
+     */
+    void setCreatedAt(Instant createdAt)
+    {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return The last time the employee was created or updated, or null if they have not been saved yet.
+     */
+    public Instant getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    /**
+     * @param updatedAt The last time the employee was created or updated, as read from the DB.
+     */
+    void setUpdatedAt(Instant updatedAt)
+    {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Readies an employee sent by a user to be created, as every path creating employees does. Every new employee is
+     * active, whether the user declares it or not, and is given a generated ID rather than one the user chose.
+     */
+    void prepareForCreation()
+    {
+        this.id = null;
+        this.status = Status.ACTIVE;
+    }
+
+    /**
+     * Records the time the employee is being created or updated at, just before it is written to the DB. The creation
+     * time is only recorded the first time the employee is written.
+     */
+    @PrePersist
+    @PreUpdate
+    void touch()
+    {
+        this.updatedAt = Instant.now();
+        if (createdAt == null)
+        {
+            this.createdAt = updatedAt;
+        }
+    }
+
     /**
      * Determines whether the passed object is equal to the calling object based on the unique ID, first name, middle
      * initial, and last name.
@@ -4,9 +4,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.SpringApplication;
 
 /**
- * This class represents and starts the REST employee application.
+ * This class represents and starts the REST employee application. R2DBC is only on the classpath when the reactive
+ * variant is built alongside, and is excluded so the application keeps using JPA.
  */
-@SpringBootApplication
+@SpringBootApplication(excludeName = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
 public class EmployeeApplication
 {
     /**
@@ -0,0 +1,107 @@
+package employee;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+
+/**
+ * This class represents the outcome of a single item within a batch request, reported with the HTTP status the item
+ * would have received had it been sent on its own.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class EmployeeBatchResult
+{
+    /**
+     * The position of the item within the batch request.
+     */
+    private final int index;
+
+    /**
+     * The ID of the employee the item applied to, or null if there is none.
+     */
+    private final Long id;
+
+    /**
+     * The HTTP status code describing the outcome of the item.
+     */
+    private final int status;
+
+    /**
+     * A description of why the item failed, or null if it succeeded.
+     */
+    private final String message;
+
+    /**
+     * Constructor.
+     *
+     * @param index   The position of the item within the batch request.
+     * @param id      The ID of the employee the item applied to, or null if there is none.
+     * @param status  The HTTP status describing the outcome of the item.
+     * @param message A description of why the item failed, or null if it succeeded.
+     */
+    private EmployeeBatchResult(int index, Long id, HttpStatus status, String message)
+    {
+        this.index = index;
+        this.id = id;
+        this.status = status.value();
+        this.message = message;
+    }
+
+    /**
+     * Creates the result of an item that succeeded.
+     *
+     * @param index  The position of the item within the batch request.
+     * @param id     The ID of the employee the item applied to.
+     * @param status The HTTP status describing the outcome of the item.
+     * @return The result of the item.
+     */
+    static EmployeeBatchResult success(int index, Long id, HttpStatus status)
+    {
+        return new EmployeeBatchResult(index, id, status, null);
+    }
+
+    /**
+     * Creates the result of an item that failed.
+     *
+     * @param index   The position of the item within the batch request.
+     * @param id      The ID of the employee the item applied to, or null if there is none.
+     * @param status  The HTTP status describing why the item failed.
+     * @param message A description of why the item failed.
+     * @return The result of the item.
+     */
+    static EmployeeBatchResult failure(int index, Long id, HttpStatus status, String message)
+    {
+        return new EmployeeBatchResult(index, id, status, message);
+    }
+
+    /**
+     * @return The position of the item within the batch request.
+     */
+    public int getIndex()
+    {
+        return this.index;
+    }
+
+    /**
+     * @return The ID of the employee the item applied to, or null if there is none.
+     */
+    public Long getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * @return The HTTP status code describing the outcome of the item.
+     */
+    public int getStatus()
+    {
+        return this.status;
+    }
+
+    /**
+     * @return A description of why the item failed, or null if it succeeded.
+     */
+    public String getMessage()
+    {
+        return this.message;
+    }
+}
@@ -0,0 +1,392 @@
+package employee;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * This class applies creates, replacements and deactivations to many employees at once. Items are written in chunks,
+ * one transaction per chunk, so each chunk reaches the DB as a handful of JDBC batches rather than a round trip per
+ * employee. A chunk that fails is rolled back and reported against each of its items without affecting other chunks.
+ */
+@Component
+class EmployeeBatchService
+{
+    /**
+     * Logger used for debugging.
+     */
+    private static final Logger log = LoggerFactory.getLogger(EmployeeBatchService.class);
+
+    /**
+     * The class responsible for access to perform operations to the DB containing employees.
+     */
+    private final EmployeeRepository repository;
+
+    /**
+     * The entity manager, cleared after every chunk so the persistence context does not grow with the batch.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * The class responsible for caching employees by their unique ID.
+     */
+    private final EmployeeCache employeeCache;
+
+    /**
+     * The publisher announcing every change made to an employee.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The template used to run each chunk in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The number of items written per transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructor.
+     *
+     * @param repository         The class responsible for access to perform operations to the DB containing employees.
+     * @param entityManager      The entity manager, cleared after every chunk.
+     * @param employeeCache      The class responsible for caching employees by their unique ID.
+     * @param eventPublisher     The publisher announcing every change made to an employee.
+     * @param transactionManager The transaction manager used to run each chunk in its own transaction.
+     * @param chunkSize          The number of items written per transaction.
+     */
+    EmployeeBatchService(EmployeeRepository repository, EntityManager entityManager, EmployeeCache employeeCache,
+                         ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                         @Value("${employee.batch.chunk-size:500}") int chunkSize)
+    {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.employeeCache = employeeCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates every given employee. As with a single create, each new employee is made active whether or not the
+     * request declares it.
+     *
+     * @param newEmployees The employees to create.
+     * @return The result of each item, in request order.
+     */
+    List<EmployeeBatchResult> createAll(List<Employee> newEmployees)
+    {
+        return inChunks(newEmployees, chunk -> {
+            List<EmployeeBatchResult> results = new ArrayList<>(chunk.size());
+            List<Employee> toSave = new ArrayList<>(chunk.size());
+
+            for (Employee newEmployee : chunk.items)
+            {
+                if (newEmployee == null)
+                {
+                    continue;
+                }
+
+                // The ID is always generated so the insert can join the batch instead of being merged.
+                newEmployee.prepareForCreation();
+                toSave.add(newEmployee);
+            }
+
+            repository.saveAll(toSave);
+            repository.flush();
+            publish(EmployeeChangedEvent.Type.CREATED, toSave);
+
+            for (int i = 0; i < chunk.size(); i++)
+            {
+                Employee newEmployee = chunk.items.get(i);
+                results.add(newEmployee == null
+                        ? EmployeeBatchResult.failure(chunk.offset + i, null, HttpStatus.BAD_REQUEST, "Missing employee")
+                        : EmployeeBatchResult.success(chunk.offset + i, newEmployee.getId(), HttpStatus.CREATED));
+            }
+
+            return results;
+        });
+    }
+
+    /**
+     * Replaces the information of every given employee, matched by their ID. As with a single replacement, an
+     * employee whose ID does not exist is created instead.
+     *
+     * @param newEmployees The employees to replace, each carrying the ID of the employee it replaces.
+     * @return The result of each item, in request order.
+     */
+    List<EmployeeBatchResult> replaceAll(List<Employee> newEmployees)
+    {
+        return inChunks(newEmployees, chunk -> {
+            Map<Long, Employee> existing = findAllById(chunk.items, Employee::getId);
+            List<EmployeeBatchResult> results = new ArrayList<>(chunk.size());
+            List<Employee> created = new ArrayList<>();
+            Map<Long, Employee> previous = new LinkedHashMap<>();
+
+            for (int i = 0; i < chunk.size(); i++)
+            {
+                Employee newEmployee = chunk.items.get(i);
+                int index = chunk.offset + i;
+
+                if (newEmployee == null || newEmployee.getId() == null)
+                {
+                    results.add(EmployeeBatchResult.failure(index, null, HttpStatus.BAD_REQUEST, "Missing employee ID"));
+                    continue;
+                }
+
+                Employee employee = existing.get(newEmployee.getId());
+                if (employee == null)
+                {
+                    newEmployee.prepareForCreation();
+                    created.add(newEmployee);
+                    results.add(null);
+                    continue;
+                }
+
+                // An employee replaced more than once within the chunk is written, and announced, once.
+                previous.putIfAbsent(employee.getId(), new Employee(employee));
+                employee.setFirstName(newEmployee.getFirstName());
+                employee.setMiddleInitial(newEmployee.getMiddleInitial());
+                employee.setLastName(newEmployee.getLastName());
+                employee.setDateOfEmployment(newEmployee.getDateOfEmployment());
+                employee.setDateOfBirth(newEmployee.getDateOfBirth());
+                results.add(EmployeeBatchResult.success(index, employee.getId(), HttpStatus.OK));
+            }
+
+            repository.saveAll(created);
+            repository.flush();
+            previous.forEach((id, before) -> eventPublisher.publishEvent(
+                    new EmployeeChangedEvent(EmployeeChangedEvent.Type.UPDATED, before, existing.get(id))));
+            publish(EmployeeChangedEvent.Type.CREATED, created);
+
+            // Created employees only know their generated ID once they have been saved.
+            int next = 0;
+            for (int i = 0; i < results.size(); i++)
+            {
+                if (results.get(i) == null)
+                {
+                    results.set(i, EmployeeBatchResult.success(chunk.offset + i, created.get(next++).getId(),
+                            HttpStatus.CREATED));
+                }
+            }
+
+            return results;
+        });
+    }
+
+    /**
+     * Sets every given employee to inactive. The active employees of each chunk are read and locked, so they can be
+     * announced with what they changed from, then set inactive together by a single update. As with a single
+     * deactivation, an employee that does not exist or is already inactive is not found. An ID repeated within the
+     * request is only deactivated once, and its repeats are rejected.
+     *
+     * @param ids The IDs of the employees to set to inactive.
+     * @return The result of each item, in request order.
+     */
+    List<EmployeeBatchResult> deactivateAll(List<Long> ids)
+    {
+        Set<Long> seen = new HashSet<>();
+        Set<Integer> repeats = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++)
+        {
+            if (ids.get(i) != null && !seen.add(ids.get(i)))
+            {
+                repeats.add(i);
+            }
+        }
+
+        return inChunks(ids, chunk -> {
+            List<Long> chunkIds = new ArrayList<>(chunk.size());
+            for (Long id : chunk.items)
+            {
+                if (id != null)
+                {
+                    chunkIds.add(id);
+                }
+            }
+
+            Map<Long, Employee> previous = new HashMap<>();
+            if (!chunkIds.isEmpty())
+            {
+                repository.findAllForUpdate(chunkIds, Status.ACTIVE)
+                        .forEach(employee -> previous.put(employee.getId(), new Employee(employee)));
+            }
+
+            // The employees read are locked, so the update changes exactly them and no other.
+            Instant now = Instant.now();
+            int updated = previous.isEmpty() ? 0 : repository.updateStatus(previous.keySet(), Status.INACTIVE, now);
+            if (updated != previous.size())
+            {
+                throw new IllegalStateException("Deactivated " + updated + " of " + previous.size() + " employees");
+            }
+
+            List<EmployeeBatchResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++)
+            {
+                Long id = chunk.items.get(i);
+                int index = chunk.offset + i;
+
+                if (repeats.contains(index))
+                {
+                    results.add(EmployeeBatchResult.failure(index, id, HttpStatus.BAD_REQUEST,
+                            "Employee " + id + " is repeated within the request"));
+                }
+                else if (!previous.containsKey(id))
+                {
+                    results.add(EmployeeBatchResult.failure(index, id, HttpStatus.NOT_FOUND,
+                            "Could not find employee " + id));
+                }
+                else
+                {
+                    // Deactivations are announced with only the status written, as a single deactivation is.
+                    eventPublisher.publishEvent(EmployeeChangedEvent.deactivated(previous.get(id), now));
+                    results.add(EmployeeBatchResult.success(index, id, HttpStatus.OK));
+                }
+            }
+
+            return results;
+        });
+    }
+
+    /**
+     * Announces a change to each of the given employees. Called within the chunk's transaction once it has been
+     * flushed, so the employees carry their new versions and the changes are only delivered if the chunk commits.
+     *
+     * @param type      The kind of change made to the employees.
+     * @param employees The employees as written to the DB.
+     */
+    private void publish(EmployeeChangedEvent.Type type, List<Employee> employees)
+    {
+        for (Employee employee : employees)
+        {
+            eventPublisher.publishEvent(new EmployeeChangedEvent(type, employee));
+        }
+    }
+
+    /**
+     * Loads every employee referenced by the given items with a single query.
+     *
+     * @param items The items referencing employees.
+     * @param toId  The function retrieving the employee ID from an item, which may return null.
+     * @param <T>   The type of the items.
+     * @return The employees found, by ID.
+     */
+    private <T> Map<Long, Employee> findAllById(List<T> items, Function<T, Long> toId)
+    {
+        List<Long> ids = new ArrayList<>(items.size());
+        for (T item : items)
+        {
+            Long id = item == null ? null : toId.apply(item);
+            if (id != null)
+            {
+                ids.add(id);
+            }
+        }
+
+        Map<Long, Employee> employees = new HashMap<>();
+        repository.findAllById(ids).forEach(employee -> employees.put(employee.getId(), employee));
+
+        return employees;
+    }
+
+    /**
+     * Splits the items into chunks and applies the given work to each chunk in its own transaction. If a chunk fails,
+     * every item within it is reported as failed and the remaining chunks still run.
+     *
+     * @param items The items to apply the work to.
+     * @param work  The work to apply to a chunk, returning the result of each item in the chunk, in order.
+     * @param <T>   The type of the items.
+     * @return The result of each item, in request order.
+     */
+    private <T> List<EmployeeBatchResult> inChunks(List<T> items, Function<Chunk<T>, List<EmployeeBatchResult>> work)
+    {
+        List<EmployeeBatchResult> results = new ArrayList<>(items.size());
+
+        for (int offset = 0; offset < items.size(); offset += chunkSize)
+        {
+            Chunk<T> chunk = new Chunk<>(items.subList(offset, Math.min(offset + chunkSize, items.size())), offset);
+
+            try
+            {
+                List<EmployeeBatchResult> chunkResults = transactionTemplate.execute(status -> work.apply(chunk));
+                results.addAll(chunkResults);
+
+                // Cached copies are only dropped once the chunk has committed, so they cannot be reloaded stale.
+                chunkResults.stream()
+                        .filter(result -> result.getId() != null && result.getMessage() == null)
+                        .forEach(result -> employeeCache.evict(result.getId()));
+            }
+            catch (RuntimeException e)
+            {
+                log.warn("Batch chunk starting at item " + offset + " failed", e);
+                for (int i = 0; i < chunk.size(); i++)
+                {
+                    results.add(EmployeeBatchResult.failure(offset + i, null, HttpStatus.INTERNAL_SERVER_ERROR,
+                            "The chunk containing this item failed and was rolled back"));
+                }
+            }
+            finally
+            {
+                entityManager.clear();
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * A contiguous part of a batch request, written within a single transaction.
+     *
+     * @param <T> The type of the items.
+     */
+    private static final class Chunk<T>
+    {
+        /**
+         * The items in this chunk.
+         */
+        private final List<T> items;
+
+        /**
+         * The position of the first item of this chunk within the batch request.
+         */
+        private final int offset;
+
+        /**
+         * Constructor.
+         *
+         * @param items  The items in this chunk.
+         * @param offset The position of the first item of this chunk within the batch request.
+         */
+        private Chunk(List<T> items, int offset)
+        {
+            this.items = items;
+            this.offset = offset;
+        }
+
+        /**
+         * @return The number of items in this chunk.
+         */
+        private int size()
+        {
+            return this.items.size();
+        }
+    }
+}
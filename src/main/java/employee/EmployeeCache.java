@@ -0,0 +1,144 @@
+package employee;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This class is a bounded, in-process read-through cache of employees by their unique ID. Entries expire after a
+ * fixed time and the least recently used are evicted once the cache is full. Every write to an employee must be
+ * followed by {@link #evict(Long)} so the cache, and the caches of other nodes, never serve a stale employee for
+ * longer than it takes to announce the change. Written employees are evicted rather than cached as written, as writers
+ * racing on the same employee can finish in any order, and the last to put their copy might not hold the latest one.
+ */
+@Component
+public class EmployeeCache
+{
+    /**
+     * The name the cache metrics are published under.
+     */
+    private static final String CACHE_NAME = "employees";
+
+    /**
+     * The cached employees, by ID.
+     */
+    private final Cache<Long, Employee> cache;
+
+    /**
+     * Whether the cache is in use. When it is not, every lookup goes straight to the loader.
+     */
+    private final boolean enabled;
+
+    /**
+     * The publishers announcing changed employees to other nodes. Empty when invalidations stay local.
+     */
+    private final List<EmployeeCacheInvalidationPublisher> publishers;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled       Whether the cache is in use.
+     * @param maximumSize   The largest number of employees the cache will hold.
+     * @param ttl           How long an employee is cached for after it has been loaded or written.
+     * @param publishers    The publishers announcing changed employees to other nodes.
+     * @param meterRegistry The registry to publish hit, miss and eviction metrics to, if there is one.
+     */
+    EmployeeCache(@Value("${employee.cache.enabled:true}") boolean enabled,
+                  @Value("${employee.cache.maximum-size:10000}") long maximumSize,
+                  @Value("${employee.cache.ttl:10m}") Duration ttl,
+                  ObjectProvider<EmployeeCacheInvalidationPublisher> publishers,
+                  ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.publishers = publishers.orderedStream().collect(Collectors.toList());
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    /**
+     * Returns the employee with the given ID from the cache, loading and caching them on a miss. Employees that
+     * cannot be found are not cached.
+     *
+     * @param id     The ID of the employee to return.
+     * @param loader The function loading the employee from the DB on a miss.
+     * @return The employee, or empty if they could not be found.
+     */
+    Optional<Employee> get(Long id, Function<Long, Optional<Employee>> loader)
+    {
+        if (!enabled)
+        {
+            return loader.apply(id);
+        }
+
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Returns the employee with the given ID only if they are already cached, loading nothing on a miss.
+     *
+     * @param id The ID of the employee to return.
+     * @return The cached employee, or empty if they are not cached.
+     */
+    Optional<Employee> getIfPresent(Long id)
+    {
+        return enabled ? Optional.ofNullable(cache.getIfPresent(id)) : Optional.empty();
+    }
+
+    /**
+     * Removes the cached copy of an employee that has just been written, and announces the change to other nodes.
+     *
+     * @param id The ID of the employee that was written.
+     */
+    void evict(Long id)
+    {
+        evictLocally(id);
+        publishInvalidation(id);
+    }
+
+    /**
+     * Removes the cached copy of an employee on this node only. Called when another node announces a change.
+     *
+     * @param id The ID of the employee that was written.
+     */
+    public void evictLocally(Long id)
+    {
+        cache.invalidate(id);
+    }
+
+    /**
+     * @return The hit, miss, load and eviction counts of the cache since it was created.
+     */
+    public CacheStats stats()
+    {
+        return cache.stats();
+    }
+
+    /**
+     * Announces a changed employee to every publisher.
+     *
+     * @param id The ID of the employee that was written.
+     */
+    private void publishInvalidation(Long id)
+    {
+        for (EmployeeCacheInvalidationPublisher publisher : publishers)
+        {
+            publisher.publishInvalidation(id);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package employee;
+
+/**
+ * This interface is called whenever an employee changes, so the change can be announced to other nodes of the
+ * application and they can evict their own cached copy of the employee. Any bean implementing it is picked up by the
+ * {@link EmployeeCache}; when there is none, invalidations stay local to this node.
+ */
+public interface EmployeeCacheInvalidationPublisher
+{
+    /**
+     * Announces that the employee with the given ID has changed and must no longer be served from a cache. A node
+     * receiving the announcement should call {@link EmployeeCache#evictLocally(Long)}.
+     *
+     * @param id The ID of the employee that has changed.
+     */
+    void publishInvalidation(Long id);
+}
@@ -0,0 +1,96 @@
+package employee;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This class holds back the changes to employees committed while every employee is being read into memory, so that
+ * once the read is done only the changes it did not see are applied on top of it. The read must be made within a
+ * single snapshot of the DB, such as a repeatable read transaction, and the held changes released within the same one:
+ * a change was seen by the read if the employee was read at its version or a later one.
+ * <p>
+ * It is not thread safe. Its owner guards it with the same lock it applies changes under, so no change can slip in
+ * between being released and being applied.
+ */
+class EmployeeChangeBacklog
+{
+    /**
+     * The class responsible for access to perform operations to the DB containing employees.
+     */
+    private final EmployeeRepository repository;
+
+    /**
+     * The changes held back, in the order they were committed, or null while changes are not being held back.
+     */
+    private List<EmployeeChangedEvent> held;
+
+    /**
+     * Constructor.
+     *
+     * @param repository The class responsible for access to perform operations to the DB containing employees.
+     */
+    EmployeeChangeBacklog(EmployeeRepository repository)
+    {
+        this.repository = repository;
+    }
+
+    /**
+     * Starts holding back changes, before every employee is read.
+     */
+    void hold()
+    {
+        held = new ArrayList<>();
+    }
+
+    /**
+     * Holds back a change if changes are being held back.
+     *
+     * @param event The change made to an employee.
+     * @return Whether the change was held back, rather than left to be applied straight away.
+     */
+    boolean offer(EmployeeChangedEvent event)
+    {
+        if (held == null)
+        {
+            return false;
+        }
+
+        held.add(event);
+        return true;
+    }
+
+    /**
+     * Stops holding back changes, and returns those the read did not see. Must be called within the transaction
+     * every employee was read in.
+     *
+     * @return The changes held back that are newer than the employees read, in the order they were committed.
+     */
+    List<EmployeeChangedEvent> release()
+    {
+        List<EmployeeChangedEvent> changes = held;
+        held = null;
+        if (changes.isEmpty())
+        {
+            return changes;
+        }
+
+        // An employee not read at all was created after the read, so every change to them is newer than it.
+        Map<Long, Long> versions = new HashMap<>();
+        repository.findVersions(changes.stream().map(EmployeeChangedEvent::getId).collect(Collectors.toSet()))
+                .forEach(read -> versions.put(read.getId(), read.getVersion()));
+        changes.removeIf(event -> event.getVersion() <= versions.getOrDefault(event.getId(), -1L));
+
+        return changes;
+    }
+
+    /**
+     * Stops holding back changes and drops those held, when the read failed and will be made again.
+     */
+    void discard()
+    {
+        held = null;
+    }
+}
@@ -0,0 +1,451 @@
+package employee;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class keeps the most recent changes to employees in a fixed-size ring buffer, numbered in the order they were
+ * committed, and streams them to subscribers as server-sent events. Downstream systems can follow the feed instead of
+ * polling the whole employee collection.
+ * <p>
+ * Each event is named after the kind of change, carries the employee as JSON, or only the fields written along with
+ * the ID when an employee was patched or deactivated, and has an ID of the form {@code <stream>-<sequence>}, where the
+ * stream identifies this run of the server. A subscriber reconnecting with a {@code Last-Event-ID} header is first
+ * sent every change it missed. If those changes have already left the buffer, or were numbered by an earlier run of
+ * the server, it is sent a {@code reset} event instead and should reload the collection before following the feed
+ * again.
+ * <p>
+ * Changes are recorded and queued for each subscriber without ever waiting on a subscriber. Each subscriber is sent
+ * its changes by its own task on the application's task executor, a bounded pool of platform threads unless
+ * {@code employee.threads.virtual=true} runs each task on a virtual thread, and a subscriber that falls more than a
+ * fixed number of changes behind is disconnected rather than buffered for without limit. It can resume from its last
+ * event like any other reconnecting subscriber.
+ */
+@Component
+class EmployeeChangeFeed
+{
+    /**
+     * The name of the event sent when a subscriber cannot be sent the changes it missed.
+     */
+    private static final String RESET_EVENT = "reset";
+
+    /**
+     * Identifies this run of the server, so sequence numbers from an earlier run are not mistaken for current ones.
+     */
+    private final String stream = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * The most recent changes, each at the index of its sequence number modulo the capacity.
+     */
+    private final Change[] ring;
+
+    /**
+     * The sequence number the next change will be given. Sequence numbers start at 1.
+     */
+    private long nextSequence = 1;
+
+    /**
+     * The subscribers currently following the feed.
+     */
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    /**
+     * The largest number of changes a subscriber may fall behind by before it is disconnected.
+     */
+    private final int subscriberBuffer;
+
+    /**
+     * How long a subscriber stays connected before it has to reconnect.
+     */
+    private final Duration timeout;
+
+    /**
+     * The mapper turning employees into JSON, once per change however many subscribers there are.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The executor sending changes to subscribers, so a subscriber on a slow connection does not hold up the writer.
+     */
+    private final TaskExecutor senders;
+
+    /**
+     * The number of subscribers disconnected for falling too far behind.
+     */
+    private final Counter slowSubscribers;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity         The number of most recent changes kept for subscribers to resume from.
+     * @param subscriberBuffer The largest number of changes a subscriber may fall behind by before it is disconnected.
+     * @param timeout          How long a subscriber stays connected before it has to reconnect.
+     * @param objectMapper     The mapper turning employees into JSON.
+     * @param senders          The application's task executor, sending changes to subscribers.
+     * @param meterRegistry    The registry to publish subscriber metrics to.
+     */
+    EmployeeChangeFeed(@Value("${employee.changes.capacity:10000}") int capacity,
+                       @Value("${employee.changes.subscriber-buffer:1000}") int subscriberBuffer,
+                       @Value("${employee.changes.timeout:30m}") Duration timeout,
+                       ObjectMapper objectMapper,
+                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                       TaskExecutor senders, MeterRegistry meterRegistry)
+    {
+        this.ring = new Change[capacity];
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.senders = senders;
+
+        Gauge.builder("employee.changes.subscribers", this, EmployeeChangeFeed::subscriberCount)
+                .description("Subscribers following the employee change feed")
+                .register(meterRegistry);
+        this.slowSubscribers = Counter.builder("employee.changes.slow-subscribers")
+                .description("Subscribers disconnected for falling too far behind the employee change feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a committed change and queues it for every subscriber. Changes made outside a transaction are recorded
+     * straight away.
+     *
+     * @param event The change made to an employee.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event)
+    {
+        String json = toJson(event);
+
+        synchronized (this)
+        {
+            Change change = new Change(nextSequence++, event.getType().name().toLowerCase(Locale.ROOT), json);
+            ring[(int) (change.sequence % ring.length)] = change;
+
+            for (Subscriber subscriber : subscribers)
+            {
+                subscriber.offer(change);
+            }
+
+            // A subscriber that fell behind stops being sent changes now, even while its last send is still blocked.
+            subscribers.removeIf(Subscriber::isDisconnecting);
+        }
+    }
+
+    /**
+     * Adds a subscriber to the feed, first sending it every change it missed since its last event, if it has one.
+     *
+     * @param lastEventId The ID of the last event the subscriber received, or null if it is new.
+     * @return The emitter the changes are sent through.
+     */
+    SseEmitter subscribe(String lastEventId)
+    {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        synchronized (this)
+        {
+            if (lastEventId != null)
+            {
+                long first = firstMissed(lastEventId);
+                if (first < 0)
+                {
+                    subscriber.offerReset(eventId(nextSequence - 1));
+                }
+                else
+                {
+                    for (long sequence = first; sequence < nextSequence; sequence++)
+                    {
+                        subscriber.offerMissed(ring[(int) (sequence % ring.length)]);
+                    }
+                }
+            }
+
+            subscribers.add(subscriber);
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Works out the first change a reconnecting subscriber missed.
+     *
+     * @param lastEventId The ID of the last event the subscriber received.
+     * @return The sequence number of the first change missed, or -1 if the subscriber cannot resume from the buffer.
+     */
+    private long firstMissed(String lastEventId)
+    {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(stream))
+        {
+            return -1;
+        }
+
+        long last;
+        try
+        {
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        }
+        catch (NumberFormatException e)
+        {
+            return -1;
+        }
+
+        long oldest = Math.max(1, nextSequence - ring.length);
+
+        return last + 1 < oldest || last >= nextSequence ? -1 : last + 1;
+    }
+
+    /**
+     * @param sequence The sequence number of a change.
+     * @return The ID of the event carrying the change.
+     */
+    private String eventId(long sequence)
+    {
+        return stream + "-" + sequence;
+    }
+
+    /**
+     * @param event The change made to an employee.
+     * @return The employee, or the fields of the employee that were written, as JSON.
+     */
+    private String toJson(EmployeeChangedEvent event)
+    {
+        try
+        {
+            return objectMapper.writeValueAsString(event.getWritten());
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException("Could not write employee " + event.getId() + " as JSON", e);
+        }
+    }
+
+    /**
+     * @param subscriber The subscriber to stop sending changes to.
+     */
+    private synchronized void remove(Subscriber subscriber)
+    {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * @return The number of subscribers currently following the feed.
+     */
+    private synchronized int subscriberCount()
+    {
+        return subscribers.size();
+    }
+
+    /**
+     * A change recorded in the ring buffer.
+     */
+    private static final class Change
+    {
+        /**
+         * The position of the change in the order changes were committed.
+         */
+        private final long sequence;
+
+        /**
+         * The name of the event carrying the change.
+         */
+        private final String name;
+
+        /**
+         * The employee as JSON.
+         */
+        private final String json;
+
+        /**
+         * Constructor.
+         *
+         * @param sequence The position of the change in the order changes were committed.
+         * @param name     The name of the event carrying the change.
+         * @param json     The employee as JSON.
+         */
+        private Change(long sequence, String name, String json)
+        {
+            this.sequence = sequence;
+            this.name = name;
+            this.json = json;
+        }
+    }
+
+    /**
+     * A subscriber following the feed, with the events queued for it and not yet sent.
+     */
+    private final class Subscriber
+    {
+        /**
+         * The emitter the events are sent through.
+         */
+        private final SseEmitter emitter;
+
+        /**
+         * The events queued and not yet sent.
+         */
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+
+        /**
+         * Whether a task is currently sending this subscriber's events.
+         */
+        private boolean sending;
+
+        /**
+         * Whether the subscriber is being disconnected, having fallen too far behind or lost its connection.
+         */
+        private boolean disconnecting;
+
+        /**
+         * Constructor.
+         *
+         * @param emitter The emitter the events are sent through.
+         */
+        private Subscriber(SseEmitter emitter)
+        {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues a new change, marking the subscriber to be disconnected instead if it has fallen too far behind.
+         *
+         * @param change The change to send.
+         */
+        private synchronized void offer(Change change)
+        {
+            if (disconnecting)
+            {
+                return;
+            }
+
+            if (pending.size() >= subscriberBuffer)
+            {
+                disconnecting = true;
+                pending.clear();
+                slowSubscribers.increment();
+            }
+            else
+            {
+                pending.add(event(change));
+            }
+
+            startSending();
+        }
+
+        /**
+         * @return Whether the subscriber is being disconnected.
+         */
+        private synchronized boolean isDisconnecting()
+        {
+            return disconnecting;
+        }
+
+        /**
+         * Queues a change the subscriber missed while disconnected. These are bounded by the ring buffer rather than
+         * the subscriber's buffer, so a subscriber can always catch up on what the feed still holds.
+         *
+         * @param change The change to send.
+         */
+        private synchronized void offerMissed(Change change)
+        {
+            pending.add(event(change));
+            startSending();
+        }
+
+        /**
+         * Queues the event telling the subscriber to reload the collection, as the changes it missed are gone.
+         *
+         * @param lastEventId The ID of the most recent change, to resume from once the collection is reloaded.
+         */
+        private synchronized void offerReset(String lastEventId)
+        {
+            pending.add(SseEmitter.event().id(lastEventId).name(RESET_EVENT).data(""));
+            startSending();
+        }
+
+        /**
+         * @param change The change to send.
+         * @return The event carrying the change.
+         */
+        private SseEmitter.SseEventBuilder event(Change change)
+        {
+            return SseEmitter.event().id(eventId(change.sequence)).name(change.name).data(change.json);
+        }
+
+        /**
+         * Starts a task sending the queued events, unless one is already running.
+         */
+        private void startSending()
+        {
+            if (!sending)
+            {
+                sending = true;
+                senders.execute(this::send);
+            }
+        }
+
+        /**
+         * Sends queued events until there are none left, disconnecting the subscriber if it fell too far behind or
+         * its connection failed. The subscriber's lock is never held while sending or while taking the feed's lock.
+         */
+        private void send()
+        {
+            while (true)
+            {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this)
+                {
+                    event = disconnecting ? null : pending.poll();
+                    if (event == null && !disconnecting)
+                    {
+                        sending = false;
+                        return;
+                    }
+                }
+
+                if (event == null)
+                {
+                    remove(this);
+                    emitter.complete();
+                    return;
+                }
+
+                try
+                {
+                    emitter.send(event);
+                }
+                catch (IOException | IllegalStateException e)
+                {
+                    synchronized (this)
+                    {
+                        disconnecting = true;
+                        pending.clear();
+                    }
+                    remove(this);
+                    return;
+                }
+            }
+        }
+    }
+}
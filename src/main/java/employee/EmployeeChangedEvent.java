@@ -0,0 +1,213 @@
+package employee;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is published whenever an employee is created, replaced, patched or deactivated, by every path that writes
+ * employees. Published within a transaction, it is only delivered to the {@link EmployeeChangeFeed} once the
+ * transaction commits, so changes that are rolled back are never announced.
+ * <p>
+ * Employees written without being loaded, by a patch or a deactivation, are announced with only the fields written,
+ * along with their ID. Either way the change can be applied to a copy of the employee as a JSON Merge Patch. Every
+ * change also carries the employee as they were before it, unless they were created, and the version written, so a
+ * listener can tell what moved and ignore a change it has already seen.
+ */
+class EmployeeChangedEvent
+{
+    /**
+     * The kinds of change made to an employee.
+     */
+    enum Type
+    {
+        CREATED, UPDATED, DEACTIVATED
+    }
+
+    /**
+     * The kind of change made to the employee.
+     */
+    private final Type type;
+
+    /**
+     * The ID of the employee.
+     */
+    private final Long id;
+
+    /**
+     * The employee as it was written to the DB, or null if only some of their fields were written.
+     */
+    private final Employee employee;
+
+    /**
+     * The employee as they were before the change, or null if they were created.
+     */
+    private final Employee previous;
+
+    /**
+     * The version of the employee written.
+     */
+    private final long version;
+
+    /**
+     * The time the employee was written.
+     */
+    private final Instant updatedAt;
+
+    /**
+     * The fields written, by name, along with the ID, or null if the whole employee was written.
+     */
+    private final Map<String, Object> fields;
+
+    /**
+     * The fields written, by name, as the type of the field, or null if the whole employee was written.
+     */
+    private final Map<String, Object> values;
+
+    /**
+     * Constructor.
+     *
+     * @param type     The kind of change made to the employee.
+     * @param employee The employee as it was written to the DB.
+     */
+    EmployeeChangedEvent(Type type, Employee employee)
+    {
+        this(type, null, employee);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param type     The kind of change made to the employee.
+     * @param previous The employee as they were before the change, or null if they were created.
+     * @param employee The employee as it was written to the DB.
+     */
+    EmployeeChangedEvent(Type type, Employee previous, Employee employee)
+    {
+        this.type = type;
+        this.id = employee.getId();
+        this.employee = employee;
+        this.previous = previous;
+        this.version = employee.getVersion();
+        this.updatedAt = employee.getUpdatedAt();
+        this.fields = null;
+        this.values = null;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param type      The kind of change made to the employee.
+     * @param previous  The employee as they were before the change.
+     * @param updatedAt The time the employee was written.
+     * @param fields    The fields written, by name, as they would be written in an {@link Employee}.
+     * @param values    The fields written, by name, as the type of the field.
+     */
+    private EmployeeChangedEvent(Type type, Employee previous, Instant updatedAt, Map<String, Object> fields,
+                                 Map<String, Object> values)
+    {
+        Map<String, Object> written = new LinkedHashMap<>();
+        written.put("id", previous.getId());
+        written.putAll(fields);
+
+        this.type = type;
+        this.id = previous.getId();
+        this.employee = null;
+        this.previous = previous;
+        this.version = previous.getVersion() + 1;
+        this.updatedAt = updatedAt;
+        this.fields = Collections.unmodifiableMap(written);
+        this.values = values;
+    }
+
+    /**
+     * Builds the event of an employee patched without being loaded.
+     *
+     * @param previous  The employee as they were before the patch.
+     * @param patch     The patch applied to the employee.
+     * @param updatedAt The time the employee was patched.
+     * @return The event.
+     */
+    static EmployeeChangedEvent patched(Employee previous, EmployeeMergePatch patch, Instant updatedAt)
+    {
+        return new EmployeeChangedEvent(Type.UPDATED, previous, updatedAt, patch.getDocument(), patch.getValues());
+    }
+
+    /**
+     * Builds the event of an employee deactivated without being loaded.
+     *
+     * @param previous  The employee as they were before being deactivated.
+     * @param updatedAt The time the employee was deactivated.
+     * @return The event.
+     */
+    static EmployeeChangedEvent deactivated(Employee previous, Instant updatedAt)
+    {
+        Map<String, Object> status = Map.of("status", Status.INACTIVE);
+        return new EmployeeChangedEvent(Type.DEACTIVATED, previous, updatedAt, status, status);
+    }
+
+    /**
+     * @return The kind of change made to the employee.
+     */
+    Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return The ID of the employee.
+     */
+    Long getId()
+    {
+        return id;
+    }
+
+    /**
+     * @return The employee as it was written to the DB, or null if only some of their fields were written.
+     */
+    Employee getEmployee()
+    {
+        return employee;
+    }
+
+    /**
+     * @return The employee as they were before the change, or null if they were created.
+     */
+    Employee getPrevious()
+    {
+        return previous;
+    }
+
+    /**
+     * @return The version of the employee written.
+     */
+    long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * @return The time the employee was written.
+     */
+    Instant getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    /**
+     * @return The fields written, by name, as the type of the field, or null if the whole employee was written.
+     */
+    Map<String, Object> getValues()
+    {
+        return values;
+    }
+
+    /**
+     * @return The employee as it was written to the DB, or the fields written along with the ID.
+     */
+    Object getWritten()
+    {
+        return employee != null ? employee : fields;
+    }
+}
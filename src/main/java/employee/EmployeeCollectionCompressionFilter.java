@@ -0,0 +1,281 @@
+package employee;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class gzips pages of the employee collection and keeps them compressed, by ETag, so clients polling the
+ * collection without a validator do not have every employee loaded, written and compressed again while nothing has
+ * changed. Tomcat does not compress responses with a strong ETag, so without this pages would go out uncompressed.
+ * <p>
+ * A compressed page is sent with a weak ETag, as its bytes differ from the uncompressed page's. Conditional requests
+ * compare ETags weakly, so clients holding either version of a page still get a 304 while it is current.
+ */
+@Component
+class EmployeeCollectionCompressionFilter extends OncePerRequestFilter
+{
+    /**
+     * The name the cache metrics are published under.
+     */
+    private static final String CACHE_NAME = "compressed-collections";
+
+    /**
+     * The request attribute holding the cached page the controller chose to send instead of building the page.
+     */
+    private static final String CACHED_ATTRIBUTE = EmployeeCollectionCompressionFilter.class.getName() + ".cached";
+
+    /**
+     * The headers of a page that are sent again with its cached copy.
+     */
+    private static final String[] CACHED_HEADERS = {
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CACHE_CONTROL, HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY
+    };
+
+    /**
+     * The compressed pages, by the ETag of the page and what it was written for.
+     */
+    private final Cache<String, CompressedPage> cache;
+
+    /**
+     * Whether pages are compressed and cached.
+     */
+    private final boolean enabled;
+
+    /**
+     * The size from which a page is compressed, as smaller pages would barely shrink.
+     */
+    private final long minResponseSize;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled         Whether pages are compressed and cached.
+     * @param maximumWeight   The largest number of compressed bytes the cache will hold.
+     * @param minResponseSize The size from which a page is compressed.
+     * @param meterRegistry   The registry to publish hit, miss and eviction metrics to, if there is one.
+     */
+    EmployeeCollectionCompressionFilter(@Value("${employee.compression.cache.enabled:true}") boolean enabled,
+                                        @Value("${employee.compression.cache.maximum-weight:32MB}")
+                                        DataSize maximumWeight,
+                                        @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize,
+                                        ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        this.enabled = enabled;
+        this.minResponseSize = minResponseSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String key, CompressedPage page) -> page.body.length)
+                .recordStats()
+                .build();
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    /**
+     * Looks for a compressed copy of a page, to be sent by this filter in place of the page. Only requests for the
+     * collection that accept gzip are answered from the cache.
+     *
+     * @param etag    The ETag of the page.
+     * @param request The request for the page.
+     * @return Whether a copy was found, in which case the controller should not write the page.
+     */
+    boolean useCached(String etag, WebRequest request)
+    {
+        HttpServletRequest servletRequest = request instanceof NativeWebRequest
+                ? ((NativeWebRequest) request).getNativeRequest(HttpServletRequest.class)
+                : null;
+        if (servletRequest == null || shouldNotFilter(servletRequest))
+        {
+            return false;
+        }
+
+        CompressedPage page = cache.getIfPresent(key(etag, servletRequest));
+        if (page == null)
+        {
+            return false;
+        }
+
+        servletRequest.setAttribute(CACHED_ATTRIBUTE, page);
+
+        return true;
+    }
+
+    /**
+     * Only filters requests for pages of the collection, from clients accepting gzip.
+     *
+     * @param request The request.
+     * @return Whether the request is left alone.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request)
+    {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+        return !enabled
+                || !"GET".equals(request.getMethod())
+                || !"/employees".equals(request.getServletPath())
+                || request.getParameter("modifiedSince") != null
+                || acceptEncoding == null
+                || !acceptEncoding.contains("gzip");
+    }
+
+    /**
+     * Sends the cached copy of the page if the controller found one, and otherwise compresses and caches the page the
+     * controller wrote.
+     *
+     * @param request     The request for a page of the collection.
+     * @param response    The response.
+     * @param filterChain The rest of the chain, ending with the controller.
+     * @throws ServletException If the request fails.
+     * @throws IOException      If the response cannot be written.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException
+    {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, buffered);
+
+        CompressedPage cached = (CompressedPage) request.getAttribute(CACHED_ATTRIBUTE);
+        if (cached != null)
+        {
+            cached.headers.forEach(response::setHeader);
+            send(response, cached);
+            return;
+        }
+
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (response.getStatus() != HttpServletResponse.SC_OK || etag == null || etag.startsWith("W/")
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || buffered.getContentSize() < minResponseSize)
+        {
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : CACHED_HEADERS)
+        {
+            String value = name.equals(HttpHeaders.CONTENT_TYPE) ? buffered.getContentType() : response.getHeader(name);
+            if (value != null)
+            {
+                headers.put(name, value);
+            }
+        }
+
+        CompressedPage page = new CompressedPage("W/" + etag, gzip(buffered.getContentAsByteArray()), headers);
+        cache.put(key(etag, request), page);
+
+        // Nothing was sent yet, so the buffered page is dropped in favour of the compressed one.
+        buffered.resetBuffer();
+        send(response, page);
+    }
+
+    /**
+     * Sends a compressed page, with the headers that differ from the uncompressed page's.
+     *
+     * @param response The response.
+     * @param page     The compressed page.
+     * @throws IOException If the response cannot be written.
+     */
+    private static void send(HttpServletResponse response, CompressedPage page) throws IOException
+    {
+        response.setHeader(HttpHeaders.ETAG, page.etag);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(page.body.length);
+        response.getOutputStream().write(page.body);
+    }
+
+    /**
+     * Builds the key a page is cached under. A page is written differently depending on the format asked for and on
+     * the full address it was requested at, query string included, which picks the page and which its links start
+     * with. The address is part of the key as it is, so two pages can never share an entry.
+     *
+     * @param etag    The ETag of the page.
+     * @param request The request for the page.
+     * @return The key.
+     */
+    private static String key(String etag, HttpServletRequest request)
+    {
+        return etag + " " + request.getHeader(HttpHeaders.ACCEPT) + " "
+                + ServletUriComponentsBuilder.fromRequest(request).toUriString();
+    }
+
+    /**
+     * @param body The bytes to compress.
+     * @return The bytes compressed with gzip.
+     */
+    private static byte[] gzip(byte[] body)
+    {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed))
+        {
+            out.write(body);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A page of the collection compressed with gzip, with the headers it is sent with.
+     */
+    private static final class CompressedPage
+    {
+        /**
+         * The weak ETag of the compressed page.
+         */
+        private final String etag;
+
+        /**
+         * The compressed page.
+         */
+        private final byte[] body;
+
+        /**
+         * The headers of the page that are sent again with it, by name.
+         */
+        private final Map<String, String> headers;
+
+        /**
+         * Constructor.
+         *
+         * @param etag    The weak ETag of the compressed page.
+         * @param body    The compressed page.
+         * @param headers The headers of the page that are sent again with it, by name.
+         */
+        private CompressedPage(String etag, byte[] body, Map<String, String> headers)
+        {
+            this.etag = etag;
+            this.body = body;
+            this.headers = headers;
+        }
+    }
+}
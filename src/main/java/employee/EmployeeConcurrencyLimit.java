@@ -0,0 +1,162 @@
+package employee;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is an adaptive limit on the number of requests of one kind handled at once, in the style of TCP Vegas.
+ * The fastest a request has been handled is taken as the time it takes without load. The time a request takes beyond
+ * that, in proportion to the limit, estimates how many requests are queueing for the DB or the CPU: while few are,
+ * the limit grows, and once many are, it shrinks, so requests are turned away rather than left to queue.
+ * <p>
+ * The fastest time is forgotten and measured again every so often, so that a lasting change in how long requests
+ * take, such as a larger table, becomes the new norm instead of pinning the limit to its lowest. The limit only grows
+ * while at least half of it is in use, so a quiet period does not leave it far above what was last shown to be safe.
+ */
+class EmployeeConcurrencyLimit
+{
+    /**
+     * Below this many queueing requests, per digit of the limit, the limit grows.
+     */
+    private static final int ALPHA = 3;
+
+    /**
+     * Above this many queueing requests, per digit of the limit, the limit shrinks.
+     */
+    private static final int BETA = 6;
+
+    /**
+     * The fastest time is measured again after this many requests per unit of the limit.
+     */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    /**
+     * The lowest the limit may go.
+     */
+    private final int minLimit;
+
+    /**
+     * The highest the limit may go.
+     */
+    private final int maxLimit;
+
+    /**
+     * The number of requests being handled.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * The limit, as read when admitting a request.
+     */
+    private volatile int limit;
+
+    /**
+     * The limit, with the fraction kept between updates.
+     */
+    private double estimatedLimit;
+
+    /**
+     * The fastest a request has been handled since the last probe, in nanoseconds, or 0 until it is measured.
+     */
+    private long rttNoLoad;
+
+    /**
+     * The number of requests left until the fastest time is measured again.
+     */
+    private long untilProbe;
+
+    /**
+     * Constructor.
+     *
+     * @param initialLimit The limit before any request has been handled.
+     * @param minLimit     The lowest the limit may go.
+     * @param maxLimit     The highest the limit may go.
+     */
+    EmployeeConcurrencyLimit(int initialLimit, int minLimit, int maxLimit)
+    {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Admits a request if fewer than the limit are being handled. An admitted request must be released once handled.
+     *
+     * @return Whether the request was admitted.
+     */
+    boolean tryAcquire()
+    {
+        while (true)
+        {
+            int current = inFlight.get();
+            if (current >= limit)
+            {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1))
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a request that was admitted, adjusting the limit to the time it took.
+     *
+     * @param rttNanos The time the request took to handle, in nanoseconds, or a negative value if it should not count.
+     */
+    void release(long rttNanos)
+    {
+        int handled = inFlight.getAndDecrement();
+        if (rttNanos > 0)
+        {
+            update(rttNanos, handled);
+        }
+    }
+
+    /**
+     * Adjusts the limit to the time a request took.
+     *
+     * @param rtt      The time the request took to handle, in nanoseconds.
+     * @param inFlight The number of requests being handled when it finished, itself included.
+     */
+    private synchronized void update(long rtt, int inFlight)
+    {
+        if (rttNoLoad == 0 || --untilProbe <= 0)
+        {
+            rttNoLoad = rtt;
+            untilProbe = (long) (PROBE_MULTIPLIER * estimatedLimit);
+            return;
+        }
+        rttNoLoad = Math.min(rttNoLoad, rtt);
+
+        double digits = Math.max(1, Math.log10(estimatedLimit));
+        double queueing = estimatedLimit * (1 - (double) rttNoLoad / rtt);
+
+        if (queueing > BETA * digits)
+        {
+            estimatedLimit = Math.max(minLimit, estimatedLimit - digits);
+        }
+        else if (queueing < ALPHA * digits && inFlight * 2 >= estimatedLimit)
+        {
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + digits);
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @return The number of requests that may be handled at once.
+     */
+    int getLimit()
+    {
+        return this.limit;
+    }
+
+    /**
+     * @return The number of requests being handled.
+     */
+    int getInFlight()
+    {
+        return this.inFlight.get();
+    }
+}
@@ -0,0 +1,201 @@
+package employee;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * This class sheds requests to the employee endpoints beyond an {@link EmployeeConcurrencyLimit}, so that when the DB
+ * slows down requests are turned away at once instead of queueing until they time out. A request over the limit is
+ * answered with a 503 and a Retry-After header, without being authenticated or reaching the controller.
+ * <p>
+ * Pages and statistics of employees, searches and batches, and single employees are each limited separately, so a
+ * pile-up of expensive requests does not shut out cheap ones, and pages mostly answered with a 304 do not share a
+ * latency with batches writing hundreds of employees. Only requests handled successfully are timed, as errors and
+ * unchanged pages return quicker than real work and would raise the limit. The change feed and the export are not
+ * limited, as they are meant to stay open for a long time. The limit, the requests in flight and the requests rejected
+ * are published for each kind as {@code employee.concurrency.*}, tagged with the route.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+class EmployeeConcurrencyLimitFilter extends OncePerRequestFilter
+{
+    /**
+     * Whether requests are limited.
+     */
+    private final boolean enabled;
+
+    /**
+     * The limit on pages and statistics of employees.
+     */
+    private final Route collection;
+
+    /**
+     * The limit on searches and batches of employees.
+     */
+    private final Route bulk;
+
+    /**
+     * The limit on reads and writes of single employees.
+     */
+    private final Route item;
+
+    /**
+     * The value of the Retry-After header of a rejected request, in seconds.
+     */
+    private final String retryAfter;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled       Whether requests are limited.
+     * @param initialLimit  The limit of each route before any request has been handled.
+     * @param minLimit      The lowest the limit of a route may go.
+     * @param maxLimit      The highest the limit of a route may go.
+     * @param retryAfter    How long a rejected client is asked to wait before retrying.
+     * @param meterRegistry The registry to publish the limits and rejections to.
+     */
+    EmployeeConcurrencyLimitFilter(@Value("${employee.concurrency.enabled:false}") boolean enabled,
+                                   @Value("${employee.concurrency.initial-limit:20}") int initialLimit,
+                                   @Value("${employee.concurrency.min-limit:4}") int minLimit,
+                                   @Value("${employee.concurrency.max-limit:200}") int maxLimit,
+                                   @Value("${employee.concurrency.retry-after:1s}") Duration retryAfter,
+                                   MeterRegistry meterRegistry)
+    {
+        this.enabled = enabled;
+        this.collection = new Route("collection", new EmployeeConcurrencyLimit(initialLimit, minLimit, maxLimit),
+                meterRegistry);
+        this.bulk = new Route("bulk", new EmployeeConcurrencyLimit(initialLimit, minLimit, maxLimit), meterRegistry);
+        this.item = new Route("item", new EmployeeConcurrencyLimit(initialLimit, minLimit, maxLimit), meterRegistry);
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    /**
+     * Only filters requests to limited employee endpoints.
+     *
+     * @param request The request.
+     * @return Whether the request is left alone.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request)
+    {
+        return !enabled || routeOf(request) == null;
+    }
+
+    /**
+     * Handles the request if its route is under its limit, timing it to adjust the limit, and rejects it otherwise.
+     *
+     * @param request     The request.
+     * @param response    The response.
+     * @param filterChain The rest of the chain, ending with the controller.
+     * @throws ServletException If the request fails.
+     * @throws IOException      If the response cannot be written.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException
+    {
+        Route route = routeOf(request);
+        if (!route.limit.tryAcquire())
+        {
+            route.rejected.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try
+        {
+            filterChain.doFilter(request, response);
+            succeeded = !request.isAsyncStarted() && response.getStatus() >= HttpServletResponse.SC_OK
+                    && response.getStatus() < HttpServletResponse.SC_MULTIPLE_CHOICES;
+        }
+        finally
+        {
+            // Requests that failed, went unchanged or carry on asynchronously took a time that says nothing of the DB.
+            route.limit.release(succeeded ? System.nanoTime() - start : -1);
+        }
+    }
+
+    /**
+     * @param request The request.
+     * @return The route the request is limited by, or null if it is not limited.
+     */
+    private Route routeOf(HttpServletRequest request)
+    {
+        String servletPath = request.getServletPath();
+        String path = servletPath.endsWith("/")
+                ? servletPath.substring(0, servletPath.length() - 1)
+                : servletPath;
+        if (!path.equals("/employees") && !path.startsWith("/employees/")
+                || path.equals("/employees/changes") || path.equals("/employees/export"))
+        {
+            return null;
+        }
+
+        if (path.equals("/employees/search") || path.equals("/employees/batch"))
+        {
+            return bulk;
+        }
+
+        return path.equals("/employees") && "GET".equals(request.getMethod()) || path.equals("/employees/stats")
+                ? collection
+                : item;
+    }
+
+    /**
+     * A kind of request limited together, with the metrics published for it.
+     */
+    private static final class Route
+    {
+        /**
+         * The limit of the route.
+         */
+        private final EmployeeConcurrencyLimit limit;
+
+        /**
+         * The number of requests rejected.
+         */
+        private final Counter rejected;
+
+        /**
+         * Constructor.
+         *
+         * @param name          The name the route's metrics are tagged with.
+         * @param limit         The limit of the route.
+         * @param meterRegistry The registry to publish the limit and rejections to.
+         */
+        private Route(String name, EmployeeConcurrencyLimit limit, MeterRegistry meterRegistry)
+        {
+            this.limit = limit;
+            this.rejected = Counter.builder("employee.concurrency.rejected")
+                    .description("Requests rejected for exceeding the concurrency limit of their route")
+                    .tag("route", name)
+                    .register(meterRegistry);
+
+            Gauge.builder("employee.concurrency.limit", limit, EmployeeConcurrencyLimit::getLimit)
+                    .description("The number of requests of the route that may be handled at once")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            Gauge.builder("employee.concurrency.in-flight", limit, EmployeeConcurrencyLimit::getInFlight)
+                    .description("The number of requests of the route being handled")
+                    .tag("route", name)
+                    .register(meterRegistry);
+        }
+    }
+}
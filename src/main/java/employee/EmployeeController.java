@@ -1,19 +1,57 @@
 package employee;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 class EmployeeController
 {
+    /**
+     * The media type of newline delimited JSON, used to stream the roster one employee per line.
+     */
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * The media type of comma separated values, used to stream the roster one employee per row.
+     */
+    static final String CSV_VALUE = "text/csv";
+
+    /**
+     * The media type of a JSON Merge Patch, used to change only some fields of an employee.
+     */
+    static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+
     /**
      * The class responsible for access to perform operations to the DB containing employees.
      */
@@ -24,32 +62,356 @@ class EmployeeController
      */
     private final EmployeeModelAssembler assembler;
 
+    /**
+     * The class responsible for streaming the full roster of active employees.
+     */
+    private final EmployeeExporter exporter;
+
+    /**
+     * The class responsible for applying changes to many employees at once.
+     */
+    private final EmployeeBatchService batchService;
+
+    /**
+     * The class responsible for patching and deactivating single employees.
+     */
+    private final EmployeeUpdateService updateService;
+
+    /**
+     * The class responsible for caching employees by their unique ID.
+     */
+    private final EmployeeCache employeeCache;
+
+    /**
+     * The class responsible for streaming changes to employees to subscribers.
+     */
+    private final EmployeeChangeFeed changeFeed;
+
+    /**
+     * The class responsible for keeping pages of the collection compressed while they are current.
+     */
+    private final EmployeeCollectionCompressionFilter compressionFilter;
+
+    /**
+     * The publisher announcing every change made to an employee.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The class responsible for working out workforce statistics.
+     */
+    private final EmployeeStatsService statsService;
+
+    /**
+     * The class responsible for keeping the roster of employees in memory.
+     */
+    private final EmployeeRosterService rosterService;
+
+    /**
+     * The class responsible for keeping the watermark of the employee table.
+     */
+    private final EmployeeWatermarkService watermarkService;
+
+    /**
+     * How long ago an employee must have been modified to be returned by an incremental sync.
+     */
+    private final Duration syncSettleTime;
+
     /**
      * Constructor.
      *
-     * @param repository The class responsible for access to perform operations to the DB containing employees.
-     * @param assembler  The class responsible for wraping {@link Employee} objects within an entity model.
+     * @param repository        The class responsible for access to perform operations to the DB containing employees.
+     * @param assembler         The class responsible for wraping {@link Employee} objects within an entity model.
+     * @param exporter          The class responsible for streaming the full roster of active employees.
+     * @param batchService      The class responsible for applying changes to many employees at once.
+     * @param updateService     The class responsible for patching and deactivating single employees.
+     * @param employeeCache     The class responsible for caching employees by their unique ID.
+     * @param changeFeed        The class responsible for streaming changes to employees to subscribers.
+     * @param compressionFilter The class responsible for keeping pages of the collection compressed while they are
+     *                          current.
+     * @param eventPublisher    The publisher announcing every change made to an employee.
+     * @param statsService      The class responsible for working out workforce statistics.
+     * @param rosterService     The class responsible for keeping the roster of employees in memory.
+     * @param watermarkService  The class responsible for keeping the watermark of the employee table.
+     * @param syncSettleTime    How long ago an employee must have been modified to be returned by an incremental sync.
      */
-    EmployeeController(EmployeeRepository repository, EmployeeModelAssembler assembler)
+    EmployeeController(EmployeeRepository repository, EmployeeModelAssembler assembler, EmployeeExporter exporter,
+                       EmployeeBatchService batchService, EmployeeUpdateService updateService,
+                       EmployeeCache employeeCache, EmployeeChangeFeed changeFeed,
+                       EmployeeCollectionCompressionFilter compressionFilter, ApplicationEventPublisher eventPublisher,
+                       EmployeeStatsService statsService, EmployeeRosterService rosterService,
+                       EmployeeWatermarkService watermarkService,
+                       @Value("${employee.sync.settle-time:2s}") Duration syncSettleTime)
     {
         this.repository = repository;
         this.assembler = assembler;
+        this.exporter = exporter;
+        this.batchService = batchService;
+        this.updateService = updateService;
+        this.employeeCache = employeeCache;
+        this.changeFeed = changeFeed;
+        this.compressionFilter = compressionFilter;
+        this.eventPublisher = eventPublisher;
+        this.statsService = statsService;
+        this.rosterService = rosterService;
+        this.watermarkService = watermarkService;
+        this.syncSettleTime = syncSettleTime;
     }
 
     /**
-     * When the employees link is selected, a list of all employees as entity models is given.
+     * When the employees link is selected, a single page of active employees as entity models is given. Pages are
+     * sought by ID so that every page costs the same, and link to the pages on either side of them. When the roster is
+     * kept in memory, the page is served from it without touching the DB, and written without wrapping each employee.
+     * A page is either after or before an ID, so asking for both is rejected rather than one being ignored.
      *
-     * @return Every employee wrapped as entity models.
+     * @param limit   The maximum number of employees to return, lowered to at most {@link EmployeePage#MAX_LIMIT},
+     *                or null for the default page size.
+     * @param after   Only employees with an ID greater than this one are returned, or null to start at the beginning.
+     * @param before  Only employees with an ID less than this one are returned, or null to not bound the page above.
+     * @param request The request being made by the user, used to answer conditional requests.
+     * @return A page of active employees wrapped as entity models, or nothing if the user's copy is still current.
+     * @throws EmployeeParameterConflictException If both after and before were given.
+     * @throws EmployeeLimitException             If the limit is less than 1.
      */
     @GetMapping("/employees")
-    CollectionModel<EntityModel<Employee>> all()
+    ResponseEntity<RepresentationModel<?>> all(@RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) Long after,
+                                               @RequestParam(required = false) Long before,
+                                               WebRequest request)
+    {
+        checkOneBound(after, before);
+        Integer pageLimit = EmployeePage.checkLimit(limit);
+
+        // The watermark changes whenever any employee does, so it can be checked before any employee is loaded. A
+        // roster in memory is its own watermark.
+        EmployeeRoster roster = rosterService.getRoster();
+        EmployeeWatermark watermark = roster != null ? roster : watermarkService.getWatermark();
+        String etag = EmployeeEtags.ofCollection(watermark, pageLimit, after, before);
+        long lastModified = toEpochMilli(watermark.getLastModified());
+
+        if (request.checkNotModified(etag, lastModified))
+        {
+            return null;
+        }
+
+        // A page still current is sent as it was compressed, without loading or writing any employee again.
+        if (compressionFilter.useCached(etag, request))
+        {
+            return null;
+        }
+
+        if (roster != null)
+        {
+            return conditional(etag, lastModified)
+                    .body(assembler.toRosterPage(roster.page(pageLimit, after, before), after, before));
+        }
+
+        // One extra employee is fetched to find out whether there is another page beyond this one.
+        Pageable window = PageRequest.of(0, EmployeePage.pageSize(pageLimit) + 1);
+        EmployeePage<Employee> page;
+
+        if (before != null)
+        {
+            page = EmployeePage.backward(
+                    repository.findByStatusAndIdLessThanOrderByIdDesc(Status.ACTIVE, before, window), pageLimit);
+        }
+        else if (after != null)
+        {
+            page = EmployeePage.forward(
+                    repository.findByStatusAndIdGreaterThanOrderByIdAsc(Status.ACTIVE, after, window), pageLimit,
+                    true);
+        }
+        else
+        {
+            page = EmployeePage.forward(repository.findByStatusOrderByIdAsc(Status.ACTIVE, window), pageLimit, false);
+        }
+
+        return conditional(etag, lastModified).body(assembler.toCollectionModel(page, after, before));
+    }
+
+    /**
+     * Returns a single page of active employees like {@link #all}, but with only the fields asked for. Only their
+     * columns are selected, into rows Hibernate does not manage, and the employees are written without links.
+     *
+     * @param fields  The comma separated names of the fields to return. The ID is always returned.
+     * @param limit   The maximum number of employees to return, lowered to at most {@link EmployeePage#MAX_LIMIT},
+     *                or null for the default page size.
+     * @param after   Only employees with an ID greater than this one are returned, or null to start at the beginning.
+     * @param before  Only employees with an ID less than this one are returned, or null to not bound the page above.
+     * @param request The request being made by the user, used to answer conditional requests.
+     * @return A page of active employees with only the fields asked for, or nothing if the user's copy is current.
+     * @throws EmployeeParameterConflictException If both after and before were given.
+     * @throws EmployeeLimitException             If the limit is less than 1.
+     */
+    @GetMapping(value = "/employees", params = {"fields", "!modifiedSince"})
+    ResponseEntity<CollectionModel<EmployeeProjection>> allProjected(@RequestParam String fields,
+                                                                     @RequestParam(required = false) Integer limit,
+                                                                     @RequestParam(required = false) Long after,
+                                                                     @RequestParam(required = false) Long before,
+                                                                     WebRequest request)
+    {
+        checkOneBound(after, before);
+        Integer pageLimit = EmployeePage.checkLimit(limit);
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        EmployeeWatermark watermark = watermarkService.getWatermark();
+        String etag = EmployeeEtags.ofCollection(watermark, pageLimit, after, before, selected);
+        long lastModified = toEpochMilli(watermark.getLastModified());
+
+        if (request.checkNotModified(etag, lastModified) || compressionFilter.useCached(etag, request))
+        {
+            return null;
+        }
+
+        // One extra employee is selected to find out whether there is another page beyond this one.
+        List<EmployeeProjection> found = repository.findProjectedByStatus(selected, Status.ACTIVE, after, before,
+                EmployeePage.pageSize(pageLimit) + 1);
+        EmployeePage<EmployeeProjection> page = before != null
+                ? EmployeePage.backward(found, EmployeeProjection::getId, pageLimit)
+                : EmployeePage.forward(found, EmployeeProjection::getId, pageLimit, after != null);
+
+        return conditional(etag, lastModified)
+                .body(assembler.toProjectedCollectionModel(page, after, before, selected));
+    }
+
+    /**
+     * Returns the employees created, updated or deactivated since the given point, so a copy of the roster can be
+     * kept up to date without reading it all again. Deactivated employees are included, with an inactive status, so
+     * the copy can remove them. Employees come in the order they were modified, and the page links to where the next
+     * sync should start from, as the sync link, and to the rest of the changes, as the next link, if there are more.
+     * <p>
+     * Only employees modified at least the settle time ago are returned. A transaction can commit some time after it
+     * modified an employee, so the most recent modification times may still be followed by changes yet to commit.
+     * <p>
+     * A sync returns whole employees, as a copy needs every field of an employee to replace it, so it is rejected along
+     * with fields rather than returning whole employees that were asked for in part.
+     *
+     * @param modifiedSince A token from the sync link of an earlier sync, or an ISO-8601 timestamp to sync from.
+     * @param limit         The maximum number of employees to return, or null for the default page size.
+     * @param fields        The fields asked for, which a sync cannot be limited to, or null.
+     * @return A page of modified employees wrapped as entity models.
+     * @throws EmployeeParameterConflictException If fields were asked for.
+     * @throws EmployeeLimitException             If the limit is less than 1.
+     */
+    @GetMapping(value = "/employees", params = "modifiedSince")
+    ResponseEntity<CollectionModel<EntityModel<Employee>>> modifiedSince(@RequestParam String modifiedSince,
+                                                                         @RequestParam(required = false) Integer limit,
+                                                                         @RequestParam(required = false) String fields)
+    {
+        if (fields != null)
+        {
+            throw new EmployeeParameterConflictException("fields", "modifiedSince");
+        }
+
+        Integer pageLimit = EmployeePage.checkLimit(limit);
+
+        EmployeeSyncToken since = EmployeeSyncToken.parse(modifiedSince);
+        int pageSize = EmployeePage.pageSize(pageLimit);
+
+        // One extra employee is fetched to find out whether there are more changes beyond this page.
+        List<Employee> employees = repository.findModifiedSince(since.getUpdatedAt(), since.getId(),
+                Instant.now().minus(syncSettleTime), PageRequest.of(0, pageSize + 1));
+        boolean hasNext = employees.size() > pageSize;
+        if (hasNext)
+        {
+            employees = employees.subList(0, pageSize);
+        }
+
+        EmployeeSyncToken next = employees.isEmpty()
+                ? since
+                : EmployeeSyncToken.after(employees.get(employees.size() - 1));
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(assembler.toSyncModel(employees, pageLimit, since, next, hasNext));
+    }
+
+    /**
+     * Searches employees by name, status and date ranges, returning a single page of matches. Every criterion is
+     * applied by the DB, using the indexes declared on {@link Employee}, and criteria left out match every employee.
+     *
+     * @param lastName       The exact last name of the employees to find, or null for any.
+     * @param firstName      The start of the first name of the employees to find, or null for any.
+     * @param status         The status of the employees to find, active unless given.
+     * @param employedFrom   The earliest date of employment to find, inclusive, or null for no lower bound.
+     * @param employedTo     The latest date of employment to find, inclusive, or null for no upper bound.
+     * @param bornFrom       The earliest date of birth to find, inclusive, or null for no lower bound.
+     * @param bornTo         The latest date of birth to find, inclusive, or null for no upper bound.
+     * @param pageable       The page of matches to return, and how they are sorted, by any of
+     *                       {@link EmployeeSpecifications#SORTABLE}.
+     * @param pagedAssembler The class responsible for wrapping a page of entity models with links to other pages.
+     * @return A page of matching employees wrapped as entity models.
+     * @throws EmployeeSortException If the matches are asked to be sorted by an attribute that cannot be sorted by.
+     */
+    @GetMapping("/employees/search")
+    PagedModel<EntityModel<Employee>> search(@RequestParam(required = false) String lastName,
+                                             @RequestParam(required = false) String firstName,
+                                             @RequestParam(defaultValue = "ACTIVE") Status status,
+                                             @RequestParam(required = false) @DateTimeFormat(pattern = "MM-dd-yyyy")
+                                                     LocalDate employedFrom,
+                                             @RequestParam(required = false) @DateTimeFormat(pattern = "MM-dd-yyyy")
+                                                     LocalDate employedTo,
+                                             @RequestParam(required = false) @DateTimeFormat(pattern = "MM-dd-yyyy")
+                                                     LocalDate bornFrom,
+                                             @RequestParam(required = false) @DateTimeFormat(pattern = "MM-dd-yyyy")
+                                                     LocalDate bornTo,
+                                             @PageableDefault(size = EmployeePage.DEFAULT_LIMIT, sort = "id",
+                                                     direction = Sort.Direction.ASC) Pageable pageable,
+                                             PagedResourcesAssembler<Employee> pagedAssembler)
+    {
+        boolean byStatusAlone = lastName == null && firstName == null && employedFrom == null && employedTo == null
+                && bornFrom == null && bornTo == null;
+        Pageable indexed = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                EmployeeSpecifications.indexed(pageable.getSort(), byStatusAlone));
+        Specification<Employee> criteria = Specification.where(EmployeeSpecifications.hasStatus(status))
+                .and(EmployeeSpecifications.hasLastName(lastName))
+                .and(EmployeeSpecifications.firstNameStartsWith(firstName))
+                .and(EmployeeSpecifications.employedBetween(employedFrom, employedTo))
+                .and(EmployeeSpecifications.bornBetween(bornFrom, bornTo));
+
+        // The page links keep the order asked for, without the status the matches were read in order of.
+        Page<Employee> page = repository.findAll(criteria, indexed);
+
+        return pagedAssembler.toModel(new PageImpl<>(page.getContent(), pageable, page.getTotalElements()), assembler);
+    }
+
+    /**
+     * Gives the headcount by status, the hires in each month, and the distribution of ages and tenures of active
+     * employees, worked out from counts of employees rather than by loading the roster.
+     *
+     * @return The workforce statistics as of today.
+     */
+    @GetMapping("/employees/stats")
+    EmployeeStats stats()
     {
-        List<EntityModel<Employee>> employees = repository.findAll().stream()
-                .filter(employee1 -> !employee1.getStatus().equals(Status.INACTIVE))
-                .map(assembler::toModel)
-                .collect(Collectors.toList());
+        return statsService.getStats();
+    }
 
-        return CollectionModel.of(employees, linkTo(methodOn(EmployeeController.class).all()).withSelfRel());
+    /**
+     * Streams every active employee as newline delimited JSON, writing each employee as soon as it is read so the
+     * response starts immediately and memory use does not grow with the roster.
+     *
+     * @param response The response to stream the employees into.
+     * @throws IOException If writing to the response fails.
+     */
+    @GetMapping(value = "/employees/export", produces = NDJSON_VALUE)
+    void exportNdjson(HttpServletResponse response) throws IOException
+    {
+        response.setContentType(NDJSON_VALUE);
+        exporter.exportNdjson(response.getOutputStream());
+    }
+
+    /**
+     * Streams every active employee as comma separated values when the CSV format is requested.
+     *
+     * @param response The response to stream the employees into.
+     * @throws IOException If writing to the response fails.
+     */
+    @GetMapping(value = "/employees/export", params = "format=csv", produces = CSV_VALUE)
+    void exportCsv(HttpServletResponse response) throws IOException
+    {
+        response.setContentType(CSV_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        exporter.exportCsv(response.getOutputStream());
     }
 
     /**
@@ -61,44 +423,100 @@ class EmployeeController
     @PostMapping("/employees")
     ResponseEntity<?> newEmployee(@RequestBody Employee newEmployee)
     {
-        // Every new employee should have their status initialized to active, whether the user declares it or not.
-        newEmployee.setStatus(Status.ACTIVE);
+        newEmployee.prepareForCreation();
+
+        Employee savedEmployee = repository.save(newEmployee);
+        employeeCache.evict(savedEmployee.getId());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.CREATED, savedEmployee));
 
-        EntityModel<Employee> entityModel = assembler.toModel(repository.save(newEmployee));
+        EntityModel<Employee> entityModel = assembler.toModel(savedEmployee);
 
         return ResponseEntity
                 .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                .eTag(EmployeeEtags.of(savedEmployee))
                 .body(entityModel);
     }
 
     /**
      * Returns all the info of a single employee denoted by the {id} after the employee link.
      *
-     * @param id The ID of the employee whose information will be displayed.
-     * @return The entity model of the employee.
+     * @param id      The ID of the employee whose information will be displayed.
+     * @param request The request being made by the user, used to answer conditional requests.
+     * @return The entity model of the employee, or nothing if the user's copy is still current.
      */
     @GetMapping("/employees/{id}")
-    EntityModel<Employee> one(@PathVariable Long id)
+    ResponseEntity<EntityModel<Employee>> one(@PathVariable Long id, WebRequest request)
     {
-        Employee employee = repository.findById(id).filter(employee1 -> !employee1.getStatus().equals(Status.INACTIVE))
+        Employee employee = employeeCache.get(id, key -> repository.findByIdAndStatus(key, Status.ACTIVE))
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
 
-        return assembler.toModel(employee);
+        String etag = EmployeeEtags.of(employee);
+        long lastModified = toEpochMilli(employee.getUpdatedAt());
+
+        // A matching ETag is answered before the entity model is built, as the user already has it.
+        if (request.checkNotModified(etag, lastModified))
+        {
+            return null;
+        }
+
+        return conditional(etag, lastModified).body(assembler.toModel(employee));
+    }
+
+    /**
+     * Returns only the fields asked for of a single employee, without links. An employee already cached is projected
+     * from the cache, and otherwise only the columns of the fields are selected.
+     *
+     * @param id      The ID of the employee whose information will be displayed.
+     * @param fields  The comma separated names of the fields to return. The ID is always returned.
+     * @param request The request being made by the user, used to answer conditional requests.
+     * @return The fields of the employee, or nothing if the user's copy is still current.
+     */
+    @GetMapping(value = "/employees/{id}", params = "fields")
+    ResponseEntity<EmployeeProjection> oneProjected(@PathVariable Long id, @RequestParam String fields,
+                                                    WebRequest request)
+    {
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        // Only active employees are loaded into the cache, and they are evicted once deactivated.
+        EmployeeProjection employee = employeeCache.getIfPresent(id)
+                .map(cached -> EmployeeProjection.of(cached, selected))
+                .or(() -> repository.findProjectedByIdAndStatus(selected, id, Status.ACTIVE))
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
+
+        String etag = EmployeeEtags.of(id, employee.getVersion(), selected);
+        long lastModified = toEpochMilli(employee.getUpdatedAt());
+
+        if (request.checkNotModified(etag, lastModified))
+        {
+            return null;
+        }
+
+        return conditional(etag, lastModified).body(employee);
     }
 
     /**
      * When a put request is called for a single employee given their unique ID, their information will be set to the
-     * new parameters given from the request.
+     * new parameters given from the request. If an If-Match header is given, the employee is only replaced if it
+     * matches their current ETag, so that changes made by someone else since are not overwritten. An employee that does
+     * not exist is created instead, as a post request would create them.
      *
      * @param newEmployee The new employee object that will replace the current employee whose ID matches the given ID.
      * @param id          The ID of the employee to replace.
+     * @param ifMatch     The ETags the employee is expected to match, or null to replace them unconditionally.
      * @return A link to the newly replaced employee.
      */
     @PutMapping("/employees/{id}")
-    ResponseEntity<?> replaceEmployee(@RequestBody Employee newEmployee, @PathVariable Long id)
+    ResponseEntity<?> replaceEmployee(@RequestBody Employee newEmployee, @PathVariable Long id,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
     {
-        Employee updatedEmployee = repository.findById(id)
+        Optional<Employee> existingEmployee = repository.findById(id);
+        Employee previous = existingEmployee.map(Employee::new).orElse(null);
+        Employee updatedEmployee = existingEmployee
                 .map(employee -> {
+                    if (ifMatch != null && !EmployeeEtags.matches(ifMatch, employee))
+                    {
+                        throw new EmployeePreconditionFailedException(id);
+                    }
+
                     employee.setFirstName(newEmployee.getFirstName());
                     employee.setMiddleInitial(newEmployee.getMiddleInitial());
                     employee.setLastName(newEmployee.getLastName());
@@ -107,20 +525,61 @@ class EmployeeController
                     return repository.save(employee);
                 })
                 .orElseGet(() -> {
-                    newEmployee.setId(id);
+                    // An employee that does not exist cannot match any ETag.
+                    if (ifMatch != null)
+                    {
+                        throw new EmployeePreconditionFailedException(id);
+                    }
+
+                    // Created as a new employee would be, so they are active and given a generated ID.
+                    newEmployee.prepareForCreation();
                     return repository.save(newEmployee);
                 });
+        employeeCache.evict(updatedEmployee.getId());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(previous != null
+                ? EmployeeChangedEvent.Type.UPDATED
+                : EmployeeChangedEvent.Type.CREATED, previous, updatedEmployee));
 
         EntityModel<Employee> entityModel = assembler.toModel(updatedEmployee);
 
         return ResponseEntity //
                 .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                .eTag(EmployeeEtags.of(updatedEmployee))
                 .body(entityModel);
     }
 
+    /**
+     * Changes only the fields of an employee given in a JSON Merge Patch, in an update of only those columns. If an
+     * If-Match header is given, the employee is only patched if it matches their current ETag.
+     *
+     * @param patchDocument The fields to change, as they would be written in an {@link Employee}.
+     * @param id            The ID of the employee to patch.
+     * @param ifMatch       The ETags the employee is expected to match, or null to patch them unconditionally.
+     * @return A response with no content, carrying the new ETag of the employee.
+     */
+    @PatchMapping(value = "/employees/{id}", consumes = MERGE_PATCH_VALUE)
+    ResponseEntity<?> patchEmployee(@RequestBody Map<String, Object> patchDocument, @PathVariable Long id,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+    {
+        EmployeeMergePatch patch = EmployeeMergePatch.parse(patchDocument);
+        List<Long> versions = ifMatch == null ? null : EmployeeEtags.versions(ifMatch, id);
+
+        // An If-Match header listing no version of this employee cannot match, so there is nothing to update.
+        Instant now = Instant.now();
+        Employee previous = versions != null && versions.isEmpty() ? null : updateService.patch(id, patch, versions,
+                now);
+        if (previous == null)
+        {
+            throw ifMatch != null ? new EmployeePreconditionFailedException(id) : new EmployeeNotFoundException(id);
+        }
+        employeeCache.evict(id);
+
+        return ResponseEntity.noContent().eTag(EmployeeEtags.of(id, previous.getVersion() + 1)).build();
+    }
+
     /**
      * Once authorized, the employee's status will be set to inactive and will not be retrievable from all employees
-     * or by searching their unique ID.
+     * or by searching their unique ID. Only the status is written, by an update of that column alone.
      *
      * @param id The ID of the employee to set to inactive status.
      * @return A response entity with no content.
@@ -128,12 +587,110 @@ class EmployeeController
     @DeleteMapping("/employees/{id}")
     ResponseEntity<?> setEmployeeToInactive(@PathVariable Long id)
     {
-        repository.findById(id).map(employee -> {
-                    employee.setStatus(Status.INACTIVE);
-                    return repository.save(employee);
-                })
-                .orElseThrow(() -> new EmployeeNotFoundException(id));
+        // No employee is updated if there is no such employee or they are already inactive.
+        Instant now = Instant.now();
+        Employee previous = updateService.deactivate(id, now);
+        if (previous == null)
+        {
+            throw new EmployeeNotFoundException(id);
+        }
+        employeeCache.evict(id);
 
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Streams every change made to an employee from now on as server-sent events, named created, updated or
+     * deactivated and carrying the employee as written. A subscriber reconnecting with the ID of the last event it
+     * received is first sent the changes it missed, or a reset event if it must reload the collection instead.
+     *
+     * @param lastEventId The ID of the last event the subscriber received, or null if it is new.
+     * @return The stream of changes.
+     */
+    @GetMapping(value = "/employees/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId)
+    {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Creates many employees at once, as if each had been sent in its own post request.
+     *
+     * @param newEmployees The new employee objects created from the post request.
+     * @return The outcome of each employee, in request order.
+     */
+    @PostMapping("/employees/batch")
+    List<EmployeeBatchResult> newEmployees(@RequestBody List<Employee> newEmployees)
+    {
+        return batchService.createAll(newEmployees);
+    }
+
+    /**
+     * Replaces the information of many employees at once, as if each had been sent in its own put request. Each
+     * employee in the request carries the ID of the employee it replaces.
+     *
+     * @param newEmployees The new employee objects that will replace the current employees with the same IDs.
+     * @return The outcome of each employee, in request order.
+     */
+    @PutMapping("/employees/batch")
+    List<EmployeeBatchResult> replaceEmployees(@RequestBody List<Employee> newEmployees)
+    {
+        return batchService.replaceAll(newEmployees);
+    }
+
+    /**
+     * Once authorized, sets many employees to inactive status at once, as if each had been sent in its own delete
+     * request.
+     *
+     * @param ids The IDs of the employees to set to inactive status.
+     * @return The outcome of each employee, in request order.
+     */
+    @DeleteMapping("/employees/batch")
+    List<EmployeeBatchResult> setEmployeesToInactive(@RequestBody List<Long> ids)
+    {
+        return batchService.deactivateAll(ids);
+    }
+
+    /**
+     * Checks a page of the collection is bounded on one side at most.
+     *
+     * @param after  The ID the page starts after, or null.
+     * @param before The ID the page ends before, or null.
+     * @throws EmployeeParameterConflictException If both were given.
+     */
+    static void checkOneBound(Long after, Long before)
+    {
+        if (after != null && before != null)
+        {
+            throw new EmployeeParameterConflictException("after", "before");
+        }
+    }
+
+    /**
+     * Starts a successful response carrying the validators of its body. Clients may keep the body but must check
+     * it is still current before using it again. The body may be JSON or a binary format depending on what was
+     * accepted, so it is kept separately for each.
+     *
+     * @param etag         The ETag of the body.
+     * @param lastModified The last time the body changed, in milliseconds since the epoch, or -1 if unknown.
+     * @return The response builder with the validators set.
+     */
+    static ResponseEntity.BodyBuilder conditional(String etag, long lastModified)
+    {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT);
+
+        return lastModified < 0 ? builder : builder.lastModified(lastModified);
+    }
+
+    /**
+     * Converts an instant to milliseconds since the epoch, as used by HTTP date headers.
+     *
+     * @param instant The instant to convert, which may be null.
+     * @return The milliseconds since the epoch, or -1 if the instant was null.
+     */
+    static long toEpochMilli(Instant instant)
+    {
+        return instant == null ? -1 : instant.toEpochMilli();
+    }
 }
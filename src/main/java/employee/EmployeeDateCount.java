@@ -0,0 +1,63 @@
+package employee;
+
+import java.time.LocalDate;
+
+/**
+ * This class represents one group of employees sharing a {@link Status} and a date, as counted by the DB. It is built
+ * by the query itself, so counting many groups creates no proxy per group.
+ */
+class EmployeeDateCount
+{
+    /**
+     * The {@link Status} of the employees in the group.
+     */
+    private final Status status;
+
+    /**
+     * The date shared by the employees in the group, or null if they have none.
+     */
+    private final LocalDate date;
+
+    /**
+     * The number of employees in the group.
+     */
+    private final long count;
+
+    /**
+     * Constructor.
+     *
+     * @param status The {@link Status} of the employees in the group.
+     * @param date   The date shared by the employees in the group, or null if they have none.
+     * @param count  The number of employees in the group.
+     */
+    public EmployeeDateCount(Status status, LocalDate date, long count)
+    {
+        this.status = status;
+        this.date = date;
+        this.count = count;
+    }
+
+    /**
+     * @return The {@link Status} of the employees in the group.
+     */
+    Status getStatus()
+    {
+        return this.status;
+    }
+
+    /**
+     * @return The date shared by the employees in the group, or null if they have none.
+     */
+    LocalDate getDate()
+    {
+        return this.date;
+    }
+
+    /**
+     * @return The number of employees in the group.
+     */
+    long getCount()
+    {
+        return this.count;
+    }
+}
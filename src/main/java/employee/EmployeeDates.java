@@ -0,0 +1,78 @@
+package employee;
+
+import java.time.LocalDate;
+
+/**
+ * This class represents the fields of an employee that workforce statistics are counted from. It is built by the
+ * query itself, so reading every employee creates no proxy per employee.
+ */
+class EmployeeDates
+{
+    /**
+     * The unique identifier assigned to the employee.
+     */
+    private final Long id;
+
+    /**
+     * The current {@link Status} of the employee.
+     */
+    private final Status status;
+
+    /**
+     * The date of birth of the employee.
+     */
+    private final LocalDate dateOfBirth;
+
+    /**
+     * The starting date of the employee.
+     */
+    private final LocalDate dateOfEmployment;
+
+    /**
+     * Constructor.
+     *
+     * @param id               The unique identifier assigned to the employee.
+     * @param status           The current {@link Status} of the employee.
+     * @param dateOfBirth      The date of birth of the employee.
+     * @param dateOfEmployment The starting date of the employee.
+     */
+    public EmployeeDates(Long id, Status status, LocalDate dateOfBirth, LocalDate dateOfEmployment)
+    {
+        this.id = id;
+        this.status = status;
+        this.dateOfBirth = dateOfBirth;
+        this.dateOfEmployment = dateOfEmployment;
+    }
+
+    /**
+     * @return The unique identifier assigned to the employee.
+     */
+    Long getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * @return The current {@link Status} of the employee.
+     */
+    Status getStatus()
+    {
+        return this.status;
+    }
+
+    /**
+     * @return The date of birth of the employee.
+     */
+    LocalDate getDateOfBirth()
+    {
+        return this.dateOfBirth;
+    }
+
+    /**
+     * @return The starting date of the employee.
+     */
+    LocalDate getDateOfEmployment()
+    {
+        return this.dateOfEmployment;
+    }
+}
@@ -0,0 +1,182 @@
+package employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class builds and reads the strong ETags of employee resources. A single employee is tagged by their ID and
+ * version, which changes on every update, and the collection is tagged by the {@link EmployeeWatermark} of the table
+ * along with the page requested. Either is tagged by the fields asked for too, when only some of them were. The page
+ * and fields are written out in full, each behind a letter of its own, so no two requests can share a tag.
+ */
+final class EmployeeEtags
+{
+    /**
+     * The If-Match value that matches any current representation of a resource.
+     */
+    private static final String ANY = "*";
+
+    /**
+     * Private constructor, as this class only holds static helpers.
+     */
+    private EmployeeEtags()
+    {
+    }
+
+    /**
+     * Builds the ETag of a single employee.
+     *
+     * @param employee The employee to tag.
+     * @return The quoted, strong ETag of the employee.
+     */
+    static String of(Employee employee)
+    {
+        return of(employee.getId(), employee.getVersion());
+    }
+
+    /**
+     * Builds the ETag of a single employee at a given version.
+     *
+     * @param id      The ID of the employee to tag.
+     * @param version The version of the employee.
+     * @return The quoted, strong ETag of the employee.
+     */
+    static String of(Long id, long version)
+    {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Builds the ETag of only some fields of a single employee at a given version.
+     *
+     * @param id      The ID of the employee to tag.
+     * @param version The version of the employee.
+     * @param fields  The fields asked for.
+     * @return The quoted, strong ETag of the fields of the employee.
+     */
+    static String of(Long id, long version, EmployeeFields fields)
+    {
+        return "\"" + id + "-" + version + fields(fields) + "\"";
+    }
+
+    /**
+     * Builds the ETag of a page of the employee collection.
+     *
+     * @param watermark The watermark of the employee table.
+     * @param limit     The limit the page was requested with, or null.
+     * @param after     The ID the page was sought after, or null.
+     * @param before    The ID the page was sought before, or null.
+     * @return The quoted, strong ETag of the page.
+     */
+    static String ofCollection(EmployeeWatermark watermark, Integer limit, Long after, Long before)
+    {
+        return ofCollection(watermark, limit, after, before, null);
+    }
+
+    /**
+     * Builds the ETag of a page of the employee collection, with only some fields of each employee.
+     *
+     * @param watermark The watermark of the employee table.
+     * @param limit     The limit the page was requested with, or null.
+     * @param after     The ID the page was sought after, or null.
+     * @param before    The ID the page was sought before, or null.
+     * @param fields    The fields asked for, or null for every field.
+     * @return The quoted, strong ETag of the page.
+     */
+    static String ofCollection(EmployeeWatermark watermark, Integer limit, Long after, Long before,
+                               EmployeeFields fields)
+    {
+        StringBuilder etag = new StringBuilder("\"").append(watermark.getCount()).append('-')
+                .append(watermark.getVersionSum());
+        if (limit != null)
+        {
+            etag.append("-l").append(limit);
+        }
+        if (after != null)
+        {
+            etag.append("-a").append(after);
+        }
+        if (before != null)
+        {
+            etag.append("-b").append(before);
+        }
+        if (fields != null)
+        {
+            etag.append(fields(fields));
+        }
+
+        return etag.append('"').toString();
+    }
+
+    /**
+     * @param fields The fields asked for.
+     * @return The part of an ETag naming the fields. They are separated by dots, as commas separate the ETags listed
+     * in a conditional header.
+     */
+    private static String fields(EmployeeFields fields)
+    {
+        return "-f" + fields.toString().replace(',', '.');
+    }
+
+    /**
+     * Reads the versions of an employee listed in an If-Match header, so an update can be made conditional on them
+     * without loading the employee first.
+     *
+     * @param ifMatch The value of the If-Match header, which may list several ETags.
+     * @param id      The ID of the employee.
+     * @return The versions of the employee listed, which may be none, or null if the header matches any version.
+     */
+    static List<Long> versions(String ifMatch, Long id)
+    {
+        String prefix = "\"" + id + "-";
+        List<Long> versions = new ArrayList<>();
+
+        for (String etag : ifMatch.split(","))
+        {
+            String candidate = etag.trim();
+            if (candidate.equals(ANY))
+            {
+                return null;
+            }
+            if (!candidate.startsWith(prefix) || !candidate.endsWith("\"") || candidate.length() <= prefix.length())
+            {
+                continue;
+            }
+
+            // Tags of only some fields of the employee carry a suffix, and do not match the whole employee.
+            try
+            {
+                versions.add(Long.parseLong(candidate.substring(prefix.length(), candidate.length() - 1)));
+            }
+            catch (NumberFormatException e)
+            {
+                // Not a tag of the whole employee.
+            }
+        }
+
+        return versions;
+    }
+
+    /**
+     * Determines whether an If-Match header matches the current ETag of an employee.
+     *
+     * @param ifMatch  The value of the If-Match header, which may list several ETags.
+     * @param employee The employee as currently stored.
+     * @return Whether any of the listed ETags is the current ETag of the employee.
+     */
+    static boolean matches(String ifMatch, Employee employee)
+    {
+        String current = of(employee);
+
+        for (String etag : ifMatch.split(","))
+        {
+            String candidate = etag.trim();
+            if (candidate.equals(ANY) || candidate.equals(current))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
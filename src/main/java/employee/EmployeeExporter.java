@@ -0,0 +1,189 @@
+package employee;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * This class writes the full roster of active employees to an output stream one employee at a time, so the roster is
+ * never held in memory as a whole and the first employee is sent as soon as it has been read from the DB.
+ */
+@Component
+class EmployeeExporter
+{
+    /**
+     * The format dates are written in, matching the format used by the JSON representation of an {@link Employee}.
+     */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd-yyyy");
+
+    /**
+     * The header row written at the start of a CSV export.
+     */
+    private static final String CSV_HEADER = "id,firstName,middleInitial,lastName,dateOfBirth,dateOfEmployment,status";
+
+    /**
+     * The class responsible for access to perform operations to the DB containing employees.
+     */
+    private final EmployeeRepository repository;
+
+    /**
+     * The entity manager used to detach each employee once it has been written, so the persistence context does not
+     * grow with the roster.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * The object mapper used to serialize each {@link Employee} the same way the REST endpoints do.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor.
+     *
+     * @param repository    The class responsible for access to perform operations to the DB containing employees.
+     * @param entityManager The entity manager used to detach each employee once it has been written.
+     * @param objectMapper  The object mapper used to serialize each {@link Employee}.
+     */
+    EmployeeExporter(EmployeeRepository repository, EntityManager entityManager, ObjectMapper objectMapper)
+    {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every active employee as newline delimited JSON, one employee per line.
+     *
+     * @param out The stream to write the employees to. It is flushed but not closed.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException
+    {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        // Each employee is written on its own line rather than separated by the default root value separator.
+        generator.setRootValueSeparator(null);
+
+        try (Stream<Employee> employees = repository.streamByStatus(Status.ACTIVE))
+        {
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext())
+            {
+                Employee employee = iterator.next();
+                objectMapper.writeValue(generator, employee);
+                generator.writeRaw('\n');
+                entityManager.detach(employee);
+            }
+        }
+
+        generator.flush();
+    }
+
+    /**
+     * Writes every active employee as comma separated values, with a header row followed by one employee per row.
+     *
+     * @param out The stream to write the employees to. It is flushed but not closed.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException
+    {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        try (Stream<Employee> employees = repository.streamByStatus(Status.ACTIVE))
+        {
+            employees.forEach(employee -> {
+                try
+                {
+                    writeCsvRow(writer, employee);
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(employee);
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Writes a single employee as a CSV row.
+     *
+     * @param writer   The writer to write the row to.
+     * @param employee The employee to write.
+     * @throws IOException If writing to the writer fails.
+     */
+    private static void writeCsvRow(Writer writer, Employee employee) throws IOException
+    {
+        writer.write(String.valueOf(employee.getId()));
+        writer.write(',');
+        writer.write(csvField(employee.getFirstName()));
+        writer.write(',');
+        writer.write(csvField(String.valueOf(employee.getMiddleInitial())));
+        writer.write(',');
+        writer.write(csvField(employee.getLastName()));
+        writer.write(',');
+        writer.write(csvDate(employee.getDateOfBirth()));
+        writer.write(',');
+        writer.write(csvDate(employee.getDateOfEmployment()));
+        writer.write(',');
+        writer.write(employee.getStatus().name());
+        writer.write('\n');
+    }
+
+    /**
+     * Quotes a value for CSV if it contains a delimiter, quote or line break.
+     *
+     * @param value The value to quote, which may be null.
+     * @return The value, quoted if needed, or an empty string if it was null.
+     */
+    private static String csvField(String value)
+    {
+        if (value == null)
+        {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+        {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Formats a date for CSV.
+     *
+     * @param date The date to format, which may be null.
+     * @return The formatted date, or an empty string if it was null.
+     */
+    private static String csvDate(LocalDate date)
+    {
+        return date == null ? "" : DATE_FORMAT.format(date);
+    }
+}
@@ -0,0 +1,87 @@
+package employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This class represents the fields of an employee a caller asked for with {@code fields=}, so only their columns are
+ * selected and written. The ID is always included, as it identifies the employee and positions pages of them.
+ */
+final class EmployeeFields
+{
+    /**
+     * The fields that can be asked for, in the order they are selected and written.
+     */
+    static final List<String> SELECTABLE = List.of("id", "firstName", "middleInitial", "lastName", "dateOfBirth",
+            "dateOfEmployment", "status");
+
+    /**
+     * The fields asked for, along with the ID, in the order of {@link #SELECTABLE}.
+     */
+    private final List<String> names;
+
+    /**
+     * Constructor.
+     *
+     * @param names The fields asked for, along with the ID, in the order of {@link #SELECTABLE}.
+     */
+    private EmployeeFields(List<String> names)
+    {
+        this.names = names;
+    }
+
+    /**
+     * Reads the fields asked for from a comma separated list of field names.
+     *
+     * @param value The value of the {@code fields} parameter.
+     * @return The fields asked for.
+     * @throws EmployeeFieldsException If a name is not one of the fields that can be asked for.
+     */
+    static EmployeeFields parse(String value)
+    {
+        Set<String> requested = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+
+        for (String name : requested)
+        {
+            if (!SELECTABLE.contains(name))
+            {
+                throw new EmployeeFieldsException(name);
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        for (String name : SELECTABLE)
+        {
+            if (name.equals("id") || requested.contains(name))
+            {
+                names.add(name);
+            }
+        }
+
+        return new EmployeeFields(Collections.unmodifiableList(names));
+    }
+
+    /**
+     * @return The fields asked for, along with the ID, in the order of {@link #SELECTABLE}.
+     */
+    List<String> getNames()
+    {
+        return this.names;
+    }
+
+    /**
+     * @return The fields as a comma separated list, the same for every way of asking for them.
+     */
+    @Override
+    public String toString()
+    {
+        return String.join(",", this.names);
+    }
+}
@@ -0,0 +1,29 @@
+package employee;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class sets the response code and provides the user with advice when they ask for a field of an employee that
+ * cannot be selected.
+ */
+@ControllerAdvice
+class EmployeeFieldsAdvice
+{
+    /**
+     * Returns the message of the exception to be used to give feedback back to the user.
+     *
+     * @param ex The exception thrown when a field cannot be selected.
+     * @return The message of the exception.
+     */
+    @ResponseBody
+    @ExceptionHandler(EmployeeFieldsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String employeeFieldsHandler(EmployeeFieldsException ex)
+    {
+        return ex.getMessage();
+    }
+}
@@ -0,0 +1,18 @@
+package employee;
+
+/**
+ * This class represents an exception to be thrown whenever a caller asks for a field of an employee that does not
+ * exist or cannot be selected.
+ */
+class EmployeeFieldsException extends RuntimeException
+{
+    /**
+     * Constructor.
+     *
+     * @param field The name of the field that cannot be selected.
+     */
+    EmployeeFieldsException(String field)
+    {
+        super("\n'" + field + "' is not a field that can be selected, choose from " + EmployeeFields.SELECTABLE);
+    }
+}
@@ -0,0 +1,157 @@
+package employee;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * This class generates synthetic employees to test the application at scale. The same seed always generates the same
+ * employees, with the same IDs, so results can be compared between runs and machines.
+ * <p>
+ * Employees are inserted with plain JDBC in large batches, each committed on its own, so no employee passes through
+ * Hibernate and the transaction log never holds more than one batch.
+ */
+class EmployeeGenerator
+{
+    /**
+     * The number of employees inserted and committed together.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * The earliest date of birth generated.
+     */
+    private static final LocalDate BORN_FROM = LocalDate.of(1950, 1, 1);
+
+    /**
+     * The latest date of birth generated.
+     */
+    private static final LocalDate BORN_TO = LocalDate.of(2000, 12, 31);
+
+    /**
+     * The latest date of employment generated. It is fixed, rather than today, so the seed alone decides every date.
+     */
+    private static final LocalDate EMPLOYED_TO = LocalDate.of(2023, 12, 31);
+
+    /**
+     * The age at which employees are employed at the earliest.
+     */
+    private static final int MINIMUM_AGE = 18;
+
+    /**
+     * The first names generated from.
+     */
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Alice", "Amelia", "Anna", "Arthur", "Ben", "Bob", "Carla", "Charles", "Chloe", "Daniel",
+            "David", "Diana", "Edward", "Elena", "Emily", "Emma", "Eric", "Frank", "Grace", "Hannah", "Harry", "Helen",
+            "Henry", "Isaac", "Isabel", "Jack", "James", "Jane", "John", "Julia", "Kate", "Laura", "Leo", "Linda",
+            "Lucy", "Marc", "Maria", "Mark", "Mary", "Michael", "Nina", "Oliver", "Olivia", "Paul", "Peter", "Rachel",
+            "Robert", "Rose", "Ruth", "Sam", "Sarah", "Sophie", "Thomas", "Tom", "Tucker", "Victor", "William", "Zoe"
+    };
+
+    /**
+     * The last names generated from.
+     */
+    private static final String[] LAST_NAMES = {
+            "Adams", "Allen", "Anderson", "Bailey", "Baker", "Bell", "Brooks", "Brown", "Byron", "Campbell", "Carter",
+            "Christensen", "Clark", "Collins", "Cook", "Cooper", "Cox", "Davies", "Davis", "Edwards", "Evans",
+            "Fisher", "Foster", "Garcia", "Gray", "Green", "Griffin", "Hall", "Harris", "Hayes", "Hill", "Howard",
+            "Hughes", "Jackson", "James", "Jenkins", "Johnson", "Jones", "Kelly", "King", "Lee", "Lewis", "Long",
+            "Lopez", "Martin", "Martinez", "Miller", "Mitchell", "Moore", "Morgan", "Morris", "Murphy", "Nelson",
+            "Parker", "Perez", "Perry", "Phillips", "Powell", "Price", "Reed", "Richardson", "Roberts", "Robinson",
+            "Rogers", "Ross", "Russell", "Sanders", "Scott", "Shaw", "Smith", "Stewart", "Sullivan", "Taylor",
+            "Thomas", "Thompson", "Turing", "Turner", "Walker", "Ward", "Watson", "White", "Williams", "Wilson",
+            "Wood", "Wright", "Young"
+    };
+
+    /**
+     * The source of every value generated.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The fraction of employees generated as inactive, between 0 and 1.
+     */
+    private final double inactiveRatio;
+
+    /**
+     * Constructor.
+     *
+     * @param seed          The seed deciding every employee generated.
+     * @param inactiveRatio The fraction of employees generated as inactive, between 0 and 1.
+     */
+    EmployeeGenerator(long seed, double inactiveRatio)
+    {
+        if (inactiveRatio < 0 || inactiveRatio > 1)
+        {
+            throw new IllegalArgumentException("The inactive ratio must be between 0 and 1, not " + inactiveRatio);
+        }
+
+        this.random = new SplittableRandom(seed);
+        this.inactiveRatio = inactiveRatio;
+    }
+
+    /**
+     * Inserts employees with IDs from 1 up to the given count. The employee sequence is left for the caller to move
+     * past them.
+     *
+     * @param jdbcTemplate The template used to insert the employees.
+     * @param count        The number of employees to insert.
+     * @return The number of employees inserted.
+     */
+    long insert(JdbcTemplate jdbcTemplate, long count)
+    {
+        Timestamp now = Timestamp.from(Instant.now());
+        long inserted = 0;
+
+        while (inserted < count)
+        {
+            long first = inserted + 1;
+            int size = (int) Math.min(BATCH_SIZE, count - inserted);
+
+            jdbcTemplate.batchUpdate("insert into employee (id, first_name, middle_initial, last_name, date_of_birth,"
+                    + " date_of_employment, status, version, created_at, updated_at)"
+                    + " values (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)", new BatchPreparedStatementSetter()
+            {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException
+                {
+                    LocalDate dateOfBirth = BORN_FROM.plusDays(random.nextLong(ChronoUnit.DAYS.between(BORN_FROM,
+                            BORN_TO) + 1));
+                    LocalDate employableFrom = dateOfBirth.plusYears(MINIMUM_AGE);
+                    LocalDate dateOfEmployment = employableFrom.plusDays(random.nextLong(
+                            ChronoUnit.DAYS.between(employableFrom, EMPLOYED_TO) + 1));
+                    Status status = random.nextDouble() < inactiveRatio ? Status.INACTIVE : Status.ACTIVE;
+
+                    statement.setLong(1, first + i);
+                    statement.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                    statement.setString(3, String.valueOf((char) ('A' + random.nextInt(26))));
+                    statement.setString(4, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                    statement.setDate(5, Date.valueOf(dateOfBirth));
+                    statement.setDate(6, Date.valueOf(dateOfEmployment));
+                    statement.setInt(7, status.ordinal());
+                    statement.setTimestamp(8, now);
+                    statement.setTimestamp(9, now);
+                }
+
+                @Override
+                public int getBatchSize()
+                {
+                    return size;
+                }
+            });
+
+            inserted += size;
+        }
+
+        return inserted;
+    }
+}
@@ -0,0 +1,29 @@
+package employee;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class sets the response code and provides the user with advice when they ask for a page of fewer than one
+ * employee.
+ */
+@ControllerAdvice
+class EmployeeLimitAdvice
+{
+    /**
+     * Returns the message of the exception to be used to give feedback back to the user.
+     *
+     * @param ex The exception thrown when a page of fewer than one employee is asked for.
+     * @return The message of the exception.
+     */
+    @ResponseBody
+    @ExceptionHandler(EmployeeLimitException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String employeeLimitHandler(EmployeeLimitException ex)
+    {
+        return ex.getMessage();
+    }
+}
@@ -0,0 +1,17 @@
+package employee;
+
+/**
+ * This class represents an exception to be thrown whenever a caller asks for a page of fewer than one employee.
+ */
+class EmployeeLimitException extends RuntimeException
+{
+    /**
+     * Constructor.
+     *
+     * @param limit The limit that was asked for.
+     */
+    EmployeeLimitException(int limit)
+    {
+        super("\nThe limit must be at least 1, but was " + limit);
+    }
+}
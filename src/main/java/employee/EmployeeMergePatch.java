@@ -0,0 +1,134 @@
+package employee;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a JSON Merge Patch (RFC 7396) of an employee, listing only the fields to change, each written
+ * as it would be in an {@link Employee}. Every field of an employee is required, so a patch may not remove one, and
+ * only the details of an employee may be patched, not their ID or status.
+ */
+final class EmployeeMergePatch
+{
+    /**
+     * The fields that can be patched.
+     */
+    static final List<String> PATCHABLE = List.of("firstName", "middleInitial", "lastName", "dateOfBirth",
+            "dateOfEmployment");
+
+    /**
+     * The format dates are written in, as annotated on {@link Employee}.
+     */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd-yyyy");
+
+    /**
+     * The new value of each field to change, by name, as the type of the field.
+     */
+    private final Map<String, Object> values;
+
+    /**
+     * The patch as it was sent.
+     */
+    private final Map<String, Object> document;
+
+    /**
+     * Constructor.
+     *
+     * @param values   The new value of each field to change, by name, as the type of the field.
+     * @param document The patch as it was sent.
+     */
+    private EmployeeMergePatch(Map<String, Object> values, Map<String, Object> document)
+    {
+        this.values = values;
+        this.document = document;
+    }
+
+    /**
+     * Reads a patch, checking that every field it changes can be patched to the value given.
+     *
+     * @param document The patch as it was sent.
+     * @return The patch.
+     * @throws EmployeeMergePatchException If the patch changes nothing, or a field that cannot be patched, or gives a
+     *                                     value the field cannot take.
+     */
+    static EmployeeMergePatch parse(Map<String, Object> document)
+    {
+        if (document.isEmpty())
+        {
+            throw new EmployeeMergePatchException("The patch changes no field");
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : document.entrySet())
+        {
+            String name = field.getKey();
+            if (!PATCHABLE.contains(name))
+            {
+                throw new EmployeeMergePatchException("'" + name + "' cannot be patched, choose from " + PATCHABLE);
+            }
+            if (field.getValue() == null)
+            {
+                throw new EmployeeMergePatchException("'" + name + "' is required and cannot be removed");
+            }
+            if (!(field.getValue() instanceof String))
+            {
+                throw new EmployeeMergePatchException("'" + name + "' must be given as a string");
+            }
+
+            values.put(name, convert(name, (String) field.getValue()));
+        }
+
+        return new EmployeeMergePatch(Collections.unmodifiableMap(values), Collections.unmodifiableMap(document));
+    }
+
+    /**
+     * @param name  The name of a field that can be patched.
+     * @param value The new value of the field, as written in an {@link Employee}.
+     * @return The new value as the type of the field.
+     */
+    private static Object convert(String name, String value)
+    {
+        switch (name)
+        {
+            case "middleInitial":
+                if (value.length() != 1)
+                {
+                    throw new EmployeeMergePatchException("'" + name + "' must be a single character");
+                }
+                return value.charAt(0);
+            case "dateOfBirth":
+            case "dateOfEmployment":
+                try
+                {
+                    return LocalDate.parse(value, DATE_FORMAT);
+                }
+                catch (DateTimeParseException e)
+                {
+                    throw new EmployeeMergePatchException("'" + name + "' must be a date in the format MM-dd-yyyy");
+                }
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * @return The new value of each field to change, by name, as the type of the field.
+     */
+    Map<String, Object> getValues()
+    {
+        return this.values;
+    }
+
+    /**
+     * @return The patch as it was sent.
+     */
+    Map<String, Object> getDocument()
+    {
+        return this.document;
+    }
+}
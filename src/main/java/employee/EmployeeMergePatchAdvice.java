@@ -0,0 +1,28 @@
+package employee;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class sets the response code and provides the user with advice when a patch of an employee cannot be applied.
+ */
+@ControllerAdvice
+class EmployeeMergePatchAdvice
+{
+    /**
+     * Returns the message of the exception to be used to give feedback back to the user.
+     *
+     * @param ex The exception thrown when a patch cannot be applied.
+     * @return The message of the exception.
+     */
+    @ResponseBody
+    @ExceptionHandler(EmployeeMergePatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String employeeMergePatchHandler(EmployeeMergePatchException ex)
+    {
+        return ex.getMessage();
+    }
+}
@@ -0,0 +1,18 @@
+package employee;
+
+/**
+ * This class represents an exception to be thrown whenever a patch of an employee changes a field that cannot be
+ * patched, or gives a field a value it cannot take.
+ */
+class EmployeeMergePatchException extends RuntimeException
+{
+    /**
+     * Constructor.
+     *
+     * @param problem What is wrong with the patch.
+     */
+    EmployeeMergePatchException(String problem)
+    {
+        super("\n" + problem);
+    }
+}
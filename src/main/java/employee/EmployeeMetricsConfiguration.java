@@ -0,0 +1,71 @@
+package employee;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * This class wires the metrics Spring Boot does not publish on its own into Hibernate and the employee endpoints: the
+ * number of statements each request prepares and the number of slow queries. Request, repository, connection pool,
+ * cache and Hibernate metrics are published by Spring Boot Actuator, and authentication is timed by the
+ * {@link TimedAuthenticationProvider} configured in {@link EmployeeWebSecurityConfiguration}.
+ */
+@Configuration
+class EmployeeMetricsConfiguration implements WebMvcConfigurer
+{
+    /**
+     * The class responsible for counting the statements prepared by each request.
+     */
+    private final EmployeeQueryCounter queryCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param queryCounter The class responsible for counting the statements prepared by each request.
+     */
+    EmployeeMetricsConfiguration(EmployeeQueryCounter queryCounter)
+    {
+        this.queryCounter = queryCounter;
+    }
+
+    /**
+     * Counts the statements prepared by every request to the employee endpoints.
+     *
+     * @param registry The registry of the interceptors applied to requests.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry)
+    {
+        registry.addInterceptor(queryCounter).addPathPatterns("/employees", "/employees/**");
+    }
+
+    /**
+     * Passes every statement Hibernate prepares through the query counter, and replaces the statistics Hibernate
+     * gathers with ones that also count slow queries.
+     *
+     * @param meterRegistry      The registry the slow query counter is published to.
+     * @param slowQueryThreshold The time from which a query is counted as slow.
+     * @return The customizer of the Hibernate properties.
+     */
+    @Bean
+    HibernatePropertiesCustomizer employeeMetricsHibernatePropertiesCustomizer(
+            MeterRegistry meterRegistry,
+            @Value("${employee.metrics.slow-query-threshold:100ms}") Duration slowQueryThreshold)
+    {
+        StatisticsFactory statisticsFactory =
+                sessionFactory -> new EmployeeSlowQueryStatistics(sessionFactory, meterRegistry, slowQueryThreshold);
+
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+            properties.put("hibernate.stats.factory", statisticsFactory);
+        };
+    }
+}
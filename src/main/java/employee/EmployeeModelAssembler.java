@@ -1,17 +1,73 @@
 package employee;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
 /**
  * This class handles the conversion of an {@link Employee} object to an entity model.
+ * <p>
+ * By default, links are built by concatenating IDs onto the collection URI, which is resolved once per request, or
+ * once at startup when a base URL is configured. Building every link through {@code linkTo(methodOn(...))} instead
+ * creates a proxy and expands a URI template per link, and can be switched back on with
+ * {@code employee.links.precomputed=false}. Both produce identical links.
  */
 @Component
 class EmployeeModelAssembler implements RepresentationModelAssembler<Employee, EntityModel<Employee>>
 {
+    /**
+     * The request attribute holding the collection link resolved for the current request.
+     */
+    private static final String EMPLOYEES_LINK_ATTRIBUTE = EmployeeModelAssembler.class.getName() + ".employeesLink";
+
+    /**
+     * The relation of the link from an employee back to the employee collection.
+     */
+    private static final LinkRelation EMPLOYEES = LinkRelation.of("employees");
+
+    /**
+     * The relation of the link an incremental sync should be carried on from next time.
+     */
+    private static final LinkRelation SYNC = LinkRelation.of("sync");
+
+    /**
+     * Whether links are built by concatenation rather than through {@code linkTo(methodOn(...))}.
+     */
+    private final boolean precomputed;
+
+    /**
+     * The collection link resolved from the configured base URL, or null to resolve it from each request.
+     */
+    private final Link configuredEmployeesLink;
+
+    /**
+     * Constructor.
+     *
+     * @param precomputed Whether links are built by concatenation rather than through {@code linkTo(methodOn(...))}.
+     * @param baseUrl     The scheme, host and port links should start with, or an empty string to take them from
+     *                    each request.
+     */
+    EmployeeModelAssembler(@Value("${employee.links.precomputed:true}") boolean precomputed,
+                           @Value("${employee.links.base-url:}") String baseUrl)
+    {
+        this.precomputed = precomputed;
+        this.configuredEmployeesLink = baseUrl.isEmpty()
+                ? null
+                : Link.of(baseUrl.replaceAll("/+$", "") + "/employees", EMPLOYEES);
+    }
 
     /**
      * Wraps an {@link Employee} object into an entity model and returns the result.
@@ -22,9 +78,245 @@ class EmployeeModelAssembler implements RepresentationModelAssembler<Employee, E
     @Override
     public EntityModel<Employee> toModel(Employee employee)
     {
+        if (precomputed)
+        {
+            Link employeesLink = employeesLink();
+
+            return EntityModel.of(employee,
+                    Link.of(employeesLink.getHref() + "/" + employee.getId(), IanaLinkRelations.SELF),
+                    employeesLink);
+        }
 
         return EntityModel.of(employee, //
-                linkTo(methodOn(EmployeeController.class).one(employee.getId())).withSelfRel(),
-                linkTo(methodOn(EmployeeController.class).all()).withRel("employees"));
+                linkTo(methodOn(EmployeeController.class).one(employee.getId(), null)).withSelfRel(),
+                linkTo(methodOn(EmployeeController.class).all(null, null, null, null)).withRel("employees").expand());
+    }
+
+    /**
+     * Wraps a keyset page of employees into a collection model, linking to itself and to the neighbouring pages.
+     *
+     * @param page   The {@link EmployeePage} to convert to a collection model.
+     * @param after  The ID the page was sought after, or null if it was not.
+     * @param before The ID the page was sought before, or null if it was not.
+     * @return The collection model of entity model wrapped employees.
+     */
+    CollectionModel<EntityModel<Employee>> toCollectionModel(EmployeePage<Employee> page, Long after, Long before)
+    {
+        List<EntityModel<Employee>> employees = page.getEmployees().stream()
+                .map(this::toModel)
+                .collect(Collectors.toList());
+
+        return withPageLinks(CollectionModel.of(employees), page, after, before, null);
+    }
+
+    /**
+     * Wraps a keyset page of only some fields of each employee into a collection model, linking to itself and to the
+     * neighbouring pages with the same fields. The employees carry no links of their own, as they were asked for to
+     * be as small as possible.
+     *
+     * @param page   The {@link EmployeePage} to convert to a collection model.
+     * @param after  The ID the page was sought after, or null if it was not.
+     * @param before The ID the page was sought before, or null if it was not.
+     * @param fields The fields asked for.
+     * @return The collection model of employees.
+     */
+    CollectionModel<EmployeeProjection> toProjectedCollectionModel(EmployeePage<EmployeeProjection> page, Long after,
+                                                                   Long before, EmployeeFields fields)
+    {
+        return withPageLinks(CollectionModel.of(page.getEmployees()), page, after, before, fields);
+    }
+
+    /**
+     * Wraps a keyset page of employees held in an {@link EmployeeRoster} into a page written straight from the roster,
+     * with the same links a collection model of the same employees would have. Each employee's links are always built
+     * by concatenation, which gives the same links as {@code linkTo(methodOn(...))}.
+     *
+     * @param page   The {@link EmployeePage} to convert.
+     * @param after  The ID the page was sought after, or null if it was not.
+     * @param before The ID the page was sought before, or null if it was not.
+     * @return The page of employees, with its links.
+     */
+    EmployeeRosterPage toRosterPage(EmployeePage<EmployeeRoster.Row> page, Long after, Long before)
+    {
+        return new EmployeeRosterPage(page.getEmployees(), employeesLink().getHref(),
+                pageLinks(page, after, before, null));
+    }
+
+    /**
+     * Adds the links to a page of the employee collection itself and to the neighbouring pages.
+     *
+     * @param collectionModel The collection model of the page.
+     * @param page            The {@link EmployeePage} the collection model was built from.
+     * @param after           The ID the page was sought after, or null if it was not.
+     * @param before          The ID the page was sought before, or null if it was not.
+     * @param fields          The fields asked for, or null for every field.
+     * @param <T>             The type of the content of the collection model.
+     * @return The collection model, with its links.
+     */
+    private <T> CollectionModel<T> withPageLinks(CollectionModel<T> collectionModel, EmployeePage<?> page,
+                                                 Long after, Long before, EmployeeFields fields)
+    {
+        return collectionModel.add(pageLinks(page, after, before, fields));
+    }
+
+    /**
+     * Builds the links to a page of the employee collection itself and to the neighbouring pages.
+     *
+     * @param page   The {@link EmployeePage} to link.
+     * @param after  The ID the page was sought after, or null if it was not.
+     * @param before The ID the page was sought before, or null if it was not.
+     * @param fields The fields asked for, or null for every field.
+     * @return The links of the page.
+     */
+    private List<Link> pageLinks(EmployeePage<?> page, Long after, Long before, EmployeeFields fields)
+    {
+        Integer limit = page.getRequestedLimit();
+        List<Link> links = new ArrayList<>(3);
+        links.add(pageLink(fields, limit, after, before, IanaLinkRelations.SELF));
+
+        if (page.hasNext())
+        {
+            links.add(pageLink(fields, limit, page.lastId(), null, IanaLinkRelations.NEXT));
+        }
+
+        if (page.hasPrevious())
+        {
+            links.add(pageLink(fields, limit, null, page.firstId(), IanaLinkRelations.PREV));
+        }
+
+        return links;
+    }
+
+    /**
+     * Wraps a page of an incremental sync into a collection model, linking to itself, to where the next sync should
+     * start from and, if there are more changes already, to the next page.
+     *
+     * @param employees The modified employees, in the order they were modified.
+     * @param limit     The limit the caller asked for, or null if they did not ask for one.
+     * @param since     The point the page was read after.
+     * @param next      The point after the last employee on the page.
+     * @param hasNext   Whether there are more modified employees after the page.
+     * @return The collection model of entity model wrapped employees.
+     */
+    CollectionModel<EntityModel<Employee>> toSyncModel(List<Employee> employees, Integer limit,
+                                                        EmployeeSyncToken since, EmployeeSyncToken next,
+                                                        boolean hasNext)
+    {
+        CollectionModel<EntityModel<Employee>> collectionModel = CollectionModel.of(
+                employees.stream().map(this::toModel).collect(Collectors.toList()),
+                syncLink(since, limit, IanaLinkRelations.SELF),
+                syncLink(next, limit, SYNC));
+
+        if (hasNext)
+        {
+            collectionModel.add(syncLink(next, limit, IanaLinkRelations.NEXT));
+        }
+
+        return collectionModel;
+    }
+
+    /**
+     * Builds a link to an incremental sync.
+     *
+     * @param since    The point the sync reads after.
+     * @param limit    The limit of the sync, or null.
+     * @param relation The relation of the link.
+     * @return The link to the sync.
+     */
+    private Link syncLink(EmployeeSyncToken since, Integer limit, LinkRelation relation)
+    {
+        String token = since.encode();
+
+        if (!precomputed)
+        {
+            return linkTo(methodOn(EmployeeController.class).modifiedSince(token, limit, null)).withRel(relation)
+                    .expand();
+        }
+
+        // Tokens are URL-safe Base64, so they need no encoding.
+        String href = employeesLink().getHref() + "?modifiedSince=" + token;
+
+        return Link.of(limit == null ? href : href + "&limit=" + limit, relation);
+    }
+
+    /**
+     * Builds a link to a page of the employee collection.
+     *
+     * @param fields   The fields asked for, or null for every field.
+     * @param limit    The limit of the page, or null.
+     * @param after    The ID the page is sought after, or null.
+     * @param before   The ID the page is sought before, or null.
+     * @param relation The relation of the link.
+     * @return The link to the page.
+     */
+    private Link pageLink(EmployeeFields fields, Integer limit, Long after, Long before, LinkRelation relation)
+    {
+        if (!precomputed)
+        {
+            EmployeeController controller = methodOn(EmployeeController.class);
+
+            return linkTo(fields == null
+                    ? controller.all(limit, after, before, null)
+                    : controller.allProjected(fields.toString(), limit, after, before, null))
+                    .withRel(relation).expand();
+        }
+
+        // Parameters are appended in the order of the handler's arguments, as linkTo(methodOn(...)) does.
+        StringBuilder href = new StringBuilder(employeesLink().getHref());
+        char separator = '?';
+        if (fields != null)
+        {
+            // Field names need no encoding, and commas are encoded as linkTo(methodOn(...)) encodes them.
+            href.append(separator).append("fields=").append(fields.toString().replace(",", "%2C"));
+            separator = '&';
+        }
+        if (limit != null)
+        {
+            href.append(separator).append("limit=").append(limit);
+            separator = '&';
+        }
+        if (after != null)
+        {
+            href.append(separator).append("after=").append(after);
+            separator = '&';
+        }
+        if (before != null)
+        {
+            href.append(separator).append("before=").append(before);
+        }
+
+        return Link.of(href.toString(), relation);
+    }
+
+    /**
+     * Returns the link to the employee collection, resolving it through {@code linkTo(methodOn(...))} only once per
+     * request unless a base URL was configured.
+     *
+     * @return The link to the employee collection.
+     */
+    private Link employeesLink()
+    {
+        if (configuredEmployeesLink != null)
+        {
+            return configuredEmployeesLink;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Link employeesLink = attributes == null
+                ? null
+                : (Link) attributes.getAttribute(EMPLOYEES_LINK_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+        if (employeesLink == null)
+        {
+            employeesLink = linkTo(methodOn(EmployeeController.class).all(null, null, null, null))
+                    .withRel(EMPLOYEES).expand();
+
+            if (attributes != null)
+            {
+                attributes.setAttribute(EMPLOYEES_LINK_ATTRIBUTE, employeesLink, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+
+        return employeesLink;
     }
 }
@@ -0,0 +1,220 @@
+package employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This class represents a single keyset page of employees, sought by ID rather than by offset, along with whether
+ * there are more employees on either side of it. Employees may be whole or only the fields a caller asked for.
+ *
+ * @param <T> The type the employees are held as.
+ */
+class EmployeePage<T>
+{
+    /**
+     * The number of employees returned when the caller does not ask for a specific limit.
+     */
+    static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * The largest number of employees a caller may ask for in a single page.
+     */
+    static final int MAX_LIMIT = 1000;
+
+    /**
+     * The employees on this page, ordered by ascending ID.
+     */
+    private final List<T> employees;
+
+    /**
+     * The function returning the ID of an employee on this page.
+     */
+    private final Function<T, Long> idOf;
+
+    /**
+     * The limit the caller asked for, or null if they did not ask for one.
+     */
+    private final Integer requestedLimit;
+
+    /**
+     * Whether there may be employees after the last one on this page.
+     */
+    private final boolean hasNext;
+
+    /**
+     * Whether there may be employees before the first one on this page.
+     */
+    private final boolean hasPrevious;
+
+    /**
+     * Constructor.
+     *
+     * @param employees      The employees on this page, ordered by ascending ID.
+     * @param idOf           The function returning the ID of an employee on this page.
+     * @param requestedLimit The limit the caller asked for, or null if they did not ask for one.
+     * @param hasNext        Whether there may be employees after the last one on this page.
+     * @param hasPrevious    Whether there may be employees before the first one on this page.
+     */
+    private EmployeePage(List<T> employees, Function<T, Long> idOf, Integer requestedLimit, boolean hasNext,
+                         boolean hasPrevious)
+    {
+        this.employees = employees;
+        this.idOf = idOf;
+        this.requestedLimit = requestedLimit;
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+    }
+
+    /**
+     * Checks the limit a caller asked for, before it is written into links and ETags, so that they carry the size of
+     * the page served. A limit over the maximum is lowered to it.
+     *
+     * @param requestedLimit The limit the caller asked for, or null if they did not ask for one.
+     * @return The limit to serve, or null if the caller did not ask for one.
+     * @throws EmployeeLimitException If the limit is less than 1.
+     */
+    static Integer checkLimit(Integer requestedLimit)
+    {
+        if (requestedLimit == null)
+        {
+            return null;
+        }
+        if (requestedLimit < 1)
+        {
+            throw new EmployeeLimitException(requestedLimit);
+        }
+
+        return Math.min(requestedLimit, MAX_LIMIT);
+    }
+
+    /**
+     * Determines how many employees should be on a page, falling back to the default and never exceeding the maximum.
+     *
+     * @param requestedLimit The limit checked by {@link #checkLimit}, or null if the caller did not ask for one.
+     * @return The number of employees to put on the page.
+     */
+    static int pageSize(Integer requestedLimit)
+    {
+        if (requestedLimit == null)
+        {
+            return DEFAULT_LIMIT;
+        }
+
+        return Math.min(requestedLimit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from employees that were sought forwards, in ascending ID order. The query is expected to have
+     * fetched one more employee than the page size so the existence of a next page can be detected.
+     *
+     * @param found          The employees found, ordered by ascending ID, up to one more than the page size.
+     * @param requestedLimit The limit the caller asked for, or null if they did not ask for one.
+     * @param sought         Whether the page was sought after a given ID rather than from the start.
+     * @return The page of employees.
+     */
+    static EmployeePage<Employee> forward(List<Employee> found, Integer requestedLimit, boolean sought)
+    {
+        return forward(found, Employee::getId, requestedLimit, sought);
+    }
+
+    /**
+     * Builds a page from employees held as any type that were sought forwards, in ascending ID order.
+     *
+     * @param found          The employees found, ordered by ascending ID, up to one more than the page size.
+     * @param idOf           The function returning the ID of an employee.
+     * @param requestedLimit The limit the caller asked for, or null if they did not ask for one.
+     * @param sought         Whether the page was sought after a given ID rather than from the start.
+     * @param <T>            The type the employees are held as.
+     * @return The page of employees.
+     */
+    static <T> EmployeePage<T> forward(List<T> found, Function<T, Long> idOf, Integer requestedLimit, boolean sought)
+    {
+        int pageSize = pageSize(requestedLimit);
+        boolean hasNext = found.size() > pageSize;
+        List<T> employees = hasNext ? found.subList(0, pageSize) : found;
+
+        return new EmployeePage<>(employees, idOf, requestedLimit, hasNext, sought);
+    }
+
+    /**
+     * Builds a page from employees that were sought backwards, in descending ID order. The query is expected to have
+     * fetched one more employee than the page size so the existence of a previous page can be detected.
+     *
+     * @param found          The employees found, ordered by descending ID, up to one more than the page size.
+     * @param requestedLimit The limit the caller asked for, or null if they did not ask for one.
+     * @return The page of employees, put back into ascending ID order.
+     */
+    static EmployeePage<Employee> backward(List<Employee> found, Integer requestedLimit)
+    {
+        return backward(found, Employee::getId, requestedLimit);
+    }
+
+    /**
+     * Builds a page from employees held as any type that were sought backwards, in descending ID order.
+     *
+     * @param found          The employees found, ordered by descending ID, up to one more than the page size.
+     * @param idOf           The function returning the ID of an employee.
+     * @param requestedLimit The limit the caller asked for, or null if they did not ask for one.
+     * @param <T>            The type the employees are held as.
+     * @return The page of employees, put back into ascending ID order.
+     */
+    static <T> EmployeePage<T> backward(List<T> found, Function<T, Long> idOf, Integer requestedLimit)
+    {
+        int pageSize = pageSize(requestedLimit);
+        boolean hasPrevious = found.size() > pageSize;
+        List<T> employees = new ArrayList<>(hasPrevious ? found.subList(0, pageSize) : found);
+        Collections.reverse(employees);
+
+        return new EmployeePage<>(employees, idOf, requestedLimit, true, hasPrevious);
+    }
+
+    /**
+     * @return The employees on this page, ordered by ascending ID.
+     */
+    List<T> getEmployees()
+    {
+        return this.employees;
+    }
+
+    /**
+     * @return The limit the caller asked for, or null if they did not ask for one.
+     */
+    Integer getRequestedLimit()
+    {
+        return this.requestedLimit;
+    }
+
+    /**
+     * @return Whether a link to the next page should be offered.
+     */
+    boolean hasNext()
+    {
+        return this.hasNext && !this.employees.isEmpty();
+    }
+
+    /**
+     * @return Whether a link to the previous page should be offered.
+     */
+    boolean hasPrevious()
+    {
+        return this.hasPrevious && !this.employees.isEmpty();
+    }
+
+    /**
+     * @return The ID of the first employee on this page. Only valid when the page is not empty.
+     */
+    Long firstId()
+    {
+        return idOf.apply(this.employees.get(0));
+    }
+
+    /**
+     * @return The ID of the last employee on this page. Only valid when the page is not empty.
+     */
+    Long lastId()
+    {
+        return idOf.apply(this.employees.get(this.employees.size() - 1));
+    }
+}
@@ -0,0 +1,29 @@
+package employee;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class sets the response code and provides the user with advice when they send query parameters that cannot be
+ * used together.
+ */
+@ControllerAdvice
+class EmployeeParameterConflictAdvice
+{
+    /**
+     * Returns the message of the exception to be used to give feedback back to the user.
+     *
+     * @param ex The exception thrown when query parameters cannot be used together.
+     * @return The message of the exception.
+     */
+    @ResponseBody
+    @ExceptionHandler(EmployeeParameterConflictException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String employeeParameterConflictHandler(EmployeeParameterConflictException ex)
+    {
+        return ex.getMessage();
+    }
+}
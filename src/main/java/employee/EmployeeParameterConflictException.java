@@ -0,0 +1,19 @@
+package employee;
+
+/**
+ * This class represents an exception to be thrown whenever a caller sends two query parameters that cannot be used
+ * together, rather than one of them being silently ignored.
+ */
+class EmployeeParameterConflictException extends RuntimeException
+{
+    /**
+     * Constructor.
+     *
+     * @param parameter The name of one of the parameters.
+     * @param other     The name of the parameter it cannot be used with.
+     */
+    EmployeeParameterConflictException(String parameter, String other)
+    {
+        super("\n'" + parameter + "' cannot be used together with '" + other + "'");
+    }
+}
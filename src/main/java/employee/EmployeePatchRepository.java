@@ -0,0 +1,22 @@
+package employee;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This class allows employees to be patched in a single statement, without loading them first.
+ */
+interface EmployeePatchRepository
+{
+    /**
+     * Changes only the fields in the patch of a single active employee, and advances their version and modification
+     * time as saving them would.
+     *
+     * @param id        The ID of the employee to patch.
+     * @param patch     The fields to change.
+     * @param versions  The versions the employee is expected to be at, or null to patch them at any version.
+     * @param updatedAt The time of the update.
+     * @return The number of employees patched, 0 if there is no such active employee at an expected version.
+     */
+    int patch(Long id, EmployeeMergePatch patch, List<Long> versions, Instant updatedAt);
+}
@@ -0,0 +1,76 @@
+package employee;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class builds an update of only the columns a patch changes, so a patch is a single statement whichever fields
+ * it changes. Bulk updates bypass Hibernate, so the version and modification time are advanced here.
+ */
+class EmployeePatchRepositoryImpl implements EmployeePatchRepository
+{
+    /**
+     * The entity manager the updates are run with.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager The entity manager the updates are run with.
+     */
+    EmployeePatchRepositoryImpl(EntityManager entityManager)
+    {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int patch(Long id, EmployeeMergePatch patch, List<Long> versions, Instant updatedAt)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = builder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        Path<Long> version = employee.get("version");
+
+        patch.getValues().forEach(update::set);
+        update.set(version, builder.sum(version, 1L));
+        update.set("updatedAt", updatedAt);
+
+        // IDs and versions are bound rather than inlined as literals, so the DB can reuse the statement.
+        ParameterExpression<Long> idParameter = builder.parameter(Long.class);
+        List<ParameterExpression<Long>> versionParameters = new ArrayList<>();
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(employee.get("id"), idParameter));
+        predicates.add(builder.equal(employee.get("status"), Status.ACTIVE));
+        if (versions != null)
+        {
+            versions.forEach(expected -> versionParameters.add(builder.parameter(Long.class)));
+            predicates.add(version.in(versionParameters.toArray(new ParameterExpression<?>[0])));
+        }
+        update.where(predicates.toArray(new Predicate[0]));
+
+        Query query = entityManager.createQuery(update).setParameter(idParameter, id);
+        for (int i = 0; i < versionParameters.size(); i++)
+        {
+            query.setParameter(versionParameters.get(i), versions.get(i));
+        }
+
+        // As with @Modifying(clearAutomatically = true), no copy of the employee read before is left behind stale.
+        int updated = query.executeUpdate();
+        entityManager.clear();
+
+        return updated;
+    }
+}
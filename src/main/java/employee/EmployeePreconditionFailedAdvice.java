@@ -0,0 +1,45 @@
+package employee;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class sets the response code and provides the user with advice when an employee could not be updated because
+ * they were changed by someone else first.
+ */
+@ControllerAdvice
+class EmployeePreconditionFailedAdvice
+{
+    /**
+     * Returns the message of the exception to be used to give feedback back to the user.
+     *
+     * @param ex The exception thrown when an employee is not at the version the user expected.
+     * @return The message of the exception.
+     */
+    @ResponseBody
+    @ExceptionHandler(EmployeePreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    String employeePreconditionFailedHandler(EmployeePreconditionFailedException ex)
+    {
+        return ex.getMessage();
+    }
+
+    /**
+     * Returns feedback for the user when an employee was changed by someone else between being read and written.
+     *
+     * @param ex The exception thrown when the version of an employee changed during an update.
+     * @return The message given back to the user.
+     */
+    @ResponseBody
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    String optimisticLockingFailureHandler(ObjectOptimisticLockingFailureException ex)
+    {
+        Object id = ex.getIdentifier();
+        return new EmployeePreconditionFailedException(id instanceof Long ? (Long) id : null).getMessage();
+    }
+}
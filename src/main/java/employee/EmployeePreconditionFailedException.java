@@ -0,0 +1,18 @@
+package employee;
+
+/**
+ * This class represents an exception to be thrown whenever an employee is updated on the condition that they are at a
+ * given version, and they are not.
+ */
+class EmployeePreconditionFailedException extends RuntimeException
+{
+    /**
+     * Constructor.
+     *
+     * @param id The ID of the employee who is not at the expected version.
+     */
+    EmployeePreconditionFailedException(Long id)
+    {
+        super("\nEmployee " + id + " has been changed since it was last retrieved");
+    }
+}
@@ -0,0 +1,256 @@
+package employee;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.hateoas.server.core.Relation;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * This class represents the fields of an employee a caller asked for, written as an {@link Employee} would be but
+ * leaving out every field that was not asked for. It is built from a row of only the selected columns, so it is never
+ * managed by Hibernate, or from an employee already in memory.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Relation(collectionRelation = "employeeList")
+class EmployeeProjection
+{
+    /**
+     * The unique ID of the employee.
+     */
+    private Long id;
+
+    /**
+     * The first name of the employee, or null if it was not asked for.
+     */
+    private String firstName;
+
+    /**
+     * The middle initial of the employee, or null if it was not asked for.
+     */
+    private Character middleInitial;
+
+    /**
+     * The last name of the employee, or null if it was not asked for.
+     */
+    private String lastName;
+
+    /**
+     * The date of birth of the employee, or null if it was not asked for.
+     */
+    @JsonFormat(pattern = "MM-dd-yyyy")
+    private LocalDate dateOfBirth;
+
+    /**
+     * The date of employment of the employee, or null if it was not asked for.
+     */
+    @JsonFormat(pattern = "MM-dd-yyyy")
+    private LocalDate dateOfEmployment;
+
+    /**
+     * The {@link Status} of the employee, or null if it was not asked for.
+     */
+    private Status status;
+
+    /**
+     * The version of the employee, or null if it was not selected.
+     */
+    @JsonIgnore
+    private Long version;
+
+    /**
+     * The last time the employee was modified, or null if it was not selected.
+     */
+    @JsonIgnore
+    private Instant updatedAt;
+
+    /**
+     * Private constructor, as projections are only built from a row or an employee.
+     */
+    private EmployeeProjection()
+    {
+    }
+
+    /**
+     * Builds a projection from a row of selected columns, each aliased with the name of its field.
+     *
+     * @param tuple The row.
+     * @return The projection.
+     */
+    static EmployeeProjection of(Tuple tuple)
+    {
+        EmployeeProjection projection = new EmployeeProjection();
+        for (TupleElement<?> element : tuple.getElements())
+        {
+            projection.set(element.getAlias(), tuple.get(element));
+        }
+
+        return projection;
+    }
+
+    /**
+     * Builds a projection from an employee already in memory.
+     *
+     * @param employee The employee.
+     * @param fields   The fields asked for.
+     * @return The projection, carrying the version and modification time of the employee.
+     */
+    static EmployeeProjection of(Employee employee, EmployeeFields fields)
+    {
+        EmployeeProjection projection = new EmployeeProjection();
+        for (String name : fields.getNames())
+        {
+            projection.set(name, valueOf(employee, name));
+        }
+        projection.version = employee.getVersion();
+        projection.updatedAt = employee.getUpdatedAt();
+
+        return projection;
+    }
+
+    /**
+     * @param employee The employee.
+     * @param name     The name of one of the fields that can be asked for.
+     * @return The value of the field of the employee.
+     */
+    private static Object valueOf(Employee employee, String name)
+    {
+        switch (name)
+        {
+            case "id":
+                return employee.getId();
+            case "firstName":
+                return employee.getFirstName();
+            case "middleInitial":
+                return employee.getMiddleInitial();
+            case "lastName":
+                return employee.getLastName();
+            case "dateOfBirth":
+                return employee.getDateOfBirth();
+            case "dateOfEmployment":
+                return employee.getDateOfEmployment();
+            case "status":
+                return employee.getStatus();
+            default:
+                throw new EmployeeFieldsException(name);
+        }
+    }
+
+    /**
+     * Sets a field, or the version or modification time, from its selected value.
+     *
+     * @param name  The name of the field.
+     * @param value The value of the field.
+     */
+    private void set(String name, Object value)
+    {
+        switch (name)
+        {
+            case "id":
+                this.id = (Long) value;
+                break;
+            case "firstName":
+                this.firstName = (String) value;
+                break;
+            case "middleInitial":
+                this.middleInitial = (Character) value;
+                break;
+            case "lastName":
+                this.lastName = (String) value;
+                break;
+            case "dateOfBirth":
+                this.dateOfBirth = (LocalDate) value;
+                break;
+            case "dateOfEmployment":
+                this.dateOfEmployment = (LocalDate) value;
+                break;
+            case "status":
+                this.status = (Status) value;
+                break;
+            case "version":
+                this.version = (Long) value;
+                break;
+            case "updatedAt":
+                this.updatedAt = (Instant) value;
+                break;
+            default:
+                throw new EmployeeFieldsException(name);
+        }
+    }
+
+    /**
+     * @return The unique ID of the employee.
+     */
+    public Long getId()
+    {
+        return this.id;
+    }
+
+    /**
+     * @return The first name of the employee, or null if it was not asked for.
+     */
+    public String getFirstName()
+    {
+        return this.firstName;
+    }
+
+    /**
+     * @return The middle initial of the employee, or null if it was not asked for.
+     */
+    public Character getMiddleInitial()
+    {
+        return this.middleInitial;
+    }
+
+    /**
+     * @return The last name of the employee, or null if it was not asked for.
+     */
+    public String getLastName()
+    {
+        return this.lastName;
+    }
+
+    /**
+     * @return The date of birth of the employee, or null if it was not asked for.
+     */
+    public LocalDate getDateOfBirth()
+    {
+        return this.dateOfBirth;
+    }
+
+    /**
+     * @return The date of employment of the employee, or null if it was not asked for.
+     */
+    public LocalDate getDateOfEmployment()
+    {
+        return this.dateOfEmployment;
+    }
+
+    /**
+     * @return The {@link Status} of the employee, or null if it was not asked for.
+     */
+    public Status getStatus()
+    {
+        return this.status;
+    }
+
+    /**
+     * @return The version of the employee, or null if it was not selected.
+     */
+    public Long getVersion()
+    {
+        return this.version;
+    }
+
+    /**
+     * @return The last time the employee was modified, or null if it was not selected.
+     */
+    public Instant getUpdatedAt()
+    {
+        return this.updatedAt;
+    }
+}
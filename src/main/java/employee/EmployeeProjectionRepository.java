@@ -0,0 +1,35 @@
+package employee;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class allows employees to be read with only the fields a caller asked for, selecting no other column.
+ */
+interface EmployeeProjectionRepository
+{
+    /**
+     * Finds a keyset page of employees with the given {@link Status}, selecting only the given fields. The page is
+     * sought before the given ID if there is one, closest first, and otherwise after the given ID or from the start.
+     *
+     * @param fields The fields to select.
+     * @param status The {@link Status} the employees must have.
+     * @param after  The ID to seek past, or null to start at the beginning.
+     * @param before The ID to seek before, or null to seek forwards.
+     * @param limit  The largest number of employees to return.
+     * @return The employees found, in descending ID order when sought before an ID and in ascending order otherwise.
+     */
+    List<EmployeeProjection> findProjectedByStatus(EmployeeFields fields, Status status, Long after, Long before,
+                                                   int limit);
+
+    /**
+     * Finds a single employee by their unique ID, only if they currently have the given {@link Status}, selecting only
+     * the given fields along with their version and modification time.
+     *
+     * @param fields The fields to select.
+     * @param id     The ID of the employee to find.
+     * @param status The {@link Status} the employee must have.
+     * @return The employee, or empty if no employee with that ID and {@link Status} exists.
+     */
+    Optional<EmployeeProjection> findProjectedByIdAndStatus(EmployeeFields fields, Long id, Status status);
+}
@@ -0,0 +1,111 @@
+package employee;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * This class selects only the columns of the fields asked for, as rows of scalar values. Spring Data projections fix
+ * their fields per type, so the query is built for each set of fields instead. Rows are not entities, so Hibernate
+ * neither manages them nor keeps a snapshot of them for dirty checking.
+ */
+class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository
+{
+    /**
+     * The entity manager the queries are run with.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager The entity manager the queries are run with.
+     */
+    EmployeeProjectionRepositoryImpl(EntityManager entityManager)
+    {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeProjection> findProjectedByStatus(EmployeeFields fields, Status status, Long after,
+                                                          Long before, int limit)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        // IDs are bound rather than inlined as literals, so the DB can reuse the statement for any page.
+        ParameterExpression<Long> id = builder.parameter(Long.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(employee.get("status"), status));
+        if (before != null)
+        {
+            predicates.add(builder.lessThan(employee.get("id"), id));
+        }
+        else if (after != null)
+        {
+            predicates.add(builder.greaterThan(employee.get("id"), id));
+        }
+
+        query.multiselect(select(employee, fields.getNames()))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(before != null ? builder.desc(employee.get("id")) : builder.asc(employee.get("id")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query).setMaxResults(limit);
+        if (before != null || after != null)
+        {
+            typedQuery.setParameter(id, before != null ? before : after);
+        }
+
+        return typedQuery.getResultStream()
+                .map(EmployeeProjection::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EmployeeProjection> findProjectedByIdAndStatus(EmployeeFields fields, Long id, Status status)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        // The version and modification time are selected too, as the ETag and Last-Modified of the employee.
+        List<String> names = new ArrayList<>(fields.getNames());
+        names.add("version");
+        names.add("updatedAt");
+
+        ParameterExpression<Long> idParameter = builder.parameter(Long.class);
+        query.multiselect(select(employee, names))
+                .where(builder.equal(employee.get("id"), idParameter), builder.equal(employee.get("status"), status));
+
+        return entityManager.createQuery(query).setParameter(idParameter, id).getResultStream()
+                .findFirst()
+                .map(EmployeeProjection::of);
+    }
+
+    /**
+     * @param employee The employee being queried.
+     * @param names    The names of the attributes to select.
+     * @return The selection of each attribute, aliased with its name.
+     */
+    private static List<Selection<?>> select(Root<Employee> employee, List<String> names)
+    {
+        return names.stream()
+                .<Selection<?>>map(name -> employee.get(name).alias(name))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package employee;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * This class counts the SQL statements Hibernate prepares while each request to the employee endpoints is handled,
+ * and publishes the count per request as the {@code employee.request.queries} distribution, tagged with the method and
+ * mapping of the request. An endpoint whose count grows with the size of its response is issuing a query per row.
+ */
+@Component
+class EmployeeQueryCounter implements StatementInspector, AsyncHandlerInterceptor
+{
+    /**
+     * The name the distribution of statements per request is published under.
+     */
+    private static final String METRIC_NAME = "employee.request.queries";
+
+    /**
+     * The number of statements prepared so far by the request being handled on the current thread, or null if no
+     * request is being counted.
+     */
+    private final ThreadLocal<int[]> statements = new ThreadLocal<>();
+
+    /**
+     * The registry the distribution is published to.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry The registry the distribution is published to.
+     */
+    EmployeeQueryCounter(MeterRegistry meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts counting the statements of a request.
+     *
+     * @param request  The request being made by the user.
+     * @param response The response that will be sent back to the user.
+     * @param handler  The handler of the request.
+     * @return Always true, so the request carries on.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+    {
+        statements.set(new int[1]);
+        return true;
+    }
+
+    /**
+     * Counts a statement about to be prepared, leaving it unchanged.
+     *
+     * @param sql The SQL of the statement.
+     * @return The same SQL.
+     */
+    @Override
+    public String inspect(String sql)
+    {
+        int[] count = statements.get();
+        if (count != null)
+        {
+            count[0]++;
+        }
+
+        return sql;
+    }
+
+    /**
+     * Publishes the number of statements prepared by a request once it has been handled.
+     *
+     * @param request  The request made by the user.
+     * @param response The response sent back to the user.
+     * @param handler  The handler of the request.
+     * @param ex       The exception the handler threw, if any.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
+    {
+        int[] count = statements.get();
+        statements.remove();
+
+        if (count == null)
+        {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements prepared per request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .register(meterRegistry)
+                .record(count[0]);
+    }
+
+    /**
+     * Stops counting once a request carries on asynchronously, such as a stream of changes, as it is no longer
+     * handled on the current thread and is never completed on it.
+     *
+     * @param request  The request made by the user.
+     * @param response The response being sent back to the user.
+     * @param handler  The handler of the request.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler)
+    {
+        statements.remove();
+    }
+}
@@ -0,0 +1,141 @@
+package employee;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * This class represents a read replica of the employee DB, along with how far it has caught up with the primary. A
+ * replica holds every write committed on the primary up to the time it was last synced to, and none committed after.
+ * A replica kept in sync by the DB itself cannot say how far it has caught up, so it is taken to be behind by a fixed
+ * replication lag.
+ */
+class EmployeeReplica
+{
+    /**
+     * The name of the replica, as used in logs and metrics.
+     */
+    private final String name;
+
+    /**
+     * The pool of connections to the replica.
+     */
+    private final HikariDataSource dataSource;
+
+    /**
+     * How far the replica is taken to be behind the primary, or null if it is synced by the application.
+     */
+    private final Duration replicationLag;
+
+    /**
+     * The time on the primary up to which every committed write has been applied, or null until the first sync.
+     */
+    private volatile Instant syncedTo;
+
+    /**
+     * Constructor.
+     *
+     * @param name           The name of the replica, as used in logs and metrics.
+     * @param dataSource     The pool of connections to the replica.
+     * @param replicationLag How far the replica is taken to be behind the primary, or null if it is synced by the
+     *                       application.
+     */
+    EmployeeReplica(String name, HikariDataSource dataSource, Duration replicationLag)
+    {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.replicationLag = replicationLag;
+    }
+
+    /**
+     * Decides whether the replica can serve a read without missing any write it must see. A replica that has applied
+     * every write committed so far can always serve it, and one that has not can only if its lag is tolerated.
+     *
+     * @param lastWrite The time the latest write was committed on the primary, or null if there has been none.
+     * @param maxLag    How far behind the primary the replica may be, or zero to not tolerate any lag.
+     * @param now       The current time.
+     * @return Whether the replica can serve a read.
+     */
+    boolean canServe(Instant lastWrite, Duration maxLag, Instant now)
+    {
+        Instant synced = syncedTo(now);
+        if (synced == null)
+        {
+            return false;
+        }
+
+        if (lastWrite == null || !lastWrite.isAfter(synced))
+        {
+            return true;
+        }
+
+        // Writes committed since the last sync are missing, which is only tolerated within the maximum lag.
+        return !maxLag.isZero() && getLag(now).compareTo(maxLag) <= 0;
+    }
+
+    /**
+     * @param now The current time.
+     * @return How far the replica is behind the primary, or the time since the epoch if it has never been synced.
+     */
+    Duration getLag(Instant now)
+    {
+        Instant synced = syncedTo(now);
+        return Duration.between(synced == null ? Instant.EPOCH : synced, now);
+    }
+
+    /**
+     * @param now The current time.
+     * @return The time on the primary up to which every committed write has been applied, or null until the first
+     * sync.
+     */
+    private Instant syncedTo(Instant now)
+    {
+        return replicationLag == null ? syncedTo : now.minus(replicationLag);
+    }
+
+    /**
+     * @return The number of connections to the replica in use, or 0 if none have been opened yet.
+     */
+    int getActiveConnections()
+    {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    /**
+     * @return The name of the replica, as used in logs and metrics.
+     */
+    String getName()
+    {
+        return this.name;
+    }
+
+    /**
+     * @return The pool of connections to the replica.
+     */
+    HikariDataSource getDataSource()
+    {
+        return this.dataSource;
+    }
+
+    /**
+     * @return The time on the primary up to which every committed write has been applied, or null until the first
+     * sync.
+     */
+    Instant getSyncedTo()
+    {
+        return this.syncedTo;
+    }
+
+    /**
+     * Records that every write committed on the primary up to the given time has been applied.
+     *
+     * @param syncedTo The time on the primary the replica has caught up to.
+     */
+    void setSyncedTo(Instant syncedTo)
+    {
+        this.syncedTo = syncedTo;
+    }
+}
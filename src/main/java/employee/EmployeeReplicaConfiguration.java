@@ -0,0 +1,166 @@
+package employee;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class spreads reads of employees over read replicas of the DB when {@code employee.replicas.enabled=true}.
+ * The DB Spring Boot would otherwise configure from {@code spring.datasource.*} becomes the primary, and each URL in
+ * {@code employee.replicas.urls} a replica, each with its own pool. Repository calls in read-only transactions, which
+ * is every read of Spring Data JPA, go to a replica through an {@link EmployeeRoutingDataSource}; everything else goes
+ * to the primary.
+ * <p>
+ * The bundled H2 replicas are kept in sync by an {@link EmployeeReplicator} standing in for the replication of a real
+ * DB, enabled with {@code employee.replicas.replicator.enabled=true}, so the routing can be tried out. It writes to
+ * every replica, so it is off by default, and replicas kept in sync by the DB itself are instead taken to be behind
+ * the primary by {@code employee.replicas.replication-lag}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.replicas.enabled", havingValue = "true")
+class EmployeeReplicaConfiguration
+{
+    /**
+     * The pool of connections to the primary DB, configured by {@code spring.datasource.*} as it would be without
+     * replicas.
+     *
+     * @param properties The properties of the DB.
+     * @return The pool of connections to the primary.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties)
+    {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * The read replicas of the primary, each with its own pool of connections, named replica-1, replica-2 and so on.
+     *
+     * @param urls           The JDBC URLs of the replicas.
+     * @param properties     The properties of the primary, whose credentials the replicas share.
+     * @param primary        The pool of connections to the primary, whose size, if set, the replicas share.
+     * @param replicated     Whether the replicas are synced by an {@link EmployeeReplicator} rather than by the DB.
+     * @param replicationLag How far replicas synced by the DB are taken to be behind the primary.
+     * @return The replicas.
+     */
+    @Bean
+    List<EmployeeReplica> employeeReplicas(@Value("${employee.replicas.urls}") List<String> urls,
+                                           DataSourceProperties properties,
+                                           @Qualifier("primaryDataSource") HikariDataSource primary,
+                                           @Value("${employee.replicas.replicator.enabled:false}") boolean replicated,
+                                           @Value("${employee.replicas.replication-lag:1s}") Duration replicationLag)
+    {
+        List<EmployeeReplica> replicas = new ArrayList<>();
+        for (String url : urls)
+        {
+            String name = "replica-" + (replicas.size() + 1);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(url.trim());
+            dataSource.setUsername(properties.determineUsername());
+            dataSource.setPassword(properties.determinePassword());
+            if (primary.getMaximumPoolSize() > 0)
+            {
+                dataSource.setMaximumPoolSize(primary.getMaximumPoolSize());
+            }
+            dataSource.setReadOnly(true);
+            replicas.add(new EmployeeReplica(name, dataSource, replicated ? null : replicationLag));
+        }
+
+        return replicas;
+    }
+
+    /**
+     * @param replicas The read replicas of the primary.
+     * @return The callback closing the pool of each replica on shutdown.
+     */
+    @Bean
+    DisposableBean employeeReplicaPools(List<EmployeeReplica> replicas)
+    {
+        return () -> replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    /**
+     * The DB sending each connection to the primary or a replica, publishing its routing as a meter binder.
+     *
+     * @param primary   The pool of connections to the primary.
+     * @param replicas  The read replicas of the primary.
+     * @param selection How a replica is chosen among those that can serve a read, round-robin or least-busy.
+     * @param maxLag    How far behind the primary a replica may be and still serve reads, or zero for none.
+     * @return The routing DB.
+     */
+    @Bean
+    EmployeeRoutingDataSource employeeRoutingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                        List<EmployeeReplica> replicas,
+                                                        @Value("${employee.replicas.selection:round-robin}")
+                                                                String selection,
+                                                        @Value("${employee.replicas.max-lag:0s}") Duration maxLag)
+    {
+        return new EmployeeRoutingDataSource(primary, replicas, EmployeeRoutingDataSource.Selection.parse(selection),
+                maxLag);
+    }
+
+    /**
+     * The DB everything else uses, routing each transaction once it runs its first statement, by when it is known
+     * whether the transaction is read-only.
+     *
+     * @param routingDataSource The DB sending each connection to the primary or a replica.
+     * @return The DB routing each transaction.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(EmployeeRoutingDataSource routingDataSource)
+    {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Starts copying employees to the replicas once the application is ready, by when the schema has been created and
+     * the DB seeded. Until a replica has been synced, reads go to the primary.
+     *
+     * @param primary    The pool of connections to the primary.
+     * @param replicas   The read replicas of the primary.
+     * @param interval   How often modified employees are copied.
+     * @param settleTime How far short of the present each copy stops, so writes still committing are not skipped over.
+     * @return The replicator.
+     */
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "employee.replicas.replicator.enabled", havingValue = "true")
+    EmployeeReplicator employeeReplicator(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                          List<EmployeeReplica> replicas,
+                                          @Value("${employee.replicas.sync-interval:200ms}") Duration interval,
+                                          @Value("${employee.replicas.settle-time:100ms}") Duration settleTime)
+    {
+        return new EmployeeReplicator(primary, replicas, interval, settleTime);
+    }
+
+    /**
+     * @param replicator The replicator to start.
+     * @return The listener starting the replicator once the application is ready.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.replicas.replicator.enabled", havingValue = "true")
+    ApplicationListener<ApplicationReadyEvent> employeeReplicatorStarter(EmployeeReplicator replicator)
+    {
+        return event -> replicator.start();
+    }
+}
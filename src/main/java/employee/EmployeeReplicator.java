@@ -0,0 +1,256 @@
+package employee;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class stands in for DB replication, so read replicas can be tried out locally with H2, which cannot replicate.
+ * It creates the schema of the primary on each replica, then copies the employees modified on the primary to each
+ * replica at a fixed interval, by their modification time. Every write, deactivations included, advances the
+ * modification time, and employees are never removed, so this copies every change.
+ * <p>
+ * A write is stamped with its modification time shortly before it commits, so each copy stops short of the present
+ * by a settle time and picks up from there next time. A write taking longer than the settle time to commit after its
+ * modification time could be missed, so it should exceed how long any transaction writing employees stays open.
+ */
+class EmployeeReplicator
+{
+    /**
+     * Logger used for debugging.
+     */
+    private static final Logger log = LoggerFactory.getLogger(EmployeeReplicator.class);
+
+    /**
+     * The number of employees written to a replica per JDBC batch.
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * The statements of the primary's schema that are run on each replica, by the start of their text.
+     */
+    private static final List<String> SCHEMA_STATEMENTS = List.of("CREATE SEQUENCE", "CREATE MEMORY TABLE",
+            "CREATE CACHED TABLE", "ALTER TABLE", "CREATE INDEX", "CREATE UNIQUE INDEX");
+
+    /**
+     * The template running statements on the primary.
+     */
+    private final JdbcTemplate primary;
+
+    /**
+     * The replicas to copy the employees to.
+     */
+    private final List<EmployeeReplica> replicas;
+
+    /**
+     * How often modified employees are copied.
+     */
+    private final Duration interval;
+
+    /**
+     * How far short of the present each copy stops, so writes still committing are not skipped over.
+     */
+    private final Duration settleTime;
+
+    /**
+     * The thread copying employees.
+     */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-replicator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor.
+     *
+     * @param primary    The primary DB.
+     * @param replicas   The replicas to copy the employees to.
+     * @param interval   How often modified employees are copied.
+     * @param settleTime How far short of the present each copy stops.
+     */
+    EmployeeReplicator(DataSource primary, List<EmployeeReplica> replicas, Duration interval, Duration settleTime)
+    {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas;
+        this.interval = interval;
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * Creates the schema of the primary on each replica and starts copying employees to them. The schema must exist
+     * on the primary.
+     */
+    void start()
+    {
+        List<String> schema = new ArrayList<>();
+        primary.query("script nodata nopasswords nosettings", row -> {
+            String statement = row.getString(1);
+            if (SCHEMA_STATEMENTS.stream().anyMatch(statement.toUpperCase(Locale.ROOT)::startsWith))
+            {
+                schema.add(statement);
+            }
+        });
+        for (EmployeeReplica replica : replicas)
+        {
+            new JdbcTemplate(replica.getDataSource()).batchUpdate(schema.toArray(new String[0]));
+        }
+
+        executor.scheduleWithFixedDelay(this::syncAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops copying employees.
+     */
+    void stop()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Copies the employees modified since each replica was last synced. A replica that fails is left at the point it
+     * had reached and tried again next time, so it falls behind rather than missing a change.
+     */
+    private void syncAll()
+    {
+        Instant to = Instant.now().minus(settleTime);
+        for (EmployeeReplica replica : replicas)
+        {
+            try
+            {
+                sync(replica, to);
+            }
+            catch (RuntimeException e)
+            {
+                log.warn("Could not sync employees to " + replica.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Copies to a replica every employee modified after it was last synced and no later than the given time.
+     *
+     * @param replica The replica to copy the employees to.
+     * @param to      The latest modification time to copy.
+     */
+    private void sync(EmployeeReplica replica, Instant to)
+    {
+        Instant from = replica.getSyncedTo() == null ? Instant.EPOCH : replica.getSyncedTo();
+        if (!to.isAfter(from))
+        {
+            return;
+        }
+
+        Copy copy = new Copy(new JdbcTemplate(replica.getDataSource()));
+        primary.query("select * from employee where updated_at > ? and updated_at <= ?", copy, Timestamp.from(from),
+                Timestamp.from(to));
+        copy.flush();
+        replica.setSyncedTo(to);
+
+        if (copy.copied > 0)
+        {
+            log.debug("Copied " + copy.copied + " employees to " + replica.getName());
+        }
+    }
+
+    /**
+     * @param columns The columns of the employee table.
+     * @return The statement inserting an employee, or replacing the employee with the same ID.
+     */
+    private static String mergeStatement(ResultSetMetaData columns) throws SQLException
+    {
+        StringBuilder names = new StringBuilder();
+        StringBuilder parameters = new StringBuilder();
+        for (int i = 1; i <= columns.getColumnCount(); i++)
+        {
+            names.append(i > 1 ? ", " : "").append(columns.getColumnName(i));
+            parameters.append(i > 1 ? ", " : "").append('?');
+        }
+
+        return "merge into employee (" + names + ") key (id) values (" + parameters + ")";
+    }
+
+    /**
+     * Writes the employees read from the primary to a replica, in batches.
+     */
+    private static final class Copy implements RowCallbackHandler
+    {
+        /**
+         * The template running statements on the replica.
+         */
+        private final JdbcTemplate target;
+
+        /**
+         * The employees read and not yet written, as the values of their columns.
+         */
+        private final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        /**
+         * The statement writing an employee, or null until the first employee has been read.
+         */
+        private String merge;
+
+        /**
+         * The number of employees written.
+         */
+        private long copied;
+
+        /**
+         * Constructor.
+         *
+         * @param target The template running statements on the replica.
+         */
+        private Copy(JdbcTemplate target)
+        {
+            this.target = target;
+        }
+
+        @Override
+        public void processRow(ResultSet row) throws SQLException
+        {
+            if (merge == null)
+            {
+                merge = mergeStatement(row.getMetaData());
+            }
+
+            Object[] values = new Object[row.getMetaData().getColumnCount()];
+            for (int i = 0; i < values.length; i++)
+            {
+                values[i] = row.getObject(i + 1);
+            }
+            batch.add(values);
+
+            if (batch.size() == BATCH_SIZE)
+            {
+                flush();
+            }
+        }
+
+        /**
+         * Writes the employees read and not yet written.
+         */
+        private void flush()
+        {
+            if (!batch.isEmpty())
+            {
+                copied += target.batchUpdate(merge, batch).length;
+                batch.clear();
+            }
+        }
+    }
+}
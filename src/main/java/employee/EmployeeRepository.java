@@ -1,11 +1,196 @@
 package employee;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
- * This class allows access to perform operations to the DB containing employees.
+ * This class allows access to perform operations to the DB containing employees. Queries declared here run in
+ * read-only transactions, as the inherited reads do, so they can be served by a read replica; methods that write
+ * declare their own transaction.
  */
-interface EmployeeRepository extends JpaRepository<Employee, Long>
+@Transactional(readOnly = true)
+interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeProjectionRepository, EmployeePatchRepository
 {
+    /**
+     * Finds a single employee by their unique ID, only if they currently have the given {@link Status}.
+     *
+     * @param id     The ID of the employee to find.
+     * @param status The {@link Status} the employee must have.
+     * @return The employee, or empty if no employee with that ID and {@link Status} exists.
+     */
+    Optional<Employee> findByIdAndStatus(Long id, Status status);
+
+    /**
+     * Finds the first page of employees with the given {@link Status}, ordered by ascending ID.
+     *
+     * @param status   The {@link Status} the employees must have.
+     * @param pageable The page size to limit the result to. Only the first page should be requested.
+     * @return The employees with the lowest IDs and the given {@link Status}.
+     */
+    List<Employee> findByStatusOrderByIdAsc(Status status, Pageable pageable);
+
+    /**
+     * Finds the page of employees with the given {@link Status} that directly follows the given ID, ordered by
+     * ascending ID. Seeking by ID keeps the cost of a page constant however deep into the table it is.
+     *
+     * @param status   The {@link Status} the employees must have.
+     * @param id       The ID to seek past. Only employees with a greater ID are returned.
+     * @param pageable The page size to limit the result to. Only the first page should be requested.
+     * @return The employees following the given ID with the given {@link Status}.
+     */
+    List<Employee> findByStatusAndIdGreaterThanOrderByIdAsc(Status status, Long id, Pageable pageable);
+
+    /**
+     * Finds the page of employees with the given {@link Status} that directly precedes the given ID, ordered by
+     * descending ID so the closest employees are returned first.
+     *
+     * @param status   The {@link Status} the employees must have.
+     * @param id       The ID to seek before. Only employees with a smaller ID are returned.
+     * @param pageable The page size to limit the result to. Only the first page should be requested.
+     * @return The employees preceding the given ID with the given {@link Status}, closest first.
+     */
+    List<Employee> findByStatusAndIdLessThanOrderByIdDesc(Status status, Long id, Pageable pageable);
+
+    /**
+     * Streams every employee with the given {@link Status}, ordered by ascending ID. Rows are pulled from the DB in
+     * batches of the JDBC fetch size as the stream is consumed rather than all at once, and are loaded read-only so
+     * Hibernate keeps no snapshot of them for dirty checking. The stream must be consumed and closed within a
+     * transaction.
+     *
+     * @param status The {@link Status} the employees must have.
+     * @return A stream of every employee with the given {@link Status}.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select e from Employee e where e.status = :status order by e.id")
+    Stream<Employee> streamByStatus(Status status);
+
+    /**
+     * Finds the employees modified after the given point and no later than the given time, whatever their status, in
+     * the order they were modified. Employees modified at the same instant are ordered by ID, so the point can fall
+     * between them. The first condition alone bounds the scan of the modification time index, and the second only
+     * excludes the employees at the point's own instant that have already been seen.
+     *
+     * @param updatedAt The modification time of the point to read after.
+     * @param id        The ID of the point to read after, among employees modified at its time.
+     * @param until     The latest modification time to return.
+     * @param pageable  The page size to limit the result to. Only the first page should be requested.
+     * @return The employees modified after the point, in order of modification time and ID.
+     */
+    @Query("select e from Employee e where e.updatedAt >= :updatedAt and (e.updatedAt > :updatedAt or e.id > :id) "
+            + "and e.updatedAt <= :until order by e.updatedAt, e.id")
+    List<Employee> findModifiedSince(Instant updatedAt, Long id, Instant until, Pageable pageable);
+
+    /**
+     * Finds the employees with the given IDs that have the given {@link Status}, and locks them until the transaction
+     * ends, so what is read is what a following update in the same transaction changes.
+     *
+     * @param ids    The IDs of the employees to find.
+     * @param status The {@link Status} the employees must have.
+     * @return The employees found with the given {@link Status}.
+     */
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Employee e where e.id in :ids and e.status = :status")
+    List<Employee> findAllForUpdate(Collection<Long> ids, Status status);
+
+    /**
+     * Sets the {@link Status} of a single employee in one statement, only if they are still at the version they were
+     * read at. Bulk updates bypass Hibernate, so the version and modification time are advanced here as saving the
+     * employee would, and the persistence context is cleared so no copy read before is left stale.
+     *
+     * @param id        The ID of the employee to update.
+     * @param version   The version the employee is expected to be at.
+     * @param status    The {@link Status} to set. Employees that already have it are left alone.
+     * @param updatedAt The time of the update.
+     * @return The number of employees updated, 0 if there is no such employee at that version, or they already had
+     * the status.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.status = :status, e.version = e.version + 1, e.updatedAt = :updatedAt "
+            + "where e.id = :id and e.version = :version and e.status <> :status")
+    int updateStatus(Long id, long version, Status status, Instant updatedAt);
+
+    /**
+     * Sets the {@link Status} of many employees in one statement, as {@link #updateStatus(Long, long, Status, Instant)}
+     * does for one.
+     *
+     * @param ids       The IDs of the employees to update.
+     * @param status    The {@link Status} to set. Employees that already have it are left alone.
+     * @param updatedAt The time of the update.
+     * @return The number of employees updated.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Employee e set e.status = :status, e.version = e.version + 1, e.updatedAt = :updatedAt "
+            + "where e.id in :ids and e.status <> :status")
+    int updateStatus(Collection<Long> ids, Status status, Instant updatedAt);
+
+    /**
+     * Summarises the whole employee table in a single row, so a caller can tell whether anything has changed without
+     * loading any employees.
+     *
+     * @return The count, version sum and last modification time of every employee.
+     */
+    @Query("select count(e) as count, coalesce(sum(e.version), 0) as versionSum, max(e.updatedAt) as lastModified "
+            + "from Employee e")
+    EmployeeWatermark findWatermark();
+
+    /**
+     * Counts employees by {@link Status} and date of birth. Both are covered by an index, so the DB counts them from
+     * the index alone without reading any employee.
+     *
+     * @return The number of employees with each {@link Status} and date of birth.
+     */
+    @Query("select new employee.EmployeeDateCount(e.status, e.dateOfBirth, count(e)) from Employee e "
+            + "group by e.status, e.dateOfBirth")
+    List<EmployeeDateCount> countByStatusAndDateOfBirth();
+
+    /**
+     * Counts employees by {@link Status} and starting date. Both are covered by an index, so the DB counts them from
+     * the index alone without reading any employee.
+     *
+     * @return The number of employees with each {@link Status} and starting date.
+     */
+    @Query("select new employee.EmployeeDateCount(e.status, e.dateOfEmployment, count(e)) from Employee e "
+            + "group by e.status, e.dateOfEmployment")
+    List<EmployeeDateCount> countByStatusAndDateOfEmployment();
+
+    /**
+     * Streams the status and dates of every employee, whatever their {@link Status}, in batches of the JDBC fetch
+     * size. The stream must be consumed and closed within a transaction.
+     *
+     * @return A stream of the status and dates of every employee.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select new employee.EmployeeDates(e.id, e.status, e.dateOfBirth, e.dateOfEmployment) from Employee e")
+    Stream<EmployeeDates> streamDates();
 
+    /**
+     * Reads the current version of each of the given employees, so a change announced for one of them can be checked
+     * against what was read alongside it in the same transaction.
+     *
+     * @param ids The IDs of the employees.
+     * @return The ID and version of each of the employees that exist.
+     */
+    @Query("select e.id as id, e.version as version from Employee e where e.id in :ids")
+    List<EmployeeVersion> findVersions(Collection<Long> ids);
 }
@@ -0,0 +1,984 @@
+package employee;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is an immutable snapshot of every employee, held column by column rather than as an object per employee,
+ * so pages of active employees can be served from memory. IDs and versions are held as {@code long}s, both dates as
+ * {@code int} days since 1970-01-01, middle initials as {@code char}s, statuses as a bitset of active employees, and
+ * names as indexes into a table holding each distinct name once.
+ * <p>
+ * Employees are held in chunks of at most {@link #CHUNK_SIZE}, ordered by ID. A change makes a new snapshot sharing
+ * everything with the one it was made from but the array of chunks and the columns it alters of a single chunk, so
+ * snapshots can be read by any number of threads while a single writer makes changes.
+ * <p>
+ * A snapshot is also the watermark of the employees it holds, the same as the DB would give for them.
+ */
+final class EmployeeRoster implements EmployeeWatermark
+{
+    /**
+     * The largest number of employees held in a single chunk.
+     */
+    static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The day held in place of a date that is not known.
+     */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /**
+     * The index held in place of a name that is not known.
+     */
+    private static final int NO_NAME = -1;
+
+    /**
+     * The chunks of employees, ordered by the ID of their first employee. None of them is empty.
+     */
+    private final Chunk[] chunks;
+
+    /**
+     * The distinct names of employees, by the index the chunks hold.
+     */
+    private final String[] names;
+
+    /**
+     * The number of employees, whatever their {@link Status}.
+     */
+    private final long count;
+
+    /**
+     * The sum of the versions of every employee.
+     */
+    private final long versionSum;
+
+    /**
+     * The last time any employee was created or updated, or null if there are no employees.
+     */
+    private final Instant lastModified;
+
+    /**
+     * Constructor.
+     *
+     * @param chunks       The chunks of employees, ordered by the ID of their first employee.
+     * @param names        The distinct names of employees, by the index the chunks hold.
+     * @param count        The number of employees, whatever their {@link Status}.
+     * @param versionSum   The sum of the versions of every employee.
+     * @param lastModified The last time any employee was created or updated, or null if there are no employees.
+     */
+    private EmployeeRoster(Chunk[] chunks, String[] names, long count, long versionSum, Instant lastModified)
+    {
+        this.chunks = chunks;
+        this.names = names;
+        this.count = count;
+        this.versionSum = versionSum;
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public long getCount()
+    {
+        return count;
+    }
+
+    @Override
+    public long getVersionSum()
+    {
+        return versionSum;
+    }
+
+    @Override
+    public Instant getLastModified()
+    {
+        return lastModified;
+    }
+
+    /**
+     * Finds a single keyset page of active employees, as the DB would for the same arguments.
+     *
+     * @param limit  The maximum number of employees to return, or null for the default page size.
+     * @param after  Only employees with an ID greater than this one are returned, or null to start at the beginning.
+     * @param before Only employees with an ID less than this one are returned, or null to not bound the page above.
+     *               Only one of {@code after} and {@code before} is given.
+     * @return The page of active employees.
+     */
+    EmployeePage<Row> page(Integer limit, Long after, Long before)
+    {
+        // One extra employee is found to find out whether there is another page beyond this one.
+        int wanted = EmployeePage.pageSize(limit) + 1;
+        List<Row> found = new ArrayList<>(wanted);
+
+        if (before != null)
+        {
+            int chunk = chunkOf(before);
+            int row = chunks.length == 0 ? -1 : firstNotBelow(chunks[chunk], before) - 1;
+            while (chunk >= 0 && found.size() < wanted)
+            {
+                if (row < 0)
+                {
+                    chunk--;
+                    row = chunk < 0 ? -1 : chunks[chunk].size - 1;
+                    continue;
+                }
+                if (chunks[chunk].isActive(row))
+                {
+                    found.add(new Row(names, chunks[chunk], row));
+                }
+                row--;
+            }
+
+            return EmployeePage.backward(found, Row::getId, limit);
+        }
+
+        int chunk = after == null ? 0 : chunkOf(after);
+        int row = after == null || chunks.length == 0 ? 0 : firstAbove(chunks[chunk], after);
+        while (chunk < chunks.length && found.size() < wanted)
+        {
+            if (row == chunks[chunk].size)
+            {
+                chunk++;
+                row = 0;
+                continue;
+            }
+            if (chunks[chunk].isActive(row))
+            {
+                found.add(new Row(names, chunks[chunk], row));
+            }
+            row++;
+        }
+
+        return EmployeePage.forward(found, Row::getId, limit, after != null);
+    }
+
+    /**
+     * Makes a snapshot holding an employee as they were written to the DB, in place of any employee with the same ID.
+     * Writes can be announced out of order, so an employee held at the same or a later version is kept as they are.
+     *
+     * @param names    The table of distinct names this snapshot was made with.
+     * @param employee The employee as they were written to the DB.
+     * @param modified The time the employee was written, if they do not carry it.
+     * @return The new snapshot, or this one if it already holds the employee at the same or a later version.
+     */
+    EmployeeRoster put(Names names, Employee employee, Instant modified)
+    {
+        Entry entry = new Entry();
+        entry.id = employee.getId();
+        entry.firstName = names.indexOf(employee.getFirstName());
+        entry.middleInitial = employee.getMiddleInitial();
+        entry.lastName = names.indexOf(employee.getLastName());
+        entry.dateOfBirth = toDay(employee.getDateOfBirth());
+        entry.dateOfEmployment = toDay(employee.getDateOfEmployment());
+        entry.active = employee.getStatus() == Status.ACTIVE;
+        entry.version = employee.getVersion();
+
+        Instant written = employee.getUpdatedAt() != null ? employee.getUpdatedAt() : modified;
+        if (chunks.length == 0)
+        {
+            Chunk chunk = Chunk.empty().inserted(0, entry);
+            return new EmployeeRoster(new Chunk[]{chunk}, names.getNames(), 1, entry.version, written);
+        }
+
+        int index = chunkOf(entry.id);
+        Chunk chunk = chunks[index];
+        int row = Arrays.binarySearch(chunk.ids, 0, chunk.size, entry.id);
+        if (row >= 0)
+        {
+            if (chunk.versions[row] >= entry.version)
+            {
+                return this;
+            }
+
+            return with(index, chunk.with(row, entry), names, count, versionSum - chunk.versions[row] + entry.version,
+                    written);
+        }
+
+        row = -row - 1;
+        Chunk[] updated;
+        if (chunk.size < CHUNK_SIZE)
+        {
+            updated = chunks.clone();
+            updated[index] = chunk.inserted(row, entry);
+        }
+        else
+        {
+            updated = new Chunk[chunks.length + 1];
+            System.arraycopy(chunks, 0, updated, 0, index);
+            System.arraycopy(chunks, index + 1, updated, index + 2, chunks.length - index - 1);
+            if (row == CHUNK_SIZE)
+            {
+                // An employee after every one in a full chunk, as new employees usually are, starts a chunk of their
+                // own, so chunks filled in ID order stay full.
+                updated[index] = chunk;
+                updated[index + 1] = Chunk.empty().inserted(0, entry);
+            }
+            else
+            {
+                // Otherwise the full chunk is split in two, and the employee inserted into the half they belong to.
+                int half = CHUNK_SIZE / 2;
+                Chunk lower = chunk.slice(0, half);
+                Chunk upper = chunk.slice(half, CHUNK_SIZE);
+                updated[index] = row <= half ? lower.inserted(row, entry) : lower;
+                updated[index + 1] = row <= half ? upper : upper.inserted(row - half, entry);
+            }
+        }
+
+        return new EmployeeRoster(updated, names.getNames(), count + 1, versionSum + entry.version,
+                latest(lastModified, written));
+    }
+
+    /**
+     * Makes a snapshot with some fields of an employee written at the version the DB wrote them at, as a patch or a
+     * deactivation does. Writes can be announced out of order, so an employee held at the same or a later version is
+     * kept as they are.
+     *
+     * @param names    The table of distinct names this snapshot was made with.
+     * @param id       The ID of the employee.
+     * @param values   The fields written, by name, as the type of the field.
+     * @param version  The version of the employee written.
+     * @param modified The time the fields were written.
+     * @return The new snapshot, this one if it already holds the employee at the same or a later version, or null if
+     * it does not hold the employee.
+     */
+    EmployeeRoster patch(Names names, Long id, Map<String, Object> values, long version, Instant modified)
+    {
+        if (chunks.length == 0)
+        {
+            return null;
+        }
+
+        int index = chunkOf(id);
+        Chunk chunk = chunks[index];
+        int row = Arrays.binarySearch(chunk.ids, 0, chunk.size, id);
+        if (row < 0)
+        {
+            return null;
+        }
+        if (chunk.versions[row] >= version)
+        {
+            return this;
+        }
+
+        Entry entry = chunk.entry(row);
+        values.forEach((name, value) -> {
+            switch (name)
+            {
+                case "firstName":
+                    entry.firstName = names.indexOf((String) value);
+                    break;
+                case "middleInitial":
+                    entry.middleInitial = (Character) value;
+                    break;
+                case "lastName":
+                    entry.lastName = names.indexOf((String) value);
+                    break;
+                case "dateOfBirth":
+                    entry.dateOfBirth = toDay((LocalDate) value);
+                    break;
+                case "dateOfEmployment":
+                    entry.dateOfEmployment = toDay((LocalDate) value);
+                    break;
+                case "status":
+                    entry.active = value == Status.ACTIVE;
+                    break;
+                default:
+                    throw new IllegalArgumentException("'" + name + "' is not a field of an employee");
+            }
+        });
+        entry.version = version;
+
+        return with(index, chunk.with(row, entry), names, count, versionSum - chunk.versions[row] + version, modified);
+    }
+
+    /**
+     * @param index        The position of the chunk to replace.
+     * @param chunk        The chunk to replace it with, holding the same employees.
+     * @param names        The table of distinct names the new snapshot is made with.
+     * @param count        The number of employees in the new snapshot.
+     * @param versionSum   The sum of the versions of every employee in the new snapshot.
+     * @param modified     The time of the change.
+     * @return A snapshot with the chunk replaced.
+     */
+    private EmployeeRoster with(int index, Chunk chunk, Names names, long count, long versionSum, Instant modified)
+    {
+        Chunk[] updated = chunks.clone();
+        updated[index] = chunk;
+
+        return new EmployeeRoster(updated, names.getNames(), count, versionSum, latest(lastModified, modified));
+    }
+
+    /**
+     * @param id An ID.
+     * @return The position of the last chunk whose first employee has an ID no greater than the given one, or 0 if
+     * there is none.
+     */
+    private int chunkOf(long id)
+    {
+        int low = 0;
+        int high = chunks.length - 1;
+        int found = 0;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (chunks[middle].ids[0] <= id)
+            {
+                found = middle;
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * @param chunk A chunk of employees.
+     * @param id    An ID.
+     * @return The position of the first employee in the chunk with an ID no less than the given one, or the size of
+     * the chunk if there is none.
+     */
+    private static int firstNotBelow(Chunk chunk, long id)
+    {
+        int row = Arrays.binarySearch(chunk.ids, 0, chunk.size, id);
+        return row >= 0 ? row : -row - 1;
+    }
+
+    /**
+     * @param chunk A chunk of employees.
+     * @param id    An ID.
+     * @return The position of the first employee in the chunk with an ID greater than the given one, or the size of
+     * the chunk if there is none.
+     */
+    private static int firstAbove(Chunk chunk, long id)
+    {
+        int row = Arrays.binarySearch(chunk.ids, 0, chunk.size, id);
+        return row >= 0 ? row + 1 : -row - 1;
+    }
+
+    /**
+     * @param date A date, or null.
+     * @return The number of days from 1970-01-01 to the date, or {@link #NO_DATE} for null.
+     */
+    private static int toDay(LocalDate date)
+    {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * @param first  A time, or null.
+     * @param second Another time, or null.
+     * @return The later of the two times, or null if both are.
+     */
+    private static Instant latest(Instant first, Instant second)
+    {
+        return first == null || second != null && second.isAfter(first) ? second : first;
+    }
+
+    /**
+     * This class holds each distinct name of an employee once, for the snapshots made by a single writer. Names are
+     * only ever added, so the indexes a snapshot holds keep pointing at the same names, and an array handed to a
+     * snapshot is never written to below the names it held when it was handed over.
+     */
+    static final class Names
+    {
+        /**
+         * The index of each name.
+         */
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        /**
+         * The names, by index, followed by room for more.
+         */
+        private String[] names = new String[256];
+
+        /**
+         * @param name A name, or null.
+         * @return The index of the name, added if it was not held yet, or {@link #NO_NAME} for null.
+         */
+        int indexOf(String name)
+        {
+            if (name == null)
+            {
+                return NO_NAME;
+            }
+
+            Integer index = indexes.get(name);
+            if (index == null)
+            {
+                index = indexes.size();
+                if (index == names.length)
+                {
+                    names = Arrays.copyOf(names, names.length * 2);
+                }
+                names[index] = name;
+                indexes.put(name, index);
+            }
+
+            return index;
+        }
+
+        /**
+         * @return The names, by index.
+         */
+        String[] getNames()
+        {
+            return names;
+        }
+    }
+
+    /**
+     * This class builds a snapshot from employees given in ascending ID order, filling each chunk in turn.
+     */
+    static final class Builder
+    {
+        /**
+         * The table of distinct names the snapshot is built with.
+         */
+        private final Names names;
+
+        /**
+         * The chunks filled so far.
+         */
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        /**
+         * The columns of the chunk being filled.
+         */
+        private Chunk chunk = Chunk.empty();
+
+        /**
+         * The number of employees in the chunk being filled.
+         */
+        private int size;
+
+        /**
+         * The number of employees added.
+         */
+        private long count;
+
+        /**
+         * The sum of the versions of the employees added.
+         */
+        private long versionSum;
+
+        /**
+         * The last time any employee added was created or updated.
+         */
+        private Instant lastModified;
+
+        /**
+         * Constructor.
+         *
+         * @param names The table of distinct names the snapshot is built with.
+         */
+        Builder(Names names)
+        {
+            this.names = names;
+        }
+
+        /**
+         * Adds an employee, whose ID must be greater than that of every employee added before.
+         *
+         * @param id               The ID of the employee.
+         * @param firstName        The first name of the employee.
+         * @param middleInitial    The middle initial of the employee.
+         * @param lastName         The last name of the employee.
+         * @param dateOfBirth      The date of birth of the employee.
+         * @param dateOfEmployment The date the employee was employed.
+         * @param status           The status of the employee, or null if they have none, which is not active.
+         * @param version          The version of the employee.
+         * @param modified         The last time the employee was created or updated.
+         * @return This builder.
+         */
+        Builder add(long id, String firstName, char middleInitial, String lastName, LocalDate dateOfBirth,
+                    LocalDate dateOfEmployment, Status status, long version, Instant modified)
+        {
+            if (size == CHUNK_SIZE)
+            {
+                chunks.add(chunk.resized(size));
+                chunk = Chunk.empty();
+                size = 0;
+            }
+
+            // The chunk is not shared until it is built, so its columns are filled in place.
+            int row = size++;
+            chunk.ids[row] = id;
+            chunk.firstNames[row] = names.indexOf(firstName);
+            chunk.middleInitials[row] = middleInitial;
+            chunk.lastNames[row] = names.indexOf(lastName);
+            chunk.birthDays[row] = toDay(dateOfBirth);
+            chunk.employmentDays[row] = toDay(dateOfEmployment);
+            chunk.versions[row] = version;
+            if (status == Status.ACTIVE)
+            {
+                chunk.active[row >>> 6] |= 1L << row;
+            }
+
+            count++;
+            versionSum += version;
+            lastModified = latest(lastModified, modified);
+
+            return this;
+        }
+
+        /**
+         * @return The snapshot of every employee added.
+         */
+        EmployeeRoster build()
+        {
+            if (size > 0)
+            {
+                chunks.add(chunk.resized(size));
+            }
+
+            return new EmployeeRoster(chunks.toArray(new Chunk[0]), names.getNames(), count, versionSum,
+                    lastModified);
+        }
+    }
+
+    /**
+     * This class is a view of a single employee in a snapshot, read from its columns as it is written out.
+     */
+    static final class Row
+    {
+        /**
+         * The distinct names of employees, by the index the chunk holds.
+         */
+        private final String[] names;
+
+        /**
+         * The chunk holding the employee.
+         */
+        private final Chunk chunk;
+
+        /**
+         * The position of the employee in the chunk.
+         */
+        private final int row;
+
+        /**
+         * Constructor.
+         *
+         * @param names The distinct names of employees, by the index the chunk holds.
+         * @param chunk The chunk holding the employee.
+         * @param row   The position of the employee in the chunk.
+         */
+        private Row(String[] names, Chunk chunk, int row)
+        {
+            this.names = names;
+            this.chunk = chunk;
+            this.row = row;
+        }
+
+        /**
+         * @return The ID of the employee.
+         */
+        Long getId()
+        {
+            return chunk.ids[row];
+        }
+
+        /**
+         * @return The first name of the employee.
+         */
+        String getFirstName()
+        {
+            return name(chunk.firstNames[row]);
+        }
+
+        /**
+         * @return The middle initial of the employee.
+         */
+        char getMiddleInitial()
+        {
+            return chunk.middleInitials[row];
+        }
+
+        /**
+         * @return The last name of the employee.
+         */
+        String getLastName()
+        {
+            return name(chunk.lastNames[row]);
+        }
+
+        /**
+         * @return The date of birth of the employee.
+         */
+        LocalDate getDateOfBirth()
+        {
+            return date(chunk.birthDays[row]);
+        }
+
+        /**
+         * @return The date the employee was employed.
+         */
+        LocalDate getDateOfEmployment()
+        {
+            return date(chunk.employmentDays[row]);
+        }
+
+        /**
+         * @return The status of the employee.
+         */
+        Status getStatus()
+        {
+            return chunk.isActive(row) ? Status.ACTIVE : Status.INACTIVE;
+        }
+
+        /**
+         * @param index The index of a name, or {@link #NO_NAME}.
+         * @return The name, or null.
+         */
+        private String name(int index)
+        {
+            return index == NO_NAME ? null : names[index];
+        }
+
+        /**
+         * @param day The number of days from 1970-01-01 to a date, or {@link #NO_DATE}.
+         * @return The date, or null.
+         */
+        private static LocalDate date(int day)
+        {
+            return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+        }
+    }
+
+    /**
+     * This class holds the fields of a single employee while a change is made to them.
+     */
+    private static final class Entry
+    {
+        /**
+         * The ID of the employee.
+         */
+        private long id;
+
+        /**
+         * The index of the first name of the employee.
+         */
+        private int firstName;
+
+        /**
+         * The middle initial of the employee.
+         */
+        private char middleInitial;
+
+        /**
+         * The index of the last name of the employee.
+         */
+        private int lastName;
+
+        /**
+         * The number of days from 1970-01-01 to the date of birth of the employee.
+         */
+        private int dateOfBirth;
+
+        /**
+         * The number of days from 1970-01-01 to the date the employee was employed.
+         */
+        private int dateOfEmployment;
+
+        /**
+         * Whether the employee is active.
+         */
+        private boolean active;
+
+        /**
+         * The version of the employee.
+         */
+        private long version;
+    }
+
+    /**
+     * This class holds up to {@link #CHUNK_SIZE} consecutive employees, a column per field. Columns always have room
+     * for a full chunk. Positions up to the size are never written to once the chunk is shared, so a chunk grown by
+     * an employee at its end may share its columns with the chunk it was grown from, apart from the bitset.
+     */
+    private static final class Chunk
+    {
+        /**
+         * The number of employees held.
+         */
+        private final int size;
+
+        /**
+         * The IDs of the employees, in ascending order.
+         */
+        private final long[] ids;
+
+        /**
+         * The indexes of the first names of the employees.
+         */
+        private final int[] firstNames;
+
+        /**
+         * The middle initials of the employees.
+         */
+        private final char[] middleInitials;
+
+        /**
+         * The indexes of the last names of the employees.
+         */
+        private final int[] lastNames;
+
+        /**
+         * The number of days from 1970-01-01 to the date of birth of each employee.
+         */
+        private final int[] birthDays;
+
+        /**
+         * The number of days from 1970-01-01 to the date each employee was employed.
+         */
+        private final int[] employmentDays;
+
+        /**
+         * The versions of the employees.
+         */
+        private final long[] versions;
+
+        /**
+         * The bitset of active employees, a bit per position.
+         */
+        private final long[] active;
+
+        /**
+         * Constructor.
+         *
+         * @param size           The number of employees held.
+         * @param ids            The IDs of the employees, in ascending order.
+         * @param firstNames     The indexes of the first names of the employees.
+         * @param middleInitials The middle initials of the employees.
+         * @param lastNames      The indexes of the last names of the employees.
+         * @param birthDays      The number of days from 1970-01-01 to the date of birth of each employee.
+         * @param employmentDays The number of days from 1970-01-01 to the date each employee was employed.
+         * @param versions       The versions of the employees.
+         * @param active         The bitset of active employees.
+         */
+        private Chunk(int size, long[] ids, int[] firstNames, char[] middleInitials, int[] lastNames,
+                      int[] birthDays, int[] employmentDays, long[] versions, long[] active)
+        {
+            this.size = size;
+            this.ids = ids;
+            this.firstNames = firstNames;
+            this.middleInitials = middleInitials;
+            this.lastNames = lastNames;
+            this.birthDays = birthDays;
+            this.employmentDays = employmentDays;
+            this.versions = versions;
+            this.active = active;
+        }
+
+        /**
+         * @return A chunk holding no employee.
+         */
+        private static Chunk empty()
+        {
+            return new Chunk(0, new long[CHUNK_SIZE], new int[CHUNK_SIZE], new char[CHUNK_SIZE], new int[CHUNK_SIZE],
+                    new int[CHUNK_SIZE], new int[CHUNK_SIZE], new long[CHUNK_SIZE], new long[CHUNK_SIZE / 64]);
+        }
+
+        /**
+         * @param size The number of employees held.
+         * @return A chunk of the given size sharing the columns of this one.
+         */
+        private Chunk resized(int size)
+        {
+            return new Chunk(size, ids, firstNames, middleInitials, lastNames, birthDays, employmentDays, versions,
+                    active);
+        }
+
+        /**
+         * @param row The position of an employee.
+         * @return Whether the employee is active.
+         */
+        private boolean isActive(int row)
+        {
+            return (active[row >>> 6] & 1L << row) != 0;
+        }
+
+        /**
+         * @param row The position of an employee.
+         * @return The fields of the employee.
+         */
+        private Entry entry(int row)
+        {
+            Entry entry = new Entry();
+            entry.id = ids[row];
+            entry.firstName = firstNames[row];
+            entry.middleInitial = middleInitials[row];
+            entry.lastName = lastNames[row];
+            entry.dateOfBirth = birthDays[row];
+            entry.dateOfEmployment = employmentDays[row];
+            entry.active = isActive(row);
+            entry.version = versions[row];
+
+            return entry;
+        }
+
+        /**
+         * Makes a chunk with an employee replaced, copying only the columns whose value changes.
+         *
+         * @param row   The position of the employee.
+         * @param entry The fields of the employee.
+         * @return The new chunk.
+         */
+        private Chunk with(int row, Entry entry)
+        {
+            long[] activeWith = active;
+            if (entry.active != isActive(row))
+            {
+                activeWith = active.clone();
+                activeWith[row >>> 6] ^= 1L << row;
+            }
+
+            return new Chunk(size, ids, with(firstNames, row, entry.firstName),
+                    with(middleInitials, row, entry.middleInitial), with(lastNames, row, entry.lastName),
+                    with(birthDays, row, entry.dateOfBirth), with(employmentDays, row, entry.dateOfEmployment),
+                    with(versions, row, entry.version), activeWith);
+        }
+
+        /**
+         * Makes a chunk with an employee inserted. The chunk must not be full.
+         *
+         * @param row   The position to insert the employee at.
+         * @param entry The fields of the employee.
+         * @return The new chunk.
+         */
+        private Chunk inserted(int row, Entry entry)
+        {
+            Chunk chunk = row == size ? this : shifted(row);
+            chunk.ids[row] = entry.id;
+            chunk.firstNames[row] = entry.firstName;
+            chunk.middleInitials[row] = entry.middleInitial;
+            chunk.lastNames[row] = entry.lastName;
+            chunk.birthDays[row] = entry.dateOfBirth;
+            chunk.employmentDays[row] = entry.dateOfEmployment;
+            chunk.versions[row] = entry.version;
+
+            long[] activeWith = chunk == this ? active.clone() : chunk.active;
+            if (entry.active)
+            {
+                activeWith[row >>> 6] |= 1L << row;
+            }
+
+            return new Chunk(size + 1, chunk.ids, chunk.firstNames, chunk.middleInitials, chunk.lastNames,
+                    chunk.birthDays, chunk.employmentDays, chunk.versions, activeWith);
+        }
+
+        /**
+         * @param row The position to open a gap at.
+         * @return A copy of this chunk with every employee from the given position moved up by one.
+         */
+        private Chunk shifted(int row)
+        {
+            Chunk copy = slice(0, row);
+            int moved = size - row;
+            System.arraycopy(ids, row, copy.ids, row + 1, moved);
+            System.arraycopy(firstNames, row, copy.firstNames, row + 1, moved);
+            System.arraycopy(middleInitials, row, copy.middleInitials, row + 1, moved);
+            System.arraycopy(lastNames, row, copy.lastNames, row + 1, moved);
+            System.arraycopy(birthDays, row, copy.birthDays, row + 1, moved);
+            System.arraycopy(employmentDays, row, copy.employmentDays, row + 1, moved);
+            System.arraycopy(versions, row, copy.versions, row + 1, moved);
+            for (int i = row; i < size; i++)
+            {
+                if (isActive(i))
+                {
+                    copy.active[(i + 1) >>> 6] |= 1L << (i + 1);
+                }
+            }
+
+            return copy;
+        }
+
+        /**
+         * @param from The position of the first employee to copy.
+         * @param to   The position after the last employee to copy.
+         * @return A new chunk holding a copy of the employees between the two positions.
+         */
+        private Chunk slice(int from, int to)
+        {
+            Chunk copy = empty();
+            int length = to - from;
+            System.arraycopy(ids, from, copy.ids, 0, length);
+            System.arraycopy(firstNames, from, copy.firstNames, 0, length);
+            System.arraycopy(middleInitials, from, copy.middleInitials, 0, length);
+            System.arraycopy(lastNames, from, copy.lastNames, 0, length);
+            System.arraycopy(birthDays, from, copy.birthDays, 0, length);
+            System.arraycopy(employmentDays, from, copy.employmentDays, 0, length);
+            System.arraycopy(versions, from, copy.versions, 0, length);
+            for (int i = from; i < to; i++)
+            {
+                if (isActive(i))
+                {
+                    copy.active[(i - from) >>> 6] |= 1L << (i - from);
+                }
+            }
+
+            return copy.resized(length);
+        }
+
+        /**
+         * @param column A column.
+         * @param row    The position of an employee.
+         * @param value  The value of the employee.
+         * @return The column if it already holds the value, otherwise a copy of it holding the value.
+         */
+        private static int[] with(int[] column, int row, int value)
+        {
+            if (column[row] == value)
+            {
+                return column;
+            }
+
+            int[] copy = column.clone();
+            copy[row] = value;
+            return copy;
+        }
+
+        /**
+         * @param column A column.
+         * @param row    The position of an employee.
+         * @param value  The value of the employee.
+         * @return The column if it already holds the value, otherwise a copy of it holding the value.
+         */
+        private static long[] with(long[] column, int row, long value)
+        {
+            if (column[row] == value)
+            {
+                return column;
+            }
+
+            long[] copy = column.clone();
+            copy[row] = value;
+            return copy;
+        }
+
+        /**
+         * @param column A column.
+         * @param row    The position of an employee.
+         * @param value  The value of the employee.
+         * @return The column if it already holds the value, otherwise a copy of it holding the value.
+         */
+        private static char[] with(char[] column, int row, char value)
+        {
+            if (column[row] == value)
+            {
+                return column;
+            }
+
+            char[] copy = column.clone();
+            copy[row] = value;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package employee;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * This class is a page of active employees served from an {@link EmployeeRoster}. It writes each employee straight
+ * from the roster's columns, rather than through an {@link Employee} wrapped in an entity model, yet writes exactly
+ * what a collection model of the same employees would: HAL JSON, with each employee's links built by concatenating
+ * their ID onto the collection link, or, for the binary formats, the compact representation described by
+ * {@link EmployeeWireFormatConfiguration}.
+ */
+class EmployeeRosterPage extends RepresentationModel<EmployeeRosterPage> implements JsonSerializable
+{
+    /**
+     * The format dates are written in as JSON, as annotated on {@link Employee}.
+     */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd-yyyy");
+
+    /**
+     * The employees on this page, ordered by ascending ID.
+     */
+    private final List<EmployeeRoster.Row> employees;
+
+    /**
+     * The URL of the employee collection, which each employee's own URL starts with.
+     */
+    private final String employeesHref;
+
+    /**
+     * Constructor.
+     *
+     * @param employees     The employees on this page, ordered by ascending ID.
+     * @param employeesHref The URL of the employee collection, which each employee's own URL starts with.
+     * @param links         The links to this page and to the pages on either side of it.
+     */
+    EmployeeRosterPage(List<EmployeeRoster.Row> employees, String employeesHref, List<Link> links)
+    {
+        this.employees = employees;
+        this.employeesHref = employeesHref;
+        add(links);
+    }
+
+    /**
+     * Writes this page as HAL JSON.
+     *
+     * @param generator   The generator to write with.
+     * @param serializers The provider of serializers, unused.
+     * @throws IOException If writing fails.
+     */
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException
+    {
+        generator.writeStartObject();
+
+        // An empty collection model leaves out its embedded resources altogether.
+        if (!employees.isEmpty())
+        {
+            generator.writeFieldName("_embedded");
+            generator.writeStartObject();
+            generator.writeFieldName("employeeList");
+            generator.writeStartArray(employees, employees.size());
+            for (EmployeeRoster.Row employee : employees)
+            {
+                generator.writeStartObject();
+                writeFields(generator, employee, false);
+                generator.writeFieldName("_links");
+                generator.writeStartObject();
+                writeHalLink(generator, "self", employeesHref + "/" + employee.getId());
+                writeHalLink(generator, "employees", employeesHref);
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        generator.writeFieldName("_links");
+        generator.writeStartObject();
+        for (Link link : getLinks())
+        {
+            writeHalLink(generator, link.getRel().value(), link.getHref());
+        }
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException
+    {
+        serialize(generator, serializers);
+    }
+
+    /**
+     * Writes this page in the compact representation of the binary formats: the links as a map from relation to URL,
+     * followed by the employees without their links and with dates as the number of days since 1970-01-01.
+     *
+     * @param generator The generator to write with.
+     * @throws IOException If writing fails.
+     */
+    void serializeCompact(JsonGenerator generator) throws IOException
+    {
+        generator.writeStartObject();
+
+        generator.writeFieldName("links");
+        generator.writeStartObject();
+        for (Link link : getLinks())
+        {
+            generator.writeStringField(link.getRel().value(), link.getHref());
+        }
+        generator.writeEndObject();
+
+        generator.writeFieldName("content");
+        generator.writeStartArray(employees, employees.size());
+        for (EmployeeRoster.Row employee : employees)
+        {
+            generator.writeStartObject();
+            writeFields(generator, employee, true);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the fields of an employee, in the order an {@link Employee} is written in.
+     *
+     * @param generator The generator to write with.
+     * @param employee  The employee.
+     * @param epochDays Whether dates are written as the number of days since 1970-01-01 rather than as text.
+     * @throws IOException If writing fails.
+     */
+    private static void writeFields(JsonGenerator generator, EmployeeRoster.Row employee, boolean epochDays)
+            throws IOException
+    {
+        generator.writeFieldName("id");
+        generator.writeNumber(employee.getId());
+        generator.writeFieldName("firstName");
+        generator.writeString(employee.getFirstName());
+        generator.writeFieldName("middleInitial");
+        generator.writeString(String.valueOf(employee.getMiddleInitial()));
+        generator.writeFieldName("lastName");
+        generator.writeString(employee.getLastName());
+        generator.writeFieldName("dateOfBirth");
+        writeDate(generator, employee.getDateOfBirth(), epochDays);
+        generator.writeFieldName("dateOfEmployment");
+        writeDate(generator, employee.getDateOfEmployment(), epochDays);
+        generator.writeFieldName("status");
+        generator.writeString(employee.getStatus().name());
+    }
+
+    /**
+     * Writes a date.
+     *
+     * @param generator The generator to write with.
+     * @param date      The date, or null.
+     * @param epochDays Whether the date is written as the number of days since 1970-01-01 rather than as text.
+     * @throws IOException If writing fails.
+     */
+    private static void writeDate(JsonGenerator generator, LocalDate date, boolean epochDays) throws IOException
+    {
+        if (date == null)
+        {
+            generator.writeNull();
+        }
+        else if (epochDays)
+        {
+            generator.writeNumber(date.toEpochDay());
+        }
+        else
+        {
+            generator.writeString(DATE_FORMAT.format(date));
+        }
+    }
+
+    /**
+     * Writes a HAL link.
+     *
+     * @param generator The generator to write with.
+     * @param relation  The relation of the link.
+     * @param href      The URL of the link.
+     * @throws IOException If writing fails.
+     */
+    private static void writeHalLink(JsonGenerator generator, String relation, String href) throws IOException
+    {
+        generator.writeFieldName(relation);
+        generator.writeStartObject();
+        generator.writeFieldName("href");
+        generator.writeString(href);
+        generator.writeEndObject();
+    }
+}
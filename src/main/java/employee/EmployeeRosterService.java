@@ -0,0 +1,169 @@
+package employee;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class keeps an {@link EmployeeRoster} of every employee in memory when {@code employee.roster.in-memory=true},
+ * so pages of the collection are served without the DB. The roster is read in full at startup, and again whenever it
+ * may have missed a change, then follows every committed change to an employee by making a new snapshot, so a page
+ * being written out is never changed under it. It only sees changes made through this node, so it should not be used
+ * when several nodes share the DB.
+ */
+@Component
+class EmployeeRosterService
+{
+    /**
+     * Logger used for debugging.
+     */
+    private static final Logger log = LoggerFactory.getLogger(EmployeeRosterService.class);
+
+    /**
+     * The template used to read every employee.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Whether the roster is kept in memory.
+     */
+    private final boolean inMemory;
+
+    /**
+     * The table of distinct names the current roster was made with. Only used while holding the lock of this class.
+     */
+    private EmployeeRoster.Names names;
+
+    /**
+     * The current roster, or null until it has been read or once it may have missed a change.
+     */
+    private volatile EmployeeRoster roster;
+
+    /**
+     * Constructor.
+     *
+     * @param dataSource The DB containing employees.
+     * @param inMemory   Whether to keep the roster in memory rather than have the DB page through employees.
+     */
+    EmployeeRosterService(DataSource dataSource, @Value("${employee.roster.in-memory:false}") boolean inMemory)
+    {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(500);
+        this.inMemory = inMemory;
+    }
+
+    /**
+     * Returns the current roster, reading it first if it has not been read or may have missed a change.
+     *
+     * @return The current roster, or null if the roster is not kept in memory.
+     */
+    EmployeeRoster getRoster()
+    {
+        if (!inMemory)
+        {
+            return null;
+        }
+
+        EmployeeRoster current = roster;
+        return current != null ? current : read();
+    }
+
+    /**
+     * Reads the roster as soon as the application is ready, after the DB has been seeded, so the first request does
+     * not have to wait for it. A roster read for a request served while the DB was being seeded is read again, as
+     * seeding does not announce the employees it writes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady()
+    {
+        if (inMemory)
+        {
+            synchronized (this)
+            {
+                roster = null;
+                read();
+            }
+        }
+    }
+
+    /**
+     * Applies a committed change to an employee to the roster. Changes made outside a transaction are applied straight
+     * away. A change to an employee the roster does not hold means it has missed one, so it is read again.
+     *
+     * @param event The change made to an employee.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event)
+    {
+        if (!inMemory)
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            // A roster not read yet will be read with the change in it.
+            if (roster == null)
+            {
+                return;
+            }
+
+            Employee employee = event.getEmployee();
+            roster = employee != null
+                    ? roster.put(names, employee, event.getUpdatedAt())
+                    : roster.patch(names, event.getId(), event.getValues(), event.getVersion(), event.getUpdatedAt());
+
+            if (roster == null)
+            {
+                log.debug("Employee " + event.getId() + " is missing from the roster, so it will be read again");
+            }
+        }
+    }
+
+    /**
+     * Reads every employee from the DB into a new roster. Changes committed meanwhile wait until it has been read, so
+     * they are applied on top of it rather than lost.
+     *
+     * @return The roster read.
+     */
+    private synchronized EmployeeRoster read()
+    {
+        if (roster != null)
+        {
+            return roster;
+        }
+
+        long start = System.nanoTime();
+        names = new EmployeeRoster.Names();
+        EmployeeRoster.Builder builder = new EmployeeRoster.Builder(names);
+        jdbcTemplate.query("select id, first_name, middle_initial, last_name, date_of_birth, date_of_employment,"
+                + " status, version, updated_at from employee order by id", row -> {
+            String middleInitial = row.getString(3);
+            Integer status = row.getObject(7, Integer.class);
+            Timestamp updatedAt = row.getTimestamp(9);
+
+            // An employee without a status is not active, as the DB filtering on status would find.
+            builder.add(row.getLong(1), row.getString(2), middleInitial == null ? '\0' : middleInitial.charAt(0),
+                    row.getString(4), row.getObject(5, LocalDate.class), row.getObject(6, LocalDate.class),
+                    status == null ? null : Status.values()[status], row.getLong(8),
+                    updatedAt == null ? null : updatedAt.toInstant());
+        });
+        roster = builder.build();
+
+        log.info("Read " + roster.getCount() + " employees into the roster in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+
+        return roster;
+    }
+}
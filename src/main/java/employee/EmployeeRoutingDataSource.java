@@ -0,0 +1,247 @@
+package employee;
+
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class hands out connections to the primary employee DB or to one of its read replicas. Read-only transactions
+ * are sent to a replica that has applied every write committed so far, so a client always reads its own writes, or,
+ * if {@code maxLag} is set, to a replica no further behind than that. Every other connection, and every read while no
+ * replica can serve it, goes to the primary.
+ * <p>
+ * A transaction only becomes read-only once it has started, so this must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which only asks for a connection when
+ * the first statement is run. Writes are recorded when their transaction commits, so only writes made within a
+ * transaction keep reads from lagging replicas.
+ * <p>
+ * The reads sent to each DB, the lag of each replica and the pool of each replica are published once bound to a
+ * registry.
+ */
+class EmployeeRoutingDataSource extends AbstractDataSource implements MeterBinder
+{
+    /**
+     * How a replica is chosen among those that can serve a read.
+     */
+    enum Selection
+    {
+        /**
+         * Each replica in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * The replica with the fewest connections in use.
+         */
+        LEAST_BUSY;
+
+        /**
+         * @param value The name of the selection, in lower case with hyphens as written in properties.
+         * @return The selection.
+         */
+        static Selection parse(String value)
+        {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    /**
+     * The name reads sent to the primary are counted under.
+     */
+    private static final String PRIMARY = "primary";
+
+    /**
+     * The primary DB, which every write goes to.
+     */
+    private final DataSource primary;
+
+    /**
+     * The read replicas of the primary.
+     */
+    private final List<EmployeeReplica> replicas;
+
+    /**
+     * How a replica is chosen among those that can serve a read.
+     */
+    private final Selection selection;
+
+    /**
+     * How far behind the primary a replica may be and still serve reads, or zero to only use replicas holding every
+     * committed write.
+     */
+    private final Duration maxLag;
+
+    /**
+     * The number of reads sent to each DB, by name.
+     */
+    private final Map<String, LongAdder> reads = new LinkedHashMap<>();
+
+    /**
+     * The position of the next replica to try first, for round-robin selection.
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * The time the latest write was committed on the primary, or null if there has been none.
+     */
+    private final AtomicReference<Instant> lastWrite = new AtomicReference<>();
+
+    /**
+     * The key marking a transaction whose commit is already being recorded as a write.
+     */
+    private final Object writeKey = new Object();
+
+    /**
+     * Constructor.
+     *
+     * @param primary   The primary DB, which every write goes to.
+     * @param replicas  The read replicas of the primary.
+     * @param selection How a replica is chosen among those that can serve a read.
+     * @param maxLag    How far behind the primary a replica may be and still serve reads, or zero for none.
+     */
+    EmployeeRoutingDataSource(DataSource primary, List<EmployeeReplica> replicas, Selection selection,
+                              Duration maxLag)
+    {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.selection = selection;
+        this.maxLag = maxLag;
+
+        reads.put(PRIMARY, new LongAdder());
+        replicas.forEach(replica -> reads.put(replica.getName(), new LongAdder()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        reads.forEach((name, count) -> FunctionCounter.builder("employee.datasource.reads", count, LongAdder::sum)
+                .description("Read-only transactions of employees, by the DB they were sent to")
+                .tag("target", name)
+                .register(registry));
+
+        for (EmployeeReplica replica : replicas)
+        {
+            Gauge.builder("employee.replica.lag", replica, r -> r.getLag(Instant.now()).toMillis() / 1000.0)
+                    .description("How far the replica is behind the primary")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+            replica.getDataSource().setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        return determineTarget().getConnection(username, password);
+    }
+
+    /**
+     * @return The DB the current transaction is sent to.
+     */
+    private DataSource determineTarget()
+    {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+        {
+            recordWriteOnCommit();
+            return primary;
+        }
+
+        EmployeeReplica replica = chooseReplica();
+        if (replica == null)
+        {
+            reads.get(PRIMARY).increment();
+            return primary;
+        }
+        reads.get(replica.getName()).increment();
+
+        return replica.getDataSource();
+    }
+
+    /**
+     * @return The replica to send a read to, or null if none can serve it.
+     */
+    private EmployeeReplica chooseReplica()
+    {
+        Instant now = Instant.now();
+        Instant written = lastWrite.get();
+        List<EmployeeReplica> candidates = new ArrayList<>(replicas.size());
+        for (EmployeeReplica replica : replicas)
+        {
+            if (replica.canServe(written, maxLag, now))
+            {
+                candidates.add(replica);
+            }
+        }
+        if (candidates.isEmpty())
+        {
+            return null;
+        }
+
+        if (selection == Selection.LEAST_BUSY)
+        {
+            return candidates.stream().min(Comparator.comparingInt(EmployeeReplica::getActiveConnections)).get();
+        }
+
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Records the time the current transaction commits as the time of the latest write, once per transaction. A
+     * transaction that is not read-only is taken to write, whether or not it does.
+     */
+    private void recordWriteOnCommit()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(writeKey))
+        {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(writeKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                // Commits finishing together may record their times out of order, so only the latest is kept.
+                Instant committed = Instant.now();
+                lastWrite.accumulateAndGet(committed, (latest, time) -> latest == null || time.isAfter(latest)
+                        ? time
+                        : latest);
+            }
+
+            @Override
+            public void afterCompletion(int status)
+            {
+                TransactionSynchronizationManager.unbindResource(writeKey);
+            }
+        });
+    }
+}
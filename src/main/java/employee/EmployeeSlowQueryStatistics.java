@@ -0,0 +1,68 @@
+package employee;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * This class extends the statistics Hibernate gathers with a count of slow queries, published as the
+ * {@code employee.queries.slow} counter. A query is slow when it takes at least the configured threshold to execute.
+ */
+class EmployeeSlowQueryStatistics extends StatisticsImpl
+{
+    /**
+     * Logger used for debugging.
+     */
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSlowQueryStatistics.class);
+
+    /**
+     * The number of queries that took at least the threshold to execute.
+     */
+    private final Counter slowQueries;
+
+    /**
+     * The time, in milliseconds, from which a query is counted as slow.
+     */
+    private final long thresholdMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param sessionFactory The session factory the statistics are gathered for.
+     * @param meterRegistry  The registry the slow query counter is published to.
+     * @param threshold      The time from which a query is counted as slow.
+     */
+    EmployeeSlowQueryStatistics(SessionFactoryImplementor sessionFactory, MeterRegistry meterRegistry,
+                                Duration threshold)
+    {
+        super(sessionFactory);
+        this.slowQueries = Counter.builder("employee.queries.slow")
+                .description("Queries that took at least " + threshold.toMillis() + "ms to execute")
+                .register(meterRegistry);
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    /**
+     * Records an executed query, counting it as slow if it took at least the threshold.
+     *
+     * @param hql  The query that was executed.
+     * @param rows The number of rows the query returned.
+     * @param time The time the query took to execute, in milliseconds.
+     */
+    @Override
+    public void queryExecuted(String hql, int rows, long time)
+    {
+        super.queryExecuted(hql, rows, time);
+
+        if (time >= thresholdMillis)
+        {
+            slowQueries.increment();
+            log.warn("Slow query took " + time + "ms and returned " + rows + " rows: " + hql);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package employee;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class sets the response code and provides the user with advice when they ask for employees to be sorted by an
+ * attribute that cannot be sorted by.
+ */
+@ControllerAdvice
+class EmployeeSortAdvice
+{
+    /**
+     * Returns the message of the exception to be used to give feedback back to the user.
+     *
+     * @param ex The exception thrown when an attribute cannot be sorted by.
+     * @return The message of the exception.
+     */
+    @ResponseBody
+    @ExceptionHandler(EmployeeSortException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String employeeSortHandler(EmployeeSortException ex)
+    {
+        return ex.getMessage();
+    }
+}
@@ -0,0 +1,19 @@
+package employee;
+
+/**
+ * This class represents an exception to be thrown whenever a caller asks for employees to be sorted by an attribute
+ * that does not exist or cannot be sorted by.
+ */
+class EmployeeSortException extends RuntimeException
+{
+    /**
+     * Constructor.
+     *
+     * @param property The name of the attribute that cannot be sorted by.
+     */
+    EmployeeSortException(String property)
+    {
+        super("\n'" + property + "' is not an attribute employees can be sorted by, choose from "
+                + EmployeeSpecifications.SORTABLE);
+    }
+}
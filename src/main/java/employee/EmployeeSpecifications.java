@@ -0,0 +1,146 @@
+package employee;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class builds the criteria employees can be searched by. Each criterion is translated into a SQL predicate that
+ * can be answered from one of the indexes declared on {@link Employee}, so no filtering happens in memory. A criterion
+ * built from a null value matches every employee. Matches can only be sorted by the attributes indexed after the status,
+ * so a search by status alone can be read in order from an index rather than sorting every employee with the status.
+ * H2 only reads an index forwards, so this holds for ascending orders.
+ */
+final class EmployeeSpecifications
+{
+    /**
+     * The attributes matches can be sorted by, each of which is indexed after the status.
+     */
+    static final List<String> SORTABLE = List.of("id", "lastName", "firstName", "dateOfEmployment", "dateOfBirth");
+
+    /**
+     * Private constructor, as this class only holds static helpers.
+     */
+    private EmployeeSpecifications()
+    {
+    }
+
+    /**
+     * @param status The {@link Status} employees must have.
+     * @return The criterion matching employees with the given {@link Status}.
+     */
+    static Specification<Employee> hasStatus(Status status)
+    {
+        return (root, query, builder) -> status == null ? null : builder.equal(root.get("status"), status);
+    }
+
+    /**
+     * @param lastName The exact last name employees must have.
+     * @return The criterion matching employees with the given last name.
+     */
+    static Specification<Employee> hasLastName(String lastName)
+    {
+        return (root, query, builder) -> lastName == null ? null : builder.equal(root.get("lastName"), lastName);
+    }
+
+    /**
+     * @param prefix The start of the first name employees must have.
+     * @return The criterion matching employees whose first name starts with the given prefix.
+     */
+    static Specification<Employee> firstNameStartsWith(String prefix)
+    {
+        return (root, query, builder) -> prefix == null
+                ? null
+                : builder.like(root.get("firstName"), escapeLike(prefix) + "%", '\\');
+    }
+
+    /**
+     * @param from The earliest date of employment to match, inclusive, or null for no lower bound.
+     * @param to   The latest date of employment to match, inclusive, or null for no upper bound.
+     * @return The criterion matching employees who started within the given range.
+     */
+    static Specification<Employee> employedBetween(LocalDate from, LocalDate to)
+    {
+        return between("dateOfEmployment", from, to);
+    }
+
+    /**
+     * @param from The earliest date of birth to match, inclusive, or null for no lower bound.
+     * @param to   The latest date of birth to match, inclusive, or null for no upper bound.
+     * @return The criterion matching employees born within the given range.
+     */
+    static Specification<Employee> bornBetween(LocalDate from, LocalDate to)
+    {
+        return between("dateOfBirth", from, to);
+    }
+
+    /**
+     * Checks that matches are only sorted by attributes that can be sorted by. A search by status alone is ordered by
+     * the status first: every match has the status, so their order is unchanged, but the DB only reads matches in
+     * order from an index when the order starts with the index's first column. Other searches are left to read the
+     * index of their criterion and sort only what matches it.
+     *
+     * @param sort          The order matches were asked for in.
+     * @param byStatusAlone Whether the search has no criterion but the status.
+     * @return The order to read the matches in.
+     * @throws EmployeeSortException If any attribute cannot be sorted by.
+     */
+    static Sort indexed(Sort sort, boolean byStatusAlone)
+    {
+        for (Sort.Order order : sort)
+        {
+            if (!SORTABLE.contains(order.getProperty()))
+            {
+                throw new EmployeeSortException(order.getProperty());
+            }
+        }
+
+        if (!byStatusAlone)
+        {
+            return sort;
+        }
+
+        Sort.Direction direction = sort.stream().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+        return Sort.by(direction, "status").and(sort);
+    }
+
+    /**
+     * Builds a criterion matching a date attribute within an inclusive range, either end of which may be open.
+     *
+     * @param attribute The name of the date attribute.
+     * @param from      The lower bound, or null.
+     * @param to        The upper bound, or null.
+     * @return The criterion.
+     */
+    private static Specification<Employee> between(String attribute, LocalDate from, LocalDate to)
+    {
+        return (root, query, builder) -> {
+            if (from != null && to != null)
+            {
+                return builder.between(root.get(attribute), from, to);
+            }
+            if (from != null)
+            {
+                return builder.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            if (to != null)
+            {
+                return builder.lessThanOrEqualTo(root.get(attribute), to);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Escapes the wildcard characters of a LIKE pattern, so a prefix is matched literally.
+     *
+     * @param value The value to escape.
+     * @return The escaped value.
+     */
+    private static String escapeLike(String value)
+    {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,29 @@
+package employee;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * This class keeps the beans that must start with the application out of lazy initialization, which the startup
+ * profile turns on with {@code spring.main.lazy-initialization=true}. Every other bean is safe to create when first
+ * needed: event listeners are created by the first event they receive, and filters and runners are created while
+ * starting regardless.
+ */
+@Configuration
+class EmployeeStartupConfiguration
+{
+    /**
+     * Creates the entity manager factory while starting, so Hibernate bootstraps in the background from the start
+     * rather than once seeding the DB first needs it.
+     *
+     * @return The filter keeping these beans out of lazy initialization.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerEmployeeBeans()
+    {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class);
+    }
+}
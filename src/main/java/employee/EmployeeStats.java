@@ -0,0 +1,173 @@
+package employee;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * This class represents workforce statistics, worked out from the number of employees with each {@link Status} and
+ * date rather than from the employees themselves, so they cost as much as there are distinct dates whatever the size
+ * of the roster. Hires are counted whatever the current {@link Status} of the employee, while ages and tenures are
+ * only counted for active employees. Employees without the date a statistic needs are left out of it.
+ */
+class EmployeeStats
+{
+    /**
+     * The date ages and tenures are worked out on.
+     */
+    @JsonFormat(pattern = "MM-dd-yyyy")
+    private final LocalDate asOf;
+
+    /**
+     * The number of employees with each {@link Status}.
+     */
+    private final Map<Status, Long> headcount;
+
+    /**
+     * The number of employees who started in each month, by year and month in the format yyyy-MM.
+     */
+    private final SortedMap<String, Long> hiresByMonth;
+
+    /**
+     * The number of active employees of each age in whole years.
+     */
+    private final SortedMap<Long, Long> ageDistribution;
+
+    /**
+     * The number of active employees who have been employed for each number of whole years.
+     */
+    private final SortedMap<Long, Long> tenureDistribution;
+
+    /**
+     * Constructor.
+     *
+     * @param asOf               The date ages and tenures are worked out on.
+     * @param headcount          The number of employees with each {@link Status}.
+     * @param hiresByMonth       The number of employees who started in each month.
+     * @param ageDistribution    The number of active employees of each age.
+     * @param tenureDistribution The number of active employees who have been employed for each number of years.
+     */
+    private EmployeeStats(LocalDate asOf, Map<Status, Long> headcount, SortedMap<String, Long> hiresByMonth,
+                          SortedMap<Long, Long> ageDistribution, SortedMap<Long, Long> tenureDistribution)
+    {
+        this.asOf = asOf;
+        this.headcount = Collections.unmodifiableMap(headcount);
+        this.hiresByMonth = Collections.unmodifiableSortedMap(hiresByMonth);
+        this.ageDistribution = Collections.unmodifiableSortedMap(ageDistribution);
+        this.tenureDistribution = Collections.unmodifiableSortedMap(tenureDistribution);
+    }
+
+    /**
+     * Works out the statistics from the number of employees with each {@link Status} and date.
+     *
+     * @param byDateOfBirth      The number of employees with each date of birth, by {@link Status}.
+     * @param byDateOfEmployment The number of employees with each starting date, by {@link Status}.
+     * @param asOf               The date ages and tenures are worked out on.
+     * @return The statistics.
+     */
+    static EmployeeStats of(Map<Status, Map<LocalDate, Long>> byDateOfBirth,
+                            Map<Status, Map<LocalDate, Long>> byDateOfEmployment, LocalDate asOf)
+    {
+        Map<Status, Long> headcount = new EnumMap<>(Status.class);
+        for (Status status : Status.values())
+        {
+            headcount.put(status, byDateOfBirth.getOrDefault(status, Map.of()).values().stream()
+                    .mapToLong(Long::longValue).sum());
+        }
+
+        SortedMap<String, Long> hiresByMonth = new TreeMap<>();
+        byDateOfEmployment.values().forEach(counts -> counts.forEach((date, count) -> {
+            if (date != null)
+            {
+                hiresByMonth.merge(YearMonth.from(date).toString(), count, Long::sum);
+            }
+        }));
+
+        return new EmployeeStats(asOf, headcount, hiresByMonth,
+                yearsUntil(byDateOfBirth.getOrDefault(Status.ACTIVE, Map.of()), asOf),
+                yearsUntil(byDateOfEmployment.getOrDefault(Status.ACTIVE, Map.of()), asOf));
+    }
+
+    /**
+     * Adds to the number of employees with a {@link Status} and date, forgetting the date once none are left.
+     *
+     * @param counts The number of employees with each date, by {@link Status}.
+     * @param status The {@link Status} of the employees.
+     * @param date   The date of the employees, which may be null.
+     * @param delta  The number of employees to add, negative to remove them.
+     */
+    static void add(Map<Status, Map<LocalDate, Long>> counts, Status status, LocalDate date, long delta)
+    {
+        Map<LocalDate, Long> byDate = counts.computeIfAbsent(status, key -> new HashMap<>());
+        if (byDate.merge(date, delta, Long::sum) == 0)
+        {
+            byDate.remove(date);
+        }
+    }
+
+    /**
+     * @param counts The number of employees with each date.
+     * @param asOf   The date to count the years up to.
+     * @return The number of employees for each number of whole years from their date to the given one.
+     */
+    private static SortedMap<Long, Long> yearsUntil(Map<LocalDate, Long> counts, LocalDate asOf)
+    {
+        SortedMap<Long, Long> distribution = new TreeMap<>();
+        counts.forEach((date, count) -> {
+            if (date != null)
+            {
+                distribution.merge(ChronoUnit.YEARS.between(date, asOf), count, Long::sum);
+            }
+        });
+
+        return distribution;
+    }
+
+    /**
+     * @return The date ages and tenures are worked out on.
+     */
+    public LocalDate getAsOf()
+    {
+        return this.asOf;
+    }
+
+    /**
+     * @return The number of employees with each {@link Status}.
+     */
+    public Map<Status, Long> getHeadcount()
+    {
+        return this.headcount;
+    }
+
+    /**
+     * @return The number of employees who started in each month, by year and month in the format yyyy-MM.
+     */
+    public SortedMap<String, Long> getHiresByMonth()
+    {
+        return this.hiresByMonth;
+    }
+
+    /**
+     * @return The number of active employees of each age in whole years.
+     */
+    public SortedMap<Long, Long> getAgeDistribution()
+    {
+        return this.ageDistribution;
+    }
+
+    /**
+     * @return The number of active employees who have been employed for each number of whole years.
+     */
+    public SortedMap<Long, Long> getTenureDistribution()
+    {
+        return this.tenureDistribution;
+    }
+}
@@ -0,0 +1,89 @@
+package employee;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class keeps the number of employees with each {@link Status} and date in memory, adjusting them as employees
+ * are written so statistics never need the table to be scanned. Every change to an employee carries what they were
+ * before it as well as what was written, so a change moves one employee from the counts of their old status and dates
+ * to those of their new ones, and nothing is kept per employee. Counts are only ever added to, so the counts of
+ * changes can be applied in any order.
+ */
+class EmployeeStatsCounters
+{
+    /**
+     * The number of employees with each date of birth, by {@link Status}.
+     */
+    private final Map<Status, Map<LocalDate, Long>> byDateOfBirth = new HashMap<>();
+
+    /**
+     * The number of employees with each starting date, by {@link Status}.
+     */
+    private final Map<Status, Map<LocalDate, Long>> byDateOfEmployment = new HashMap<>();
+
+    /**
+     * The statistics last worked out from the counts, or null if the counts have changed since.
+     */
+    private EmployeeStats stats;
+
+    /**
+     * Adds to the number of employees with a {@link Status} and dates.
+     *
+     * @param status           The {@link Status} of the employees.
+     * @param dateOfBirth      The date of birth of the employees.
+     * @param dateOfEmployment The starting date of the employees.
+     * @param delta            The number of employees to add, negative to remove them.
+     */
+    synchronized void add(Status status, LocalDate dateOfBirth, LocalDate dateOfEmployment, long delta)
+    {
+        EmployeeStats.add(byDateOfBirth, status, dateOfBirth, delta);
+        EmployeeStats.add(byDateOfEmployment, status, dateOfEmployment, delta);
+        stats = null;
+    }
+
+    /**
+     * Counts a change to an employee, moving them from the counts of what they were to those of what was written.
+     * Fields a patch or a deactivation did not write are kept as they were.
+     *
+     * @param event The change made to an employee.
+     */
+    synchronized void apply(EmployeeChangedEvent event)
+    {
+        Employee previous = event.getPrevious();
+        if (previous != null)
+        {
+            add(previous.getStatus(), previous.getDateOfBirth(), previous.getDateOfEmployment(), -1);
+        }
+
+        Employee employee = event.getEmployee();
+        if (employee != null)
+        {
+            add(employee.getStatus(), employee.getDateOfBirth(), employee.getDateOfEmployment(), 1);
+        }
+        else
+        {
+            Map<String, Object> values = event.getValues();
+            add((Status) values.getOrDefault("status", previous.getStatus()),
+                    (LocalDate) values.getOrDefault("dateOfBirth", previous.getDateOfBirth()),
+                    (LocalDate) values.getOrDefault("dateOfEmployment", previous.getDateOfEmployment()), 1);
+        }
+    }
+
+    /**
+     * Works out the statistics from the counts, reusing the last ones while the counts and the date are unchanged.
+     *
+     * @param asOf The date ages and tenures are worked out on.
+     * @return The statistics.
+     */
+    synchronized EmployeeStats getStats(LocalDate asOf)
+    {
+        if (stats == null || !stats.getAsOf().equals(asOf))
+        {
+            stats = EmployeeStats.of(byDateOfBirth, byDateOfEmployment, asOf);
+        }
+
+        return stats;
+    }
+}
@@ -0,0 +1,187 @@
+package employee;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * This class answers workforce statistics either by having the DB count employees by {@link Status} and date on every
+ * request, or from {@link EmployeeStatsCounters} kept in memory. The counters are counted in full once the
+ * application is ready, into a fresh set that replaces the last in one go, then follow every committed change to an
+ * employee, so a request costs no query at all. Until they have been counted the DB counts employees instead. They
+ * only see changes made through this node, so they should not be used when several nodes share the DB.
+ */
+@Component
+class EmployeeStatsService
+{
+    /**
+     * Logger used for debugging.
+     */
+    private static final Logger log = LoggerFactory.getLogger(EmployeeStatsService.class);
+
+    /**
+     * The class responsible for access to perform operations to the DB containing employees.
+     */
+    private final EmployeeRepository repository;
+
+    /**
+     * The template used to count every employee, and read the versions of the changes held back, in a single snapshot.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The changes committed while every employee is counted. Only used while holding the lock of this class.
+     */
+    private final EmployeeChangeBacklog backlog;
+
+    /**
+     * Whether the counts are kept in memory.
+     */
+    private final boolean inMemory;
+
+    /**
+     * The counts kept in memory, or null until every employee has been counted.
+     */
+    private volatile EmployeeStatsCounters counters;
+
+    /**
+     * Constructor.
+     *
+     * @param repository         The class responsible for access to perform operations to the DB containing employees.
+     * @param transactionManager The transaction manager every employee is counted within.
+     * @param inMemory           Whether to keep the counts in memory rather than have the DB count employees.
+     */
+    EmployeeStatsService(EmployeeRepository repository, PlatformTransactionManager transactionManager,
+                         @Value("${employee.stats.in-memory:false}") boolean inMemory)
+    {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.backlog = new EmployeeChangeBacklog(repository);
+        this.inMemory = inMemory;
+    }
+
+    /**
+     * Works out the current workforce statistics.
+     *
+     * @return The statistics as of today.
+     */
+    EmployeeStats getStats()
+    {
+        LocalDate today = LocalDate.now();
+        EmployeeStatsCounters current = counters;
+        if (current == null)
+        {
+            return EmployeeStats.of(group(repository.countByStatusAndDateOfBirth()),
+                    group(repository.countByStatusAndDateOfEmployment()), today);
+        }
+
+        return current.getStats(today);
+    }
+
+    /**
+     * Counts every employee as soon as the application is ready, after the DB has been seeded, as seeding does not
+     * announce the employees it writes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady()
+    {
+        if (inMemory)
+        {
+            recount();
+        }
+    }
+
+    /**
+     * Counts a committed change to an employee. Changes made outside a transaction are counted straight away.
+     *
+     * @param event The change made to an employee.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event)
+    {
+        if (!inMemory)
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            // Counts not made yet will be made with the change in them.
+            if (!backlog.offer(event) && counters != null)
+            {
+                counters.apply(event);
+            }
+        }
+    }
+
+    /**
+     * Counts every employee again from the DB into fresh counts, while requests are still answered from the last ones.
+     * Changes committed meanwhile are held back rather than waiting for the count, then applied to the fresh counts
+     * unless they were already counted, just before those replace the last ones.
+     */
+    private void recount()
+    {
+        long start = System.nanoTime();
+        synchronized (this)
+        {
+            backlog.hold();
+        }
+
+        EmployeeStatsCounters recounted = new EmployeeStatsCounters();
+        try
+        {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<EmployeeDates> employees = repository.streamDates())
+                {
+                    employees.forEach(employee -> recounted.add(employee.getStatus(), employee.getDateOfBirth(),
+                            employee.getDateOfEmployment(), 1));
+                }
+
+                synchronized (this)
+                {
+                    backlog.release().forEach(recounted::apply);
+                    counters = recounted;
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            synchronized (this)
+            {
+                backlog.discard();
+            }
+            throw e;
+        }
+
+        log.info("Counted employees for statistics in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                + " ms");
+    }
+
+    /**
+     * @param counts The number of employees with each {@link Status} and date, as counted by the DB.
+     * @return The same counts, by {@link Status} and then date.
+     */
+    private static Map<Status, Map<LocalDate, Long>> group(List<EmployeeDateCount> counts)
+    {
+        Map<Status, Map<LocalDate, Long>> grouped = new HashMap<>();
+        counts.forEach(count -> EmployeeStats.add(grouped, count.getStatus(), count.getDate(), count.getCount()));
+
+        return grouped;
+    }
+}
@@ -0,0 +1,130 @@
+package employee;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * This class marks how far an incremental sync has read, as the modification time and ID of the last employee it
+ * returned. Employees are synced in that order, so the next sync carries on with the first employee after the mark,
+ * even if many employees were modified at the same instant.
+ * <p>
+ * Users are given the mark as an opaque, URL-safe token. A sync may also be started from a timestamp, in which case
+ * every employee modified after it is returned.
+ */
+final class EmployeeSyncToken
+{
+    /**
+     * The length of an encoded token before Base64: the seconds and nanoseconds of the time, and the ID.
+     */
+    private static final int BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    /**
+     * The modification time of the last employee returned.
+     */
+    private final Instant updatedAt;
+
+    /**
+     * The ID of the last employee returned. Employees modified at the same time with a greater ID are still to come.
+     */
+    private final long id;
+
+    /**
+     * Constructor.
+     *
+     * @param updatedAt The modification time of the last employee returned.
+     * @param id        The ID of the last employee returned.
+     */
+    private EmployeeSyncToken(Instant updatedAt, long id)
+    {
+        this.updatedAt = updatedAt;
+        this.id = id;
+    }
+
+    /**
+     * @param employee The last employee returned by a sync.
+     * @return The token to carry on the sync from after the employee.
+     */
+    static EmployeeSyncToken after(Employee employee)
+    {
+        return new EmployeeSyncToken(employee.getUpdatedAt(), employee.getId());
+    }
+
+    /**
+     * Reads the point to sync from, given either as a token from an earlier sync or as an ISO-8601 timestamp such as
+     * {@code 2022-01-15T00:00:00Z}.
+     *
+     * @param value The token or timestamp.
+     * @return The token.
+     * @throws EmployeeSyncTokenException If the value is neither a token nor a timestamp.
+     */
+    static EmployeeSyncToken parse(String value)
+    {
+        try
+        {
+            // Every employee modified at the timestamp itself has already been seen, whatever their ID.
+            return new EmployeeSyncToken(Instant.parse(value), Long.MAX_VALUE);
+        }
+        catch (DateTimeParseException e)
+        {
+            // Not a timestamp, so it should be a token.
+        }
+
+        byte[] bytes;
+        try
+        {
+            bytes = Base64.getUrlDecoder().decode(value);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new EmployeeSyncTokenException(value);
+        }
+
+        if (bytes.length != BYTES)
+        {
+            throw new EmployeeSyncTokenException(value);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        long id = buffer.getLong();
+
+        if (nanos < 0 || nanos > 999_999_999)
+        {
+            throw new EmployeeSyncTokenException(value);
+        }
+
+        return new EmployeeSyncToken(Instant.ofEpochSecond(seconds, nanos), id);
+    }
+
+    /**
+     * @return The token as given to users.
+     */
+    String encode()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .putLong(updatedAt.getEpochSecond())
+                .putInt(updatedAt.getNano())
+                .putLong(id);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @return The modification time of the last employee returned.
+     */
+    Instant getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    /**
+     * @return The ID of the last employee returned.
+     */
+    long getId()
+    {
+        return id;
+    }
+}
@@ -0,0 +1,29 @@
+package employee;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class sets the response code and provides the user with advice when an incremental sync cannot be started from
+ * the point they gave.
+ */
+@ControllerAdvice
+class EmployeeSyncTokenAdvice
+{
+    /**
+     * Returns the message of the exception to be used to give feedback back to the user.
+     *
+     * @param ex The exception thrown when a sync token or timestamp cannot be read.
+     * @return The message of the exception.
+     */
+    @ResponseBody
+    @ExceptionHandler(EmployeeSyncTokenException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String employeeSyncTokenHandler(EmployeeSyncTokenException ex)
+    {
+        return ex.getMessage();
+    }
+}
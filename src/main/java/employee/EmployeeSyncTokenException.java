@@ -0,0 +1,18 @@
+package employee;
+
+/**
+ * This class represents an exception to be thrown whenever an incremental sync is asked to start from something that
+ * is neither a token from an earlier sync nor a timestamp.
+ */
+class EmployeeSyncTokenException extends RuntimeException
+{
+    /**
+     * Constructor.
+     *
+     * @param value The value that could not be read as a token or timestamp.
+     */
+    EmployeeSyncTokenException(String value)
+    {
+        super("\n'" + value + "' is neither a sync token nor an ISO-8601 timestamp");
+    }
+}
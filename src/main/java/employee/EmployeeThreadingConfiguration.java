@@ -0,0 +1,56 @@
+package employee;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.Executors;
+
+/**
+ * This class configures the threads requests and {@code @Async} work run on. By default, Tomcat handles each request
+ * on a thread from a bounded pool, so every request waiting on the DB or on a slow client holds one of a few hundred
+ * threads. With {@code employee.threads.virtual=true}, each request and each piece of {@code @Async} work gets its
+ * own virtual thread instead, which releases its carrier thread whenever it blocks, so the number of requests in
+ * flight is no longer limited by the size of a pool.
+ * <p>
+ * A virtual thread cannot release its carrier while it blocks inside a {@code synchronized} block or method. See
+ * Instructions.txt for the paths of this application known to do so.
+ */
+@Configuration
+@EnableAsync
+class EmployeeThreadingConfiguration
+{
+    /**
+     * Runs each request Tomcat handles on its own virtual thread.
+     *
+     * @return The customizer replacing the executor of Tomcat's protocol handler.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "true")
+    TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer()
+    {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    /**
+     * Runs each piece of {@code @Async} work, and each asynchronous request, on its own virtual thread. It replaces
+     * the bounded pool Spring Boot otherwise provides.
+     *
+     * @return The executor of asynchronous work.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "true")
+    AsyncTaskExecutor virtualThreadTaskExecutor()
+    {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory()));
+    }
+}
@@ -0,0 +1,115 @@
+package employee;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This class patches and deactivates single employees with an update of only the columns written. The employee is read
+ * first, in the same transaction, so the change can be announced with what it changed from, and the update only
+ * applies at the version read. An employee written by someone else in between is read again and the update retried,
+ * so the announced change always follows on from the one before it.
+ */
+@Component
+class EmployeeUpdateService
+{
+    /**
+     * The class responsible for access to perform operations to the DB containing employees.
+     */
+    private final EmployeeRepository repository;
+
+    /**
+     * The publisher announcing every change made to an employee.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The template used to read and update each employee in a single transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor.
+     *
+     * @param repository         The class responsible for access to perform operations to the DB containing employees.
+     * @param eventPublisher     The publisher announcing every change made to an employee.
+     * @param transactionManager The transaction manager used to read and update each employee in one transaction.
+     */
+    EmployeeUpdateService(EmployeeRepository repository, ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager)
+    {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Changes only the fields in the patch of a single active employee, and announces the change once it commits.
+     *
+     * @param id        The ID of the employee to patch.
+     * @param patch     The fields to change.
+     * @param versions  The versions the employee is expected to be at, or null to patch them at any version.
+     * @param updatedAt The time of the update.
+     * @return The employee as they were before the patch, or null if there is no such active employee at an expected
+     * version.
+     */
+    Employee patch(Long id, EmployeeMergePatch patch, List<Long> versions, Instant updatedAt)
+    {
+        return transactionTemplate.execute(status -> {
+            Employee previous;
+            do
+            {
+                previous = findActive(id);
+                if (previous == null || versions != null && !versions.contains(previous.getVersion()))
+                {
+                    return null;
+                }
+            }
+            while (repository.patch(id, patch, List.of(previous.getVersion()), updatedAt) == 0);
+
+            eventPublisher.publishEvent(EmployeeChangedEvent.patched(previous, patch, updatedAt));
+            return previous;
+        });
+    }
+
+    /**
+     * Sets a single active employee to inactive, and announces the change once it commits.
+     *
+     * @param id        The ID of the employee to set to inactive.
+     * @param updatedAt The time of the update.
+     * @return The employee as they were before the update, or null if there is no such active employee.
+     */
+    Employee deactivate(Long id, Instant updatedAt)
+    {
+        return transactionTemplate.execute(status -> {
+            Employee previous;
+            do
+            {
+                previous = findActive(id);
+                if (previous == null)
+                {
+                    return null;
+                }
+            }
+            while (repository.updateStatus(id, previous.getVersion(), Status.INACTIVE, updatedAt) == 0);
+
+            eventPublisher.publishEvent(EmployeeChangedEvent.deactivated(previous, updatedAt));
+            return previous;
+        });
+    }
+
+    /**
+     * Reads an active employee as they are now, unmanaged, so what they were is kept once they are updated.
+     *
+     * @param id The ID of the employee.
+     * @return The employee, or null if there is no such active employee.
+     */
+    private Employee findActive(Long id)
+    {
+        return repository.findByIdAndStatus(id, Status.ACTIVE).map(Employee::new).orElse(null);
+    }
+}
@@ -0,0 +1,17 @@
+package employee;
+
+/**
+ * This interface is a projection of the version of a single employee, read without loading the employee.
+ */
+interface EmployeeVersion
+{
+    /**
+     * @return The unique identifier assigned to the employee.
+     */
+    Long getId();
+
+    /**
+     * @return The number of times the employee has been updated.
+     */
+    long getVersion();
+}
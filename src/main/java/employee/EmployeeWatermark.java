@@ -0,0 +1,25 @@
+package employee;
+
+import java.time.Instant;
+
+/**
+ * This interface is a projection summarising the whole employee table in a single row. Every insert raises the count
+ * and every update raises the sum of versions, so together they change whenever any employee does.
+ */
+interface EmployeeWatermark
+{
+    /**
+     * @return The number of employees, whatever their {@link Status}.
+     */
+    long getCount();
+
+    /**
+     * @return The sum of the versions of every employee.
+     */
+    long getVersionSum();
+
+    /**
+     * @return The last time any employee was created or updated, or null if there are no employees.
+     */
+    Instant getLastModified();
+}
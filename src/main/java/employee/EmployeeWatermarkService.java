@@ -0,0 +1,225 @@
+package employee;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class keeps the {@link EmployeeWatermark} of the employee table in memory when
+ * {@code employee.watermark.in-memory=true}, so a page of the collection can be checked against its ETag without the
+ * DB summarising the whole table first. The watermark is read once the application is ready, then follows every
+ * committed change to an employee: a creation adds one to the count and the version written to the sum, and an update
+ * adds to the sum how far it moved the version. Until it has been read, and when it is not kept in memory, the DB
+ * summarises the table for every request. It only sees changes made through this node, so it should not be kept in
+ * memory when several nodes share the DB.
+ */
+@Component
+class EmployeeWatermarkService
+{
+    /**
+     * Logger used for debugging.
+     */
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWatermarkService.class);
+
+    /**
+     * The class responsible for access to perform operations to the DB containing employees.
+     */
+    private final EmployeeRepository repository;
+
+    /**
+     * The template used to read the watermark and the versions of the changes held back in a single snapshot.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The changes committed while the watermark is being read. Only used while holding the lock of this class.
+     */
+    private final EmployeeChangeBacklog backlog;
+
+    /**
+     * Whether the watermark is kept in memory.
+     */
+    private final boolean inMemory;
+
+    /**
+     * The current watermark, or null until it has been read.
+     */
+    private volatile Watermark watermark;
+
+    /**
+     * Constructor.
+     *
+     * @param repository         The class responsible for access to perform operations to the DB containing employees.
+     * @param transactionManager The transaction manager the watermark is read within.
+     * @param inMemory           Whether to keep the watermark in memory rather than have the DB summarise the table.
+     */
+    EmployeeWatermarkService(EmployeeRepository repository, PlatformTransactionManager transactionManager,
+                             @Value("${employee.watermark.in-memory:false}") boolean inMemory)
+    {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.backlog = new EmployeeChangeBacklog(repository);
+        this.inMemory = inMemory;
+    }
+
+    /**
+     * @return The current watermark of the employee table.
+     */
+    EmployeeWatermark getWatermark()
+    {
+        Watermark current = watermark;
+        return current != null ? current : repository.findWatermark();
+    }
+
+    /**
+     * Reads the watermark as soon as the application is ready, after the DB has been seeded, as seeding does not
+     * announce the employees it writes. Changes committed while it is read are held back, then applied on top of it
+     * unless it already counted them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady()
+    {
+        if (!inMemory)
+        {
+            return;
+        }
+
+        long start = System.nanoTime();
+        synchronized (this)
+        {
+            backlog.hold();
+        }
+
+        try
+        {
+            transactionTemplate.executeWithoutResult(status -> {
+                EmployeeWatermark read = repository.findWatermark();
+                synchronized (this)
+                {
+                    Watermark current = new Watermark(read.getCount(), read.getVersionSum(), read.getLastModified());
+                    for (EmployeeChangedEvent event : backlog.release())
+                    {
+                        current = current.with(event);
+                    }
+                    watermark = current;
+                }
+            });
+        }
+        catch (RuntimeException e)
+        {
+            synchronized (this)
+            {
+                backlog.discard();
+            }
+            throw e;
+        }
+
+        log.info("Read the employee watermark in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                + " ms");
+    }
+
+    /**
+     * Applies a committed change to an employee to the watermark. Changes made outside a transaction are applied
+     * straight away.
+     *
+     * @param event The change made to an employee.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onEmployeeChanged(EmployeeChangedEvent event)
+    {
+        if (!inMemory)
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            // A watermark not read yet will be read with the change in it.
+            if (!backlog.offer(event) && watermark != null)
+            {
+                watermark = watermark.with(event);
+            }
+        }
+    }
+
+    /**
+     * The watermark of the employee table at a point in time. A new one is made for every change, so one being used
+     * for a request is never changed under it.
+     */
+    private static final class Watermark implements EmployeeWatermark
+    {
+        /**
+         * The number of employees, whatever their {@link Status}.
+         */
+        private final long count;
+
+        /**
+         * The sum of the versions of every employee.
+         */
+        private final long versionSum;
+
+        /**
+         * The last time any employee was created or updated, or null if there are no employees.
+         */
+        private final Instant lastModified;
+
+        /**
+         * Constructor.
+         *
+         * @param count        The number of employees, whatever their {@link Status}.
+         * @param versionSum   The sum of the versions of every employee.
+         * @param lastModified The last time any employee was created or updated, or null if there are no employees.
+         */
+        private Watermark(long count, long versionSum, Instant lastModified)
+        {
+            this.count = count;
+            this.versionSum = versionSum;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @param event The change made to an employee.
+         * @return The watermark with the change applied.
+         */
+        private Watermark with(EmployeeChangedEvent event)
+        {
+            Employee previous = event.getPrevious();
+            Instant updatedAt = event.getUpdatedAt();
+
+            return new Watermark(previous == null ? count + 1 : count,
+                    versionSum + event.getVersion() - (previous == null ? 0 : previous.getVersion()),
+                    lastModified == null || updatedAt != null && updatedAt.isAfter(lastModified)
+                            ? updatedAt
+                            : lastModified);
+        }
+
+        @Override
+        public long getCount()
+        {
+            return count;
+        }
+
+        @Override
+        public long getVersionSum()
+        {
+            return versionSum;
+        }
+
+        @Override
+        public Instant getLastModified()
+        {
+            return lastModified;
+        }
+    }
+}
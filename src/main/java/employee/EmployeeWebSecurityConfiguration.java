@@ -0,0 +1,97 @@
+package employee;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.time.Duration;
+
+/**
+ * This class configures the HTTP security profile, the password hasher, and how unauthorized requests are sent back to
+ * the user.
+ */
+@Configuration
+@EnableWebSecurity
+class EmployeeWebSecurityConfiguration
+{
+    /**
+     * This method configures an in-memory authentication for the admin user. Every authentication attempt is timed
+     * separately from the request it is made within. When the authentication cache is enabled, the timing includes
+     * it, so the cost per request can be compared with it on and off.
+     *
+     * @param meterRegistry                  The registry the time taken to authenticate users is published to.
+     * @param authenticationCacheEnabled     Whether users sending the same credentials again within a short time skip
+     *                                       the password hash.
+     * @param authenticationCacheMaximumSize The largest number of authentications remembered at once.
+     * @param authenticationCacheTtl         How long an authentication is remembered for.
+     * @return The provider checking the credentials of every user.
+     */
+    @Bean
+    AuthenticationProvider authenticationProvider(MeterRegistry meterRegistry,
+                                                  @Value("${employee.auth.cache.enabled:false}")
+                                                          boolean authenticationCacheEnabled,
+                                                  @Value("${employee.auth.cache.maximum-size:1000}")
+                                                          long authenticationCacheMaximumSize,
+                                                  @Value("${employee.auth.cache.ttl:60s}")
+                                                          Duration authenticationCacheTtl)
+    {
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername("admin")
+                .password(encoder.encode("admin"))
+                .authorities("ADMIN")
+                .build());
+
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setPasswordEncoder(encoder);
+        daoProvider.setUserDetailsService(users);
+
+        AuthenticationProvider provider = authenticationCacheEnabled
+                ? new CachingAuthenticationProvider(daoProvider, users, authenticationCacheMaximumSize,
+                        authenticationCacheTtl, meterRegistry)
+                : daoProvider;
+
+        return new TimedAuthenticationProvider(provider, meterRegistry);
+    }
+
+    /**
+     * This method configures the security profile for specific HTTP requests.
+     *
+     * @param http                     The HTTP security profile used to define security for specific HTTP requests.
+     * @param authenticationEntryPoint The class generating the response page when a user tries to perform an
+     *                                 operation they are not authorized for.
+     * @return The filter chain applying the security profile.
+     * @throws Exception If the HTTP security profile fails to build for any reason.
+     */
+    @Bean
+    SecurityFilterChain securityFilterChain(HttpSecurity http, EmployeeAuthenticationEntryPoint authenticationEntryPoint)
+            throws Exception
+    {
+        http.csrf().disable().authorizeRequests()
+                .antMatchers(HttpMethod.POST, "/employees").permitAll()
+                .antMatchers(HttpMethod.POST, "/employees/batch").permitAll()
+                .antMatchers(HttpMethod.GET, "/employees").permitAll()
+                .antMatchers(HttpMethod.DELETE, "/employees/*").hasAuthority("ADMIN")
+                .antMatchers(HttpMethod.GET, "/employees/*").permitAll()
+                .antMatchers(HttpMethod.PUT, "/employees/*").permitAll()
+                .antMatchers(HttpMethod.PATCH, "/employees/*").permitAll()
+                .antMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                .antMatchers("/actuator/**").hasAuthority("ADMIN")
+                .and()
+                .httpBasic()
+                .authenticationEntryPoint(authenticationEntryPoint);
+
+        return http.build();
+    }
+}
@@ -0,0 +1,176 @@
+package employee;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * This class lets internal callers exchange employees in a compact binary format instead of HAL JSON, by asking for
+ * {@code application/x-jackson-smile} or {@code application/cbor} in their Accept or Content-Type header.
+ * <p>
+ * Both formats carry the same fields as JSON, with three differences. Dates are written as the number of days since
+ * 1970-01-01 rather than as {@code MM-dd-yyyy} text. Each employee is written without their links, as callers can
+ * build them from the ID. The links of a collection, which carry its paging and sync tokens, are written as a map from
+ * relation to URL rather than as HAL link objects.
+ */
+@Configuration
+class EmployeeWireFormatConfiguration
+{
+    /**
+     * Serves and reads employees as Smile, replacing the converter Spring MVC would register with its own mapper.
+     *
+     * @return The Smile converter.
+     */
+    @Bean
+    MappingJackson2SmileHttpMessageConverter employeeSmileConverter()
+    {
+        return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(Jackson2ObjectMapperBuilder.smile()));
+    }
+
+    /**
+     * Serves and reads employees as CBOR, replacing the converter Spring MVC would register with its own mapper.
+     *
+     * @return The CBOR converter.
+     */
+    @Bean
+    MappingJackson2CborHttpMessageConverter employeeCborConverter()
+    {
+        return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(Jackson2ObjectMapperBuilder.cbor()));
+    }
+
+    /**
+     * Builds a mapper writing dates as epoch days, employees without their links and other links as a map.
+     *
+     * @param builder The builder of a mapper for the binary format.
+     * @return The mapper.
+     */
+    static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder)
+    {
+        return builder
+                .serializerByType(LocalDate.class, new EpochDaySerializer())
+                .deserializerByType(LocalDate.class, new EpochDayDeserializer())
+                .serializerByType(Links.class, new LinkMapSerializer())
+                .serializerByType(EmployeeRosterPage.class, new RosterPageSerializer())
+                .mixIn(EntityModel.class, WithoutLinks.class)
+                .build();
+    }
+
+    /**
+     * Leaves out the links of a model, so each employee carries only their own fields.
+     */
+    @JsonIgnoreProperties("links")
+    private abstract static class WithoutLinks
+    {
+    }
+
+    /**
+     * Writes a date as the number of days since 1970-01-01. Unlike the date serializer of the Java time module, this
+     * one ignores the text pattern the date is annotated with.
+     */
+    private static final class EpochDaySerializer extends StdScalarSerializer<LocalDate>
+    {
+        /**
+         * Constructor.
+         */
+        private EpochDaySerializer()
+        {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException
+        {
+            generator.writeNumber(value.toEpochDay());
+        }
+    }
+
+    /**
+     * Reads a date given as the number of days since 1970-01-01.
+     */
+    private static final class EpochDayDeserializer extends StdScalarDeserializer<LocalDate>
+    {
+        /**
+         * Constructor.
+         */
+        private EpochDayDeserializer()
+        {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException
+        {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT)
+            {
+                return (LocalDate) context.handleUnexpectedToken(LocalDate.class, parser);
+            }
+
+            return LocalDate.ofEpochDay(parser.getLongValue());
+        }
+    }
+
+    /**
+     * Writes links as a map from relation to URL.
+     */
+    private static final class LinkMapSerializer extends StdSerializer<Links>
+    {
+        /**
+         * Constructor.
+         */
+        private LinkMapSerializer()
+        {
+            super(Links.class);
+        }
+
+        @Override
+        public void serialize(Links links, JsonGenerator generator, SerializerProvider provider) throws IOException
+        {
+            generator.writeStartObject();
+            for (Link link : links)
+            {
+                generator.writeStringField(link.getRel().value(), link.getHref());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a page served from the roster in memory as a collection model of the same employees would be written.
+     */
+    private static final class RosterPageSerializer extends StdSerializer<EmployeeRosterPage>
+    {
+        /**
+         * Constructor.
+         */
+        private RosterPageSerializer()
+        {
+            super(EmployeeRosterPage.class);
+        }
+
+        @Override
+        public void serialize(EmployeeRosterPage page, JsonGenerator generator, SerializerProvider provider)
+                throws IOException
+        {
+            page.serializeCompact(generator);
+        }
+    }
+}
@@ -2,14 +2,25 @@ package employee;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
- * This class populates the employee database with some examples used for testing.
+ * This class populates the employee database when it starts out empty, either with some examples used for testing, in
+ * bulk from a CSV file, or with any number of generated employees. A database that already holds employees, such as a
+ * persistent one being restarted, is left as it is.
  */
 @Configuration
 class LoadDatabase
@@ -20,17 +31,47 @@ class LoadDatabase
     private static final Logger log = LoggerFactory.getLogger(LoadDatabase.class);
 
     /**
-     * This method populates the initial DB with employees used to test the application.
+     * This method populates the initial DB with employees used to test the application, with every employee in the
+     * given CSV file, or with the given number of generated employees, unless it already holds employees.
      *
      * @param employeeRepository The class responsible for access to perform operations to the DB containing employees.
-     * @return A command line runner that will execute the insertion of the new test employees and log that they have
-     * been preloaded.
+     * @param jdbcTemplate       The template used to load the CSV file or generated employees within the DB.
+     * @param seedCsv            The CSV file to load employees from, or an empty string to load none.
+     * @param generate           The number of employees to generate when no CSV file is given, or 0 to load the test
+     *                           employees.
+     * @param randomSeed         The seed deciding every employee generated.
+     * @param inactiveRatio      The fraction of employees generated as inactive.
+     * @return A command line runner that will execute the insertion of the new employees and log that they have been
+     * preloaded.
      */
     @Bean
-    CommandLineRunner initDatabase(EmployeeRepository employeeRepository)
+    CommandLineRunner initDatabase(EmployeeRepository employeeRepository, JdbcTemplate jdbcTemplate,
+                                   @Value("${employee.seed.csv:}") String seedCsv,
+                                   @Value("${employee.seed.generate:0}") long generate,
+                                   @Value("${employee.seed.random-seed:42}") long randomSeed,
+                                   @Value("${employee.seed.inactive-ratio:0.1}") double inactiveRatio)
     {
 
         return args -> {
+            long existing = employeeRepository.count();
+            if (existing > 0)
+            {
+                log.info("Found " + existing + " employees, so the DB was not seeded");
+                return;
+            }
+
+            if (!seedCsv.isEmpty())
+            {
+                seedFromCsv(jdbcTemplate, seedCsv);
+                return;
+            }
+
+            if (generate > 0)
+            {
+                seedGenerated(jdbcTemplate, new EmployeeGenerator(randomSeed, inactiveRatio), generate);
+                return;
+            }
+
             employeeRepository.save(new Employee("Marc", 'J', "Christensen",
                     LocalDate.of(1996, 6, 18), LocalDate.of(2022, 1, 15)));
             employeeRepository.save(new Employee("Bob", 'A', "Smith",
@@ -41,4 +82,101 @@ class LoadDatabase
             employeeRepository.findAll().forEach(employee -> log.info("Preloaded " + employee));
         };
     }
+
+    /**
+     * Loads every employee in a CSV file with a single statement run by H2 itself, so no row passes through JDBC or
+     * Hibernate. The file is read in the format written by the CSV export, IDs included.
+     *
+     * @param jdbcTemplate The template used to run the statements.
+     * @param file         The path of the CSV file.
+     */
+    private static void seedFromCsv(JdbcTemplate jdbcTemplate, String file)
+    {
+        long start = System.nanoTime();
+
+        // The status is stored as its ordinal, as JPA maps it.
+        StringBuilder status = new StringBuilder("case \"status\"");
+        for (Status value : Status.values())
+        {
+            status.append(" when '").append(value.name()).append("' then ").append(value.ordinal());
+        }
+        status.append(" end");
+
+        long loaded = withoutSecondaryIndexes(jdbcTemplate, () -> jdbcTemplate.update("insert into employee (id,"
+                + " first_name, middle_initial, last_name, date_of_birth, date_of_employment, status, version,"
+                + " created_at, updated_at)"
+                + " select cast(\"id\" as bigint), \"firstName\", coalesce(nullif(\"middleInitial\", ''), ' '),"
+                + " \"lastName\", parsedatetime(nullif(\"dateOfBirth\", ''), 'MM-dd-yyyy'),"
+                + " parsedatetime(nullif(\"dateOfEmployment\", ''), 'MM-dd-yyyy'), " + status + ", 0,"
+                + " current_timestamp, current_timestamp"
+                // H2 opens the file while preparing the statement, so its name cannot be a bound parameter.
+                + " from csvread('" + file.replace("'", "''") + "', null,"
+                + " 'charset=UTF-8 caseSensitiveColumnNames=true')"));
+
+        log.info("Seeded " + loaded + " employees from " + file + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    /**
+     * Inserts generated employees in batches through plain JDBC, with the same handling of indexes and of the employee
+     * sequence as a load from a CSV file.
+     *
+     * @param jdbcTemplate The template used to run the statements.
+     * @param generator    The generator deciding each employee.
+     * @param count        The number of employees to generate.
+     */
+    private static void seedGenerated(JdbcTemplate jdbcTemplate, EmployeeGenerator generator, long count)
+    {
+        long start = System.nanoTime();
+
+        long generated = withoutSecondaryIndexes(jdbcTemplate, () -> generator.insert(jdbcTemplate, count));
+
+        log.info("Seeded " + generated + " generated employees in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    /**
+     * Runs a bulk load with the secondary indexes of the employee table dropped, building them again afterwards.
+     * Building an index over the loaded table is several times faster than updating every index for each row
+     * inserted. The employee sequence is then moved past the highest ID loaded.
+     *
+     * @param jdbcTemplate The template used to run the statements.
+     * @param load         The load, returning the number of employees it inserted.
+     * @return The number of employees inserted.
+     */
+    private static long withoutSecondaryIndexes(JdbcTemplate jdbcTemplate, LongSupplier load)
+    {
+        Map<String, List<String>> indexes = secondaryIndexes(jdbcTemplate);
+        indexes.keySet().forEach(index -> jdbcTemplate.execute("drop index \"" + index + "\""));
+
+        long loaded = load.getAsLong();
+
+        indexes.forEach((index, columns) -> jdbcTemplate.execute("create index \"" + index + "\" on employee (\""
+                + String.join("\", \"", columns) + "\")"));
+
+        // Hibernate hands out the block of IDs below each value it draws, so the next value must clear a whole block.
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from employee", Long.class);
+        jdbcTemplate.execute("alter sequence employee_sequence restart with "
+                + (maxId + Employee.ID_ALLOCATION_SIZE + 1));
+
+        return loaded;
+    }
+
+    /**
+     * @param jdbcTemplate The template used to read the definitions.
+     * @return The columns of each index on the employee table other than its primary key, in order, by index name.
+     */
+    private static Map<String, List<String>> secondaryIndexes(JdbcTemplate jdbcTemplate)
+    {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query("select c.index_name, c.column_name from information_schema.index_columns c"
+                        + " join information_schema.indexes i on i.index_schema = c.index_schema"
+                        + " and i.index_name = c.index_name"
+                        + " where i.table_name = 'EMPLOYEE' and i.index_type_name = 'INDEX'"
+                        + " order by c.index_name, c.ordinal_position",
+                (RowCallbackHandler) row -> indexes.computeIfAbsent(row.getString(1), name -> new ArrayList<>())
+                        .add(row.getString(2)));
+
+        return indexes;
+    }
 }
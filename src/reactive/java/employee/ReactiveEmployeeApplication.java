@@ -0,0 +1,57 @@
+package employee;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * This class starts the non-blocking variant of the employee API, serving the routes of {@link EmployeeController} on
+ * WebFlux from an H2 DB reached through R2DBC. It is only built with the reactive Maven profile.
+ * <p>
+ * Unlike {@link EmployeeApplication}, it does not scan for components, as the servlet stack shares its package. It
+ * imports the classes it needs instead, and each of those carries the reactive Spring profile so that
+ * {@link EmployeeApplication} skips them when both are built.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@Import({ReactiveEmployeeRepository.class, ReactiveEmployeeController.class,
+        ReactiveEmployeeSecurityConfiguration.class, ReactiveLoadDatabase.class, EmployeeNotFoundAdvice.class,
+        EmployeePreconditionFailedAdvice.class, EmployeeParameterConflictAdvice.class, EmployeeLimitAdvice.class})
+@Profile("reactive")
+public class ReactiveEmployeeApplication
+{
+    /**
+     * The main method of the reactive variant, always run on WebFlux with the reactive Spring profile. The servlet
+     * stack is still on the classpath, so WebFlux has to be chosen explicitly.
+     *
+     * @param args The command line arguments, passed on to Spring.
+     */
+    public static void main(String[] args)
+    {
+        SpringApplication application = new SpringApplication(ReactiveEmployeeApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+
+    /**
+     * Serves requests from Netty. Spring Boot would otherwise choose Tomcat, which the servlet stack puts on the
+     * classpath, and run WebFlux on top of the servlet API.
+     *
+     * @return The factory of the Netty server.
+     */
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory()
+    {
+        return new NettyReactiveWebServerFactory();
+    }
+}
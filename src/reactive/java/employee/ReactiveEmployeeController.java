@@ -0,0 +1,287 @@
+package employee;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This class serves the routes of {@link EmployeeController} without blocking, for the reactive profile. Requests are
+ * handled on a small, fixed number of event loop threads however many are in flight, and each waits on the DB without
+ * holding one. Responses carry the same HAL bodies, ETags and Last-Modified dates as the servlet stack, and are sent
+ * as HAL unless plain JSON is asked for, as they are there. The search and batch routes and the CSV export are only
+ * served by the servlet stack.
+ */
+@RestController
+@Profile("reactive")
+class ReactiveEmployeeController
+{
+    /**
+     * The class responsible for non-blocking access to the DB containing employees.
+     */
+    private final ReactiveEmployeeRepository repository;
+
+    /**
+     * The class responsible for wrapping {@link Employee} objects within an entity model, when links start with a
+     * configured base URL rather than the URL of each request.
+     */
+    private final EmployeeModelAssembler configuredAssembler;
+
+    /**
+     * Constructor.
+     *
+     * @param repository The class responsible for non-blocking access to the DB containing employees.
+     * @param baseUrl    The scheme, host and port links should start with, or an empty string to take them from
+     *                   each request.
+     */
+    ReactiveEmployeeController(ReactiveEmployeeRepository repository,
+                               @Value("${employee.links.base-url:}") String baseUrl)
+    {
+        this.repository = repository;
+        this.configuredAssembler = baseUrl.isEmpty() ? null : new EmployeeModelAssembler(true, baseUrl);
+    }
+
+    /**
+     * When the employees link is selected, a single page of active employees as entity models is given, sought by ID
+     * as in {@link EmployeeController#all(Integer, Long, Long, org.springframework.web.context.request.WebRequest)}.
+     *
+     * @param limit    The maximum number of employees to return, or null for the default page size.
+     * @param after    Only employees with an ID greater than this one are returned, or null to start at the beginning.
+     * @param before   Only employees with an ID less than this one are returned, or null to not bound the page above.
+     * @param exchange The exchange with the user, used to answer conditional requests and build links.
+     * @return A page of active employees wrapped as entity models, or nothing if the user's copy is still current.
+     * @throws EmployeeParameterConflictException If both after and before were given.
+     * @throws EmployeeLimitException             If the limit is less than 1.
+     */
+    @GetMapping(value = "/employees", produces = {MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    Mono<ResponseEntity<CollectionModel<EntityModel<Employee>>>> all(@RequestParam(required = false) Integer limit,
+                                                                     @RequestParam(required = false) Long after,
+                                                                     @RequestParam(required = false) Long before,
+                                                                     ServerWebExchange exchange)
+    {
+        EmployeeController.checkOneBound(after, before);
+        Integer pageLimit = EmployeePage.checkLimit(limit);
+
+        return repository.findWatermark().flatMap(watermark -> {
+            String etag = EmployeeEtags.ofCollection(watermark, pageLimit, after, before);
+            long lastModified = EmployeeController.toEpochMilli(watermark.getLastModified());
+
+            if (checkNotModified(exchange, etag, watermark.getLastModified()))
+            {
+                return Mono.empty();
+            }
+
+            // One extra employee is fetched to find out whether there is another page beyond this one.
+            int window = EmployeePage.pageSize(pageLimit) + 1;
+            Mono<List<Employee>> found;
+
+            if (before != null)
+            {
+                found = repository.findByStatusAndIdLessThanOrderByIdDesc(Status.ACTIVE, before, window)
+                        .collectList();
+            }
+            else if (after != null)
+            {
+                found = repository.findByStatusAndIdGreaterThanOrderByIdAsc(Status.ACTIVE, after, window)
+                        .collectList();
+            }
+            else
+            {
+                found = repository.findByStatusOrderByIdAsc(Status.ACTIVE, window).collectList();
+            }
+
+            return found.map(employees -> {
+                EmployeePage<Employee> page = before != null
+                        ? EmployeePage.backward(employees, pageLimit)
+                        : EmployeePage.forward(employees, pageLimit, after != null);
+
+                return EmployeeController.conditional(etag, lastModified)
+                        .body(assembler(exchange).toCollectionModel(page, after, before));
+            });
+        });
+    }
+
+    /**
+     * Streams every active employee as newline delimited JSON, writing each employee as soon as it is read.
+     *
+     * @return The active employees, in ascending order of ID.
+     */
+    @GetMapping(value = "/employees/export", produces = EmployeeController.NDJSON_VALUE)
+    Flux<Employee> exportNdjson()
+    {
+        return repository.streamByStatus(Status.ACTIVE);
+    }
+
+    /**
+     * When a post request is made on the employee link, a new employee will be created and saved into the DB.
+     *
+     * @param newEmployee The new employee object created from the post request.
+     * @param exchange    The exchange with the user, used to build links.
+     * @return Response link to the newly created employee and information about said employee.
+     */
+    @PostMapping(value = "/employees", produces = {MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    Mono<ResponseEntity<EntityModel<Employee>>> newEmployee(@RequestBody Employee newEmployee,
+                                                            ServerWebExchange exchange)
+    {
+        // Every new employee should have their status initialized to active, whether the user declares it or not.
+        newEmployee.setStatus(Status.ACTIVE);
+
+        return repository.insert(newEmployee).map(savedEmployee -> created(savedEmployee, exchange));
+    }
+
+    /**
+     * Returns all the info of a single employee denoted by the {id} after the employee link.
+     *
+     * @param id       The ID of the employee whose information will be displayed.
+     * @param exchange The exchange with the user, used to answer conditional requests and build links.
+     * @return The entity model of the employee, or nothing if the user's copy is still current.
+     */
+    @GetMapping(value = "/employees/{id}",
+            produces = {MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    Mono<ResponseEntity<EntityModel<Employee>>> one(@PathVariable Long id, ServerWebExchange exchange)
+    {
+        return repository.findByIdAndStatus(id, Status.ACTIVE)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException(id)))
+                .flatMap(employee -> {
+                    String etag = EmployeeEtags.of(employee);
+
+                    if (checkNotModified(exchange, etag, employee.getUpdatedAt()))
+                    {
+                        return Mono.empty();
+                    }
+
+                    return Mono.just(EmployeeController
+                            .conditional(etag, EmployeeController.toEpochMilli(employee.getUpdatedAt()))
+                            .body(assembler(exchange).toModel(employee)));
+                });
+    }
+
+    /**
+     * Replaces the information of a single employee given their unique ID, creating them if they do not exist. If an
+     * If-Match header is given, the employee is only replaced if it matches their current ETag.
+     *
+     * @param newEmployee The new employee object that will replace the current employee whose ID matches the given ID.
+     * @param id          The ID of the employee to replace.
+     * @param ifMatch     The ETags the employee is expected to match, or null to replace them unconditionally.
+     * @param exchange    The exchange with the user, used to build links.
+     * @return A link to the newly replaced employee.
+     */
+    @PutMapping(value = "/employees/{id}",
+            produces = {MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    Mono<ResponseEntity<EntityModel<Employee>>> replaceEmployee(@RequestBody Employee newEmployee,
+                                                                @PathVariable Long id,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH,
+                                                                        required = false) String ifMatch,
+                                                                ServerWebExchange exchange)
+    {
+        return repository.findById(id)
+                .flatMap(employee -> {
+                    if (ifMatch != null && !EmployeeEtags.matches(ifMatch, employee))
+                    {
+                        return Mono.<Employee>error(new EmployeePreconditionFailedException(id));
+                    }
+
+                    employee.setFirstName(newEmployee.getFirstName());
+                    employee.setMiddleInitial(newEmployee.getMiddleInitial());
+                    employee.setLastName(newEmployee.getLastName());
+                    employee.setDateOfEmployment(newEmployee.getDateOfEmployment());
+                    employee.setDateOfBirth(newEmployee.getDateOfBirth());
+
+                    // The update only applies to the version just read, so a concurrent change is not overwritten.
+                    return repository.replace(employee)
+                            .switchIfEmpty(Mono.error(() -> new EmployeePreconditionFailedException(id)));
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    // An employee that does not exist cannot match any ETag.
+                    if (ifMatch != null)
+                    {
+                        return Mono.error(new EmployeePreconditionFailedException(id));
+                    }
+
+                    newEmployee.setStatus(Status.ACTIVE);
+                    return repository.insert(newEmployee);
+                }))
+                .map(updatedEmployee -> created(updatedEmployee, exchange));
+    }
+
+    /**
+     * Once authorized, the employee's status will be set to inactive and will not be retrievable from all employees
+     * or by searching their unique ID.
+     *
+     * @param id The ID of the employee to set to inactive status.
+     * @return A response entity with no content.
+     */
+    @DeleteMapping("/employees/{id}")
+    Mono<ResponseEntity<Void>> setEmployeeToInactive(@PathVariable Long id)
+    {
+        return repository.updateStatus(id, Status.INACTIVE)
+                .flatMap(rows -> rows == 0
+                        ? Mono.error(new EmployeeNotFoundException(id))
+                        : Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+
+    /**
+     * Builds the response to an employee having been written.
+     *
+     * @param employee The employee as written to the DB.
+     * @param exchange The exchange with the user, used to build links.
+     * @return The response linking to the employee, carrying their new ETag.
+     */
+    private ResponseEntity<EntityModel<Employee>> created(Employee employee, ServerWebExchange exchange)
+    {
+        EntityModel<Employee> entityModel = assembler(exchange).toModel(employee);
+
+        return ResponseEntity
+                .created(entityModel.getRequiredLink(IanaLinkRelations.SELF).toUri())
+                .eTag(EmployeeEtags.of(employee))
+                .body(entityModel);
+    }
+
+    /**
+     * Returns the assembler building links for the given exchange. Unless a base URL is configured, links start with
+     * the scheme, host and port the request was made to, as they do on the servlet stack.
+     *
+     * @param exchange The exchange with the user.
+     * @return The assembler.
+     */
+    private EmployeeModelAssembler assembler(ServerWebExchange exchange)
+    {
+        if (configuredAssembler != null)
+        {
+            return configuredAssembler;
+        }
+
+        String baseUrl = UriComponentsBuilder.fromHttpRequest(exchange.getRequest())
+                .replacePath(null)
+                .replaceQuery(null)
+                .toUriString();
+
+        return new EmployeeModelAssembler(true, baseUrl);
+    }
+
+    /**
+     * Answers a conditional request, if the user's copy of the resource is still current.
+     *
+     * @param exchange     The exchange with the user.
+     * @param etag         The current ETag of the resource.
+     * @param lastModified The last time the resource changed, or null if unknown.
+     * @return Whether the user's copy is still current, in which case the response has been set to Not Modified.
+     */
+    private static boolean checkNotModified(ServerWebExchange exchange, String etag, Instant lastModified)
+    {
+        return lastModified == null ? exchange.checkNotModified(etag) : exchange.checkNotModified(etag, lastModified);
+    }
+}
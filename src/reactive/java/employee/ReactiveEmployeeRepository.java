@@ -0,0 +1,314 @@
+package employee;
+
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * This class is responsible for non-blocking access to the DB containing employees, for the reactive profile. It
+ * offers the same queries as {@link EmployeeRepository} over R2DBC. Every write bumps the version and modification
+ * time of the employee itself, as JPA does for the servlet stack, so the same ETags are produced.
+ */
+class ReactiveEmployeeRepository
+{
+    /**
+     * The columns every employee is read from, in the order of the table.
+     */
+    private static final String COLUMNS = "id, first_name, middle_initial, last_name, date_of_birth,"
+            + " date_of_employment, status, version, created_at, updated_at";
+
+    /**
+     * The client used to run statements against the DB.
+     */
+    private final DatabaseClient client;
+
+    /**
+     * Constructor.
+     *
+     * @param client The client used to run statements against the DB.
+     */
+    ReactiveEmployeeRepository(DatabaseClient client)
+    {
+        this.client = client;
+    }
+
+    /**
+     * @param id The ID of the employee to find.
+     * @return The employee with the given ID, whatever their status, or empty if there is none.
+     */
+    Mono<Employee> findById(Long id)
+    {
+        return client.sql("select " + COLUMNS + " from employee where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toEmployee(row))
+                .one();
+    }
+
+    /**
+     * @param id     The ID of the employee to find.
+     * @param status The status the employee must have.
+     * @return The employee with the given ID and status, or empty if there is none.
+     */
+    Mono<Employee> findByIdAndStatus(Long id, Status status)
+    {
+        return client.sql("select " + COLUMNS + " from employee where id = :id and status = :status")
+                .bind("id", id)
+                .bind("status", status.ordinal())
+                .map((row, metadata) -> toEmployee(row))
+                .one();
+    }
+
+    /**
+     * @param status The status the employees must have.
+     * @param limit  The maximum number of employees to return.
+     * @return The employees with the given status with the lowest IDs, in ascending order of ID.
+     */
+    Flux<Employee> findByStatusOrderByIdAsc(Status status, int limit)
+    {
+        return client.sql("select " + COLUMNS + " from employee where status = :status order by id limit :limit")
+                .bind("status", status.ordinal())
+                .bind("limit", limit)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    /**
+     * @param status The status the employees must have.
+     * @param after  The ID the employees must come after.
+     * @param limit  The maximum number of employees to return.
+     * @return The employees with the given status following the given ID, in ascending order of ID.
+     */
+    Flux<Employee> findByStatusAndIdGreaterThanOrderByIdAsc(Status status, Long after, int limit)
+    {
+        return client.sql("select " + COLUMNS + " from employee where status = :status and id > :after"
+                        + " order by id limit :limit")
+                .bind("status", status.ordinal())
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    /**
+     * @param status The status the employees must have.
+     * @param before The ID the employees must come before.
+     * @param limit  The maximum number of employees to return.
+     * @return The employees with the given status preceding the given ID, in descending order of ID.
+     */
+    Flux<Employee> findByStatusAndIdLessThanOrderByIdDesc(Status status, Long before, int limit)
+    {
+        return client.sql("select " + COLUMNS + " from employee where status = :status and id < :before"
+                        + " order by id desc limit :limit")
+                .bind("status", status.ordinal())
+                .bind("before", before)
+                .bind("limit", limit)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    /**
+     * @param status The status the employees must have.
+     * @return Every employee with the given status, in ascending order of ID, read as the DB returns them.
+     */
+    Flux<Employee> streamByStatus(Status status)
+    {
+        return client.sql("select " + COLUMNS + " from employee where status = :status order by id")
+                .bind("status", status.ordinal())
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    /**
+     * @return The watermark of the employee table, which changes whenever any employee is created or updated.
+     */
+    Mono<EmployeeWatermark> findWatermark()
+    {
+        return client.sql("select count(*) as row_count, cast(coalesce(sum(version), 0) as bigint) as version_sum,"
+                        + " max(updated_at) as last_modified from employee")
+                .map((row, metadata) -> watermark(row.get("row_count", Long.class),
+                        row.get("version_sum", Long.class),
+                        toInstant(row.get("last_modified", OffsetDateTime.class))))
+                .one();
+    }
+
+    /**
+     * Inserts a new employee, setting the ID the DB generated for them along with their version and modification
+     * time.
+     *
+     * @param employee The employee to insert.
+     * @return The inserted employee.
+     */
+    Mono<Employee> insert(Employee employee)
+    {
+        employee.setVersion(0);
+        employee.touch();
+
+        DatabaseClient.GenericExecuteSpec insert = client.sql("insert into employee (first_name, middle_initial,"
+                + " last_name, date_of_birth, date_of_employment, status, version, created_at, updated_at) values"
+                + " (:firstName, :middleInitial, :lastName, :dateOfBirth, :dateOfEmployment, :status, 0, :updatedAt,"
+                + " :updatedAt)");
+
+        return bindFields(insert, employee)
+                .bind("status", employee.getStatus().ordinal())
+                .bind("updatedAt", employee.getUpdatedAt().atOffset(ZoneOffset.UTC))
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    employee.setId(id);
+                    return employee;
+                });
+    }
+
+    /**
+     * Replaces the information of an employee, provided they are still at the given version.
+     *
+     * @param employee The employee carrying their new information and the version it was read at.
+     * @return The replaced employee at their new version, or empty if they have changed or no longer exist.
+     */
+    Mono<Employee> replace(Employee employee)
+    {
+        long version = employee.getVersion();
+        employee.touch();
+
+        DatabaseClient.GenericExecuteSpec update = client.sql("update employee set first_name = :firstName,"
+                + " middle_initial = :middleInitial, last_name = :lastName, date_of_birth = :dateOfBirth,"
+                + " date_of_employment = :dateOfEmployment, version = version + 1, updated_at = :updatedAt"
+                + " where id = :id and version = :version");
+
+        return bindFields(update, employee)
+                .bind("updatedAt", employee.getUpdatedAt().atOffset(ZoneOffset.UTC))
+                .bind("id", employee.getId())
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated()
+                .filter(rows -> rows > 0)
+                .map(rows -> {
+                    employee.setVersion(version + 1);
+                    return employee;
+                });
+    }
+
+    /**
+     * Sets the status of an employee.
+     *
+     * @param id     The ID of the employee.
+     * @param status The status to set.
+     * @return The number of employees updated, which is 0 if there is no employee with the given ID.
+     */
+    Mono<Integer> updateStatus(Long id, Status status)
+    {
+        return client.sql("update employee set status = :status, version = version + 1, updated_at = :updatedAt"
+                        + " where id = :id")
+                .bind("status", status.ordinal())
+                .bind("updatedAt", OffsetDateTime.now(ZoneOffset.UTC))
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Binds the information of an employee that is written on both insert and update.
+     *
+     * @param statement The statement to bind to.
+     * @param employee  The employee to bind.
+     * @return The statement with the information bound.
+     */
+    private static DatabaseClient.GenericExecuteSpec bindFields(DatabaseClient.GenericExecuteSpec statement,
+                                                                Employee employee)
+    {
+        statement = bindNullable(statement, "firstName", employee.getFirstName(), String.class);
+        statement = statement.bind("middleInitial", String.valueOf(employee.getMiddleInitial()));
+        statement = bindNullable(statement, "lastName", employee.getLastName(), String.class);
+        statement = bindNullable(statement, "dateOfBirth", employee.getDateOfBirth(), LocalDate.class);
+
+        return bindNullable(statement, "dateOfEmployment", employee.getDateOfEmployment(), LocalDate.class);
+    }
+
+    /**
+     * Binds a value that may be null, as R2DBC needs the type of a null value to bind it.
+     *
+     * @param statement The statement to bind to.
+     * @param name      The name of the parameter.
+     * @param value     The value to bind, which may be null.
+     * @param type      The type of the value.
+     * @return The statement with the value bound.
+     */
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec statement,
+                                                                  String name, Object value, Class<?> type)
+    {
+        return value == null ? statement.bindNull(name, type) : statement.bind(name, value);
+    }
+
+    /**
+     * Reads an employee from a row of the employee table.
+     *
+     * @param row The row to read.
+     * @return The employee.
+     */
+    private static Employee toEmployee(Row row)
+    {
+        String middleInitial = row.get("middle_initial", String.class);
+        Integer status = row.get("status", Integer.class);
+
+        Employee employee = new Employee(row.get("first_name", String.class),
+                middleInitial == null || middleInitial.isEmpty() ? ' ' : middleInitial.charAt(0),
+                row.get("last_name", String.class),
+                row.get("date_of_birth", LocalDate.class),
+                row.get("date_of_employment", LocalDate.class));
+        employee.setId(row.get("id", Long.class));
+        employee.setStatus(status == null ? null : Status.values()[status]);
+        employee.setVersion(row.get("version", Long.class));
+        employee.setCreatedAt(toInstant(row.get("created_at", OffsetDateTime.class)));
+        employee.setUpdatedAt(toInstant(row.get("updated_at", OffsetDateTime.class)));
+
+        return employee;
+    }
+
+    /**
+     * Builds a watermark from the values read for it.
+     *
+     * @param count        The number of employees.
+     * @param versionSum   The sum of the versions of every employee.
+     * @param lastModified The last time any employee was created or updated, or null if there are none.
+     * @return The watermark.
+     */
+    private static EmployeeWatermark watermark(long count, long versionSum, Instant lastModified)
+    {
+        return new EmployeeWatermark()
+        {
+            @Override
+            public long getCount()
+            {
+                return count;
+            }
+
+            @Override
+            public long getVersionSum()
+            {
+                return versionSum;
+            }
+
+            @Override
+            public Instant getLastModified()
+            {
+                return lastModified;
+            }
+        };
+    }
+
+    /**
+     * @param dateTime The date and time to convert, which may be null.
+     * @return The instant of the date and time, or null if it was null.
+     */
+    private static Instant toInstant(OffsetDateTime dateTime)
+    {
+        return dateTime == null ? null : dateTime.toInstant();
+    }
+}
@@ -0,0 +1,101 @@
+package employee;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class configures the same HTTP security profile as {@link EmployeeWebSecurityConfiguration} for the
+ * reactive profile: the admin user, which routes they are needed for, and how unauthorized requests are sent back to
+ * the user.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Profile("reactive")
+class ReactiveEmployeeSecurityConfiguration
+{
+    /**
+     * The realm users are asked to log in to.
+     */
+    private static final String REALM = "admin";
+
+    /**
+     * Configures an in-memory admin user, with a password hashed the same way as on the servlet stack.
+     *
+     * @return The service looking up the admin user.
+     */
+    @Bean
+    MapReactiveUserDetailsService userDetailsService()
+    {
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+        return new MapReactiveUserDetailsService(User.withUsername("admin")
+                .password(encoder.encode("admin"))
+                .authorities("ADMIN")
+                .build());
+    }
+
+    /**
+     * Configures the security profile for specific HTTP requests. As with HTTP Basic on the servlet stack, users
+     * authenticate on every request rather than through a session.
+     *
+     * @param http The HTTP security profile used to define security for specific HTTP requests.
+     * @return The filter chain applying the security profile.
+     */
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http)
+    {
+        return http.csrf().disable()
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange()
+                .pathMatchers(HttpMethod.POST, "/employees").permitAll()
+                .pathMatchers(HttpMethod.POST, "/employees/batch").permitAll()
+                .pathMatchers(HttpMethod.GET, "/employees").permitAll()
+                .pathMatchers(HttpMethod.DELETE, "/employees/*").hasAuthority("ADMIN")
+                .pathMatchers(HttpMethod.GET, "/employees/*").permitAll()
+                .pathMatchers(HttpMethod.PUT, "/employees/*").permitAll()
+                .pathMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                .pathMatchers("/actuator/**").hasAuthority("ADMIN")
+                .anyExchange().permitAll()
+                .and()
+                .httpBasic()
+                .authenticationEntryPoint(authenticationEntryPoint())
+                .and()
+                .build();
+    }
+
+    /**
+     * Generates the same response as {@link EmployeeAuthenticationEntryPoint} when a user tries to perform an
+     * operation they are not authorized for.
+     *
+     * @return The entry point.
+     */
+    private static ServerAuthenticationEntryPoint authenticationEntryPoint()
+    {
+        return (exchange, authEx) -> {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"" + REALM + "\"");
+
+            DataBuffer body = exchange.getResponse().bufferFactory()
+                    .wrap(("HTTP Status 401 - " + authEx.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+
+            return exchange.getResponse().writeWith(Mono.just(body));
+        };
+    }
+}
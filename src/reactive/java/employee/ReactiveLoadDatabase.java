@@ -0,0 +1,42 @@
+package employee;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * This class preloads the reactive profile's DB with the same employees as {@link LoadDatabase}.
+ */
+@Configuration
+@Profile("reactive")
+class ReactiveLoadDatabase
+{
+    /**
+     * Logger used for debugging.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ReactiveLoadDatabase.class);
+
+    /**
+     * Saves three employees into the DB once the application has started.
+     *
+     * @param repository The class responsible for non-blocking access to the DB containing employees.
+     * @return The runner saving the employees.
+     */
+    @Bean
+    CommandLineRunner initReactiveDatabase(ReactiveEmployeeRepository repository)
+    {
+        return args -> Flux.just(
+                        new Employee("Marc", 'J', "Christensen", LocalDate.of(1996, 6, 18), LocalDate.of(2022, 1, 15)),
+                        new Employee("Bob", 'A', "Smith", LocalDate.of(1980, 5, 10), LocalDate.of(2019, 7, 6)),
+                        new Employee("Test", 'C', "Employee", LocalDate.of(1992, 12, 11), LocalDate.of(2018, 4, 1)))
+                .concatMap(repository::insert)
+                .doOnNext(employee -> log.info("Preloaded " + employee))
+                .blockLast();
+    }
+}
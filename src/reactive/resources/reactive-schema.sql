@@ -0,0 +1,21 @@
+-- The employee table of the reactive profile, matching the table JPA creates from Employee for the servlet stack.
+create table if not exists employee
+(
+    id                 bigint auto_increment primary key,
+    first_name         varchar(255),
+    middle_initial     char(1)   not null,
+    last_name          varchar(255),
+    date_of_birth      date,
+    date_of_employment date,
+    status             integer,
+    version            bigint    not null,
+    created_at         timestamp with time zone,
+    updated_at         timestamp with time zone
+);
+
+create index if not exists idx_employee_status_id on employee (status, id);
+create index if not exists idx_employee_status_last_name on employee (status, last_name);
+create index if not exists idx_employee_status_first_name on employee (status, first_name);
+create index if not exists idx_employee_status_date_of_employment on employee (status, date_of_employment);
+create index if not exists idx_employee_status_date_of_birth on employee (status, date_of_birth);
+create index if not exists idx_employee_updated_at_id on employee (updated_at, id);
@@ -0,0 +1,113 @@
+package employee;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * This class checks that every path creating employees creates them the same way: active, whatever status the request
+ * declares, and with a generated ID rather than the one the request named.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeCreationTest
+{
+    /**
+     * An employee as sent by a user, declaring an inactive status, with the ID to send it under filled in.
+     */
+    private static final String EMPLOYEE = "{\"id\": %d, \"firstName\": \"Ada\", \"middleInitial\": \"B\","
+            + " \"lastName\": \"Lovelace\", \"dateOfBirth\": \"12-10-1985\", \"dateOfEmployment\": \"01-02-2020\","
+            + " \"status\": \"INACTIVE\"}";
+
+    /**
+     * The client sending requests to the application.
+     */
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * The class responsible for access to perform operations to the DB containing employees.
+     */
+    @Autowired
+    private EmployeeRepository repository;
+
+    /**
+     * The mapper reading the responses.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Checks that replacing an employee that does not exist creates an active employee.
+     *
+     * @throws Exception If the request fails.
+     */
+    @Test
+    void replacingUnknownEmployeeCreatesActiveEmployee() throws Exception
+    {
+        String response = mockMvc.perform(put("/employees/9001").contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(EMPLOYEE, 9001)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        assertCreatedActive(objectMapper.readTree(response).get("id").asLong(), 9001);
+    }
+
+    /**
+     * Checks that replacing an employee that does not exist within a batch creates an active employee, as a single
+     * replacement does.
+     *
+     * @throws Exception If the request fails.
+     */
+    @Test
+    void batchReplacingUnknownEmployeeCreatesActiveEmployee() throws Exception
+    {
+        String response = mockMvc.perform(put("/employees/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.format(EMPLOYEE, 9002) + "]"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode result = objectMapper.readTree(response).get(0);
+        assertEquals(201, result.get("status").asInt());
+        assertCreatedActive(result.get("id").asLong(), 9002);
+    }
+
+    /**
+     * Checks that creating an employee makes them active, as replacing an unknown employee does.
+     *
+     * @throws Exception If the request fails.
+     */
+    @Test
+    void creatingEmployeeCreatesActiveEmployee() throws Exception
+    {
+        String response = mockMvc.perform(post("/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(EMPLOYEE, 9003)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        assertCreatedActive(objectMapper.readTree(response).get("id").asLong(), 9003);
+    }
+
+    /**
+     * Checks that an employee was stored as a new, active employee.
+     *
+     * @param id          The ID the employee was created with.
+     * @param requestedId The ID the request named, which should not have been used.
+     */
+    private void assertCreatedActive(long id, long requestedId)
+    {
+        assertNotEquals(requestedId, id);
+        assertEquals(Status.ACTIVE, repository.findById(id).orElseThrow().getStatus());
+    }
+}